@@ -0,0 +1,46 @@
+package by.nhorushko.crudgeneric.benchmarks;
+
+import by.nhorushko.crudgeneric.benchmarks.Fixtures.ItemEntity;
+import by.nhorushko.crudgeneric.benchmarks.Fixtures.ItemPatch;
+import by.nhorushko.crudgeneric.flex.util.FieldCopyUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link FieldCopyUtil#copy}, the per-request step of {@code AbsFlexServiceRUD.updatePartial}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FieldCopyBenchmark {
+
+    private static final Set<String> IGNORE = Set.of("id");
+
+    private ItemPatch patch;
+    private ItemEntity target;
+
+    @Setup
+    public void setUp() {
+        patch = new ItemPatch("patched", 42);
+        target = Fixtures.entity(1L);
+    }
+
+    @Benchmark
+    public Object copyPartial() {
+        return FieldCopyUtil.copy(patch, target, IGNORE);
+    }
+}
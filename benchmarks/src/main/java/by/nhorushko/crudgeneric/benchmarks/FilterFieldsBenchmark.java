@@ -0,0 +1,101 @@
+package by.nhorushko.crudgeneric.benchmarks;
+
+import by.nhorushko.crudgeneric.flex.pageable.FilterFields;
+import by.nhorushko.crudgeneric.flex.pageable.PageFilterRequest;
+import by.nhorushko.crudgenerictest.domain.entity.MeetingEntity;
+import by.nhorushko.crudgenerictest.domain.entity.MeetingStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static by.nhorushko.filterspecification.FilterOperation.BETWEEN;
+import static by.nhorushko.filterspecification.FilterOperation.CONTAINS;
+import static by.nhorushko.filterspecification.FilterOperation.EQUAL;
+import static by.nhorushko.filterspecification.FilterOperation.GREATER_THAN;
+import static by.nhorushko.filterspecification.FilterOperation.IN;
+
+/**
+ * Request-time work of {@link FilterFields}: validating a filter and building its
+ * {@link Specification}, building a whole filter group with and without the template
+ * cache, and parsing/mapping a sort expression. No database involved.
+ * <p>
+ * Run with {@code -prof gc} to compare {@code gc.alloc.rate.norm}, the bytes allocated per call.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FilterFieldsBenchmark {
+
+    private FilterFields<MeetingEntity> fields;
+    private FilterFields<MeetingEntity> uncachedFields;
+    private PageFilterRequest.FilterGroup group;
+    private PageFilterRequest.Filter stringFilter;
+    private PageFilterRequest.Filter enumInFilter;
+    private PageFilterRequest.Filter instantBetweenFilter;
+
+    @Setup
+    public void setUp() {
+        fields = meetingFields().build();
+        uncachedFields = meetingFields().templateCacheSize(0).build();
+        stringFilter = new PageFilterRequest.Filter("title", "like#planning");
+        enumInFilter = new PageFilterRequest.Filter("status", "in#PLANNED,DONE");
+        instantBetweenFilter = new PageFilterRequest.Filter("startTime", "btn#2026-07-01T00:00:00Z,2026-07-06T00:00:00Z");
+        group = PageFilterRequest.pageRequestAnd(0, 20, "asc#startTime",
+                stringFilter, enumInFilter, instantBetweenFilter,
+                new PageFilterRequest.Filter("regionId", "eq#101")).getFilterGroup();
+    }
+
+    private static FilterFields.Builder<MeetingEntity> meetingFields() {
+        return FilterFields.<MeetingEntity>builder()
+                .string("title", CONTAINS)
+                .ofEnum("status", MeetingStatus.class, EQUAL, IN)
+                .instant("startTime", GREATER_THAN, BETWEEN)
+                .ofLong("regionId", "region.id", EQUAL);
+    }
+
+    @Benchmark
+    public Optional<Specification<MeetingEntity>> toSpecificationString() {
+        return fields.toSpecification(stringFilter);
+    }
+
+    @Benchmark
+    public Optional<Specification<MeetingEntity>> toSpecificationEnumIn() {
+        return fields.toSpecification(enumInFilter);
+    }
+
+    @Benchmark
+    public Optional<Specification<MeetingEntity>> toSpecificationInstantBetween() {
+        return fields.toSpecification(instantBetweenFilter);
+    }
+
+    @Benchmark
+    public Optional<Specification<MeetingEntity>> toSpecificationGroupCached() {
+        return fields.toSpecification(group);
+    }
+
+    @Benchmark
+    public Optional<Specification<MeetingEntity>> toSpecificationGroupUncached() {
+        return uncachedFields.toSpecification(group);
+    }
+
+    @Benchmark
+    public Sort sortMappedProperty() {
+        return fields.sort("desc#regionId");
+    }
+}
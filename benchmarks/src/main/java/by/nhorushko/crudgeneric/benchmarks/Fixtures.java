@@ -0,0 +1,268 @@
+package by.nhorushko.crudgeneric.benchmarks;
+
+import by.nhorushko.crudgeneric.flex.model.AbsUpdateDto;
+import by.nhorushko.crudgeneric.flex.model.AbstractDto;
+import by.nhorushko.crudgeneric.flex.model.AbstractEntity;
+
+import java.time.Instant;
+
+/**
+ * Plain (non-JPA) fixture types for the in-memory suites. Ten properties is the
+ * rough shape of a typical read DTO in the services this library serves.
+ */
+public final class Fixtures {
+
+    private Fixtures() {
+    }
+
+    static ItemEntity entity(long id) {
+        ItemEntity entity = new ItemEntity();
+        entity.setId(id);
+        entity.setName("item-" + id);
+        entity.setDescription("description of item " + id);
+        entity.setCode("C" + id);
+        entity.setQuantity((int) (id % 100));
+        entity.setPrice(id * 1.5);
+        entity.setActive(id % 2 == 0);
+        entity.setCreated(Instant.ofEpochSecond(1_700_000_000L + id));
+        entity.setUpdated(Instant.ofEpochSecond(1_700_000_100L + id));
+        entity.setOwnerId(id % 10);
+        return entity;
+    }
+
+    public static class ItemEntity implements AbstractEntity<Long> {
+        private Long id;
+        private String name;
+        private String description;
+        private String code;
+        private Integer quantity;
+        private Double price;
+        private Boolean active;
+        private Instant created;
+        private Instant updated;
+        private Long ownerId;
+
+        @Override
+        public Long getId() {
+            return id;
+        }
+
+        @Override
+        public void setId(Long id) {
+            this.id = id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+
+        public void setDescription(String description) {
+            this.description = description;
+        }
+
+        public String getCode() {
+            return code;
+        }
+
+        public void setCode(String code) {
+            this.code = code;
+        }
+
+        public Integer getQuantity() {
+            return quantity;
+        }
+
+        public void setQuantity(Integer quantity) {
+            this.quantity = quantity;
+        }
+
+        public Double getPrice() {
+            return price;
+        }
+
+        public void setPrice(Double price) {
+            this.price = price;
+        }
+
+        public Boolean getActive() {
+            return active;
+        }
+
+        public void setActive(Boolean active) {
+            this.active = active;
+        }
+
+        public Instant getCreated() {
+            return created;
+        }
+
+        public void setCreated(Instant created) {
+            this.created = created;
+        }
+
+        public Instant getUpdated() {
+            return updated;
+        }
+
+        public void setUpdated(Instant updated) {
+            this.updated = updated;
+        }
+
+        public Long getOwnerId() {
+            return ownerId;
+        }
+
+        public void setOwnerId(Long ownerId) {
+            this.ownerId = ownerId;
+        }
+    }
+
+    public static class ItemDto implements AbstractDto<Long> {
+        private final Long id;
+        private final String name;
+        private final String description;
+        private final String code;
+        private final Integer quantity;
+        private final Double price;
+        private final Boolean active;
+        private final Instant created;
+        private final Instant updated;
+        private final Long ownerId;
+
+        public ItemDto(ItemEntity e) {
+            this.id = e.getId();
+            this.name = e.getName();
+            this.description = e.getDescription();
+            this.code = e.getCode();
+            this.quantity = e.getQuantity();
+            this.price = e.getPrice();
+            this.active = e.getActive();
+            this.created = e.getCreated();
+            this.updated = e.getUpdated();
+            this.ownerId = e.getOwnerId();
+        }
+
+        @Override
+        public Long getId() {
+            return id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+
+        public String getCode() {
+            return code;
+        }
+
+        public Integer getQuantity() {
+            return quantity;
+        }
+
+        public Double getPrice() {
+            return price;
+        }
+
+        public Boolean getActive() {
+            return active;
+        }
+
+        public Instant getCreated() {
+            return created;
+        }
+
+        public Instant getUpdated() {
+            return updated;
+        }
+
+        public Long getOwnerId() {
+            return ownerId;
+        }
+    }
+
+    public static class ItemUpdateDto implements AbsUpdateDto<Long> {
+        private Long id;
+        private String name;
+        private String description;
+        private Integer quantity;
+        private Double price;
+
+        public ItemUpdateDto() {
+        }
+
+        public ItemUpdateDto(Long id, String name, String description, Integer quantity, Double price) {
+            this.id = id;
+            this.name = name;
+            this.description = description;
+            this.quantity = quantity;
+            this.price = price;
+        }
+
+        @Override
+        public Long getId() {
+            return id;
+        }
+
+        public void setId(Long id) {
+            this.id = id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+
+        public void setDescription(String description) {
+            this.description = description;
+        }
+
+        public Integer getQuantity() {
+            return quantity;
+        }
+
+        public void setQuantity(Integer quantity) {
+            this.quantity = quantity;
+        }
+
+        public Double getPrice() {
+            return price;
+        }
+
+        public void setPrice(Double price) {
+            this.price = price;
+        }
+    }
+
+    /**
+     * PATCH-style partial: a subset of the read DTO's fields, as passed to
+     * {@code AbsFlexServiceRUD.updatePartial}.
+     */
+    public static class ItemPatch {
+        private final String name;
+        private final Integer quantity;
+
+        public ItemPatch(String name, Integer quantity) {
+            this.name = name;
+            this.quantity = quantity;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package by.nhorushko.crudgeneric.benchmarks;
+
+import by.nhorushko.crudgeneric.benchmarks.Fixtures.ItemDto;
+import by.nhorushko.crudgeneric.benchmarks.Fixtures.ItemEntity;
+import by.nhorushko.crudgeneric.benchmarks.Fixtures.ItemUpdateDto;
+import by.nhorushko.crudgeneric.flex.AbsModelMapper;
+import by.nhorushko.crudgeneric.flex.config.AbsGenericCrudConfiguration;
+import by.nhorushko.crudgeneric.flex.mapper.AbsMapEntityToDto;
+import by.nhorushko.crudgeneric.flex.mapper.AbsMapUpdateDtoToEntity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link AbsModelMapper} hot paths: entity → READ_DTO ({@code map}/{@code mapAll}) and
+ * the in-place UPDATE_DTO → entity write used by {@code AbsFlexServiceRUD.update}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    @Param({"true", "false"})
+    public boolean compiledMapping;
+
+    @Param({"100"})
+    public int listSize;
+
+    private AbsModelMapper mapper;
+    private ItemEntity entity;
+    private List<ItemEntity> entities;
+    private ItemUpdateDto updateDto;
+
+    @Setup
+    public void setUp() {
+        mapper = new AbsModelMapper(new AbsGenericCrudConfiguration().absGenericCrudModelMapper(), null);
+        mapper.setCompiledMappingEnabled(compiledMapping);
+        new AbsMapEntityToDto<>(mapper, ItemEntity.class, ItemDto.class) {
+            @Override
+            protected ItemDto create(ItemEntity from) {
+                return new ItemDto(from);
+            }
+        };
+        new AbsMapUpdateDtoToEntity<>(mapper, ItemUpdateDto.class, ItemEntity.class) {
+        };
+        entity = Fixtures.entity(1L);
+        entities = new ArrayList<>(listSize);
+        for (long i = 0; i < listSize; i++) {
+            entities.add(Fixtures.entity(i + 1));
+        }
+        updateDto = new ItemUpdateDto(1L, "renamed", "new description", 7, 9.99);
+    }
+
+    @Benchmark
+    public ItemDto mapEntityToDto() {
+        return mapper.map(entity, ItemDto.class);
+    }
+
+    @Benchmark
+    public List<ItemDto> mapAllEntitiesToDto() {
+        return mapper.mapAll(entities, ItemDto.class);
+    }
+
+    @Benchmark
+    public ItemEntity mapUpdateDtoInPlace() {
+        return mapper.map(updateDto, entity);
+    }
+}
@@ -0,0 +1,147 @@
+package by.nhorushko.crudgeneric.benchmarks;
+
+import by.nhorushko.crudgeneric.flex.pageable.PageFilterRequest;
+import by.nhorushko.crudgenerictest.CrudGenericTestApp;
+import by.nhorushko.crudgenerictest.domain.dto.MeetingDto;
+import by.nhorushko.crudgenerictest.domain.dto.OrderCreateDto;
+import by.nhorushko.crudgenerictest.domain.dto.OrderDto;
+import by.nhorushko.crudgenerictest.domain.entity.MeetingEntity;
+import by.nhorushko.crudgenerictest.domain.entity.MeetingStatus;
+import by.nhorushko.crudgenerictest.domain.entity.RegionEntity;
+import by.nhorushko.crudgenerictest.repository.MeetingRepository;
+import by.nhorushko.crudgenerictest.repository.OrderRepository;
+import by.nhorushko.crudgenerictest.repository.RegionRepository;
+import by.nhorushko.crudgenerictest.service.MeetingPageableService;
+import by.nhorushko.crudgenerictest.service.OrderServiceCRUD;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service-level suites against the test application's in-memory H2 database:
+ * {@code AbsFlexServiceCRUD.save/saveAll} and {@code AbsFlexPagingAndSortingService.page}.
+ * Numbers include JDBC and Hibernate work, so compare them only between runs on the same machine.
+ * Run with {@code -prof gc}; {@code gc.alloc.rate.norm} of {@code pageFiltered} is the allocation per
+ * filtered {@code page()} call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PersistenceBenchmark {
+
+    @Param({"100"})
+    public int batchSize;
+
+    @Param({"10000"})
+    public int meetingRows;
+
+    private ConfigurableApplicationContext context;
+    private OrderServiceCRUD orderService;
+    private OrderRepository orderRepository;
+    private MeetingPageableService meetingService;
+    private List<OrderCreateDto> batch;
+    private PageFilterRequest firstPage;
+    private PageFilterRequest deepPage;
+    private PageFilterRequest filteredPage;
+
+    @Setup(Level.Trial)
+    public void startContext() {
+        context = new SpringApplicationBuilder(CrudGenericTestApp.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.jpa.properties.hibernate.show_sql=false",
+                        "--spring.jpa.properties.hibernate.format_sql=false",
+                        "--spring.jpa.properties.hibernate.use_sql_comments=false",
+                        "--spring.datasource.url=jdbc:h2:mem:benchmarkdb;NON_KEYWORDS=USER");
+        orderService = context.getBean(OrderServiceCRUD.class);
+        orderRepository = context.getBean(OrderRepository.class);
+        meetingService = context.getBean(MeetingPageableService.class);
+        seedMeetings(context.getBean(MeetingRepository.class), context.getBean(RegionRepository.class));
+
+        batch = new ArrayList<>(batchSize);
+        for (int i = 0; i < batchSize; i++) {
+            batch.add(new OrderCreateDto("order-" + i, new ArrayList<>()));
+        }
+        int pageSize = 20;
+        firstPage = PageFilterRequest.pageRequestAnd(0, pageSize, "desc#id");
+        deepPage = PageFilterRequest.pageRequestAnd(meetingRows / pageSize - 1, pageSize, "desc#id");
+        filteredPage = PageFilterRequest.pageRequestAnd(0, pageSize, "asc#startTime",
+                new PageFilterRequest.Filter("title", "like#planning"),
+                new PageFilterRequest.Filter("status", "in#PLANNED,DONE"),
+                new PageFilterRequest.Filter("regionId", "eq#101"));
+    }
+
+    @TearDown(Level.Iteration)
+    public void clearOrders() {
+        orderRepository.deleteAllInBatch();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopContext() {
+        context.close();
+    }
+
+    @Benchmark
+    public OrderDto save() {
+        return orderService.save(new OrderCreateDto("order", new ArrayList<>()));
+    }
+
+    @Benchmark
+    public List<OrderDto> saveAll() {
+        return orderService.saveAll(batch);
+    }
+
+    @Benchmark
+    public Page<MeetingDto> pageFirst() {
+        return meetingService.page(firstPage);
+    }
+
+    @Benchmark
+    public Page<MeetingDto> pageDeep() {
+        return meetingService.page(deepPage);
+    }
+
+    @Benchmark
+    public Page<MeetingDto> pageFiltered() {
+        return meetingService.page(filteredPage);
+    }
+
+    private void seedMeetings(MeetingRepository meetings, RegionRepository regions) {
+        RegionEntity minsk = regions.save(new RegionEntity(101L, "minsk"));
+        RegionEntity vitebsk = regions.save(new RegionEntity(102L, "vitebsk"));
+        MeetingStatus[] statuses = MeetingStatus.values();
+        List<MeetingEntity> rows = new ArrayList<>(meetingRows);
+        for (int i = 0; i < meetingRows; i++) {
+            rows.add(MeetingEntity.builder()
+                    .title(i % 3 == 0 ? "sprint planning " + i : "retro " + i)
+                    .status(statuses[i % statuses.length])
+                    .startTime(Instant.parse("2026-01-01T10:00:00Z").plusSeconds(3600L * i))
+                    .day(LocalDate.parse("2026-01-01").plusDays(i / 24))
+                    .region(i % 2 == 0 ? minsk : vitebsk)
+                    .build());
+        }
+        meetings.saveAll(rows);
+    }
+}
@@ -0,0 +1,95 @@
+package by.nhorushko.crudgeneric.benchmarks;
+
+import by.nhorushko.crudgeneric.benchmarks.Fixtures.ItemDto;
+import by.nhorushko.crudgeneric.flex.controller.AbsFlexControllerR;
+import by.nhorushko.crudgeneric.flex.model.SettingsVoid;
+import by.nhorushko.crudgeneric.flex.service.AbsFlexServiceR;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * List {@code postHandle} of {@link AbsFlexControllerR}, sequential against split across a
+ * {@link ForkJoinPool}. Each view costs {@code viewCost} JMH CPU tokens, roughly the translation
+ * lookups of a {@code SettingsTranslateable} view; the list size where {@code parallel=true} starts
+ * to win is the value to use for {@code parallelPostHandleThreshold}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PostHandleBenchmark {
+
+    @Param({"false", "true"})
+    public boolean parallel;
+
+    @Param({"16", "64", "256", "1024", "4096"})
+    public int listSize;
+
+    @Param({"200"})
+    public int viewCost;
+
+    private ForkJoinPool pool;
+    private ViewController controller;
+    private List<ItemDto> dtos;
+
+    @Setup
+    public void setUp() {
+        pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        controller = new ViewController(viewCost);
+        controller.setParallelPostHandleThreshold(0);
+        controller.setPostHandleExecutor(parallel ? pool : null);
+        dtos = new ArrayList<>(listSize);
+        for (long i = 0; i < listSize; i++) {
+            dtos.add(new ItemDto(Fixtures.entity(i + 1)));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Benchmark
+    public List<String> postHandleList() {
+        return controller.postHandleList(dtos);
+    }
+
+    static final class ViewController
+            extends AbsFlexControllerR<Long, ItemDto, String, SettingsVoid, AbsFlexServiceR<Long, ?, ItemDto, ?>> {
+
+        private final int viewCost;
+
+        ViewController(int viewCost) {
+            super(null);
+            this.viewCost = viewCost;
+        }
+
+        List<String> postHandleList(List<ItemDto> dtos) {
+            return postHandle(dtos, null);
+        }
+
+        @Override
+        protected String postHandle(ItemDto dto, SettingsVoid settings) {
+            Blackhole.consumeCPU(viewCost);
+            return dto.getName() + '#' + dto.getId();
+        }
+    }
+}
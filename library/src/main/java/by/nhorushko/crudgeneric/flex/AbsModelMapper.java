@@ -2,13 +2,18 @@ package by.nhorushko.crudgeneric.flex;
 
 import by.nhorushko.crudgeneric.flex.model.AbstractDto;
 import by.nhorushko.crudgeneric.flex.model.AbstractEntity;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
+import lombok.Setter;
 import org.modelmapper.ModelMapper;
 
 import jakarta.persistence.EntityManager;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 import static java.util.stream.Collectors.toList;
 
@@ -20,6 +25,12 @@ import static java.util.stream.Collectors.toList;
  * to DTOs and vice versa) across the application. The class ensures that if the source object is null,
  * the mapping methods will return null instead of throwing an exception.
  * </p>
+ * <p>
+ * Mappers may register a compiled plan for a source/destination pair (see
+ * {@link #registerCompiledPlan(Class, Class, Function)}). {@link #map(Object, Class)} calls such a plan
+ * directly and only falls back to {@link ModelMapper} for pairs without one, which skips the TypeMap
+ * lookup and mapping-context setup on the hot entity → READ_DTO path.
+ * </p>
  */
 @Getter
 @RequiredArgsConstructor
@@ -28,6 +39,16 @@ public class AbsModelMapper {
     private final ModelMapper modelMapper;
     private final EntityManager entityManager;
 
+    @Getter(AccessLevel.NONE)
+    private final Map<Class<?>, Map<Class<?>, Function<Object, ?>>> compiledPlans = new ConcurrentHashMap<>();
+
+    /**
+     * When {@code false}, registered compiled plans are ignored and every mapping goes through
+     * {@link ModelMapper}. Driven by {@code AbsCrudCustomizer#compiledMappingEnabled}.
+     */
+    @Setter
+    private volatile boolean compiledMappingEnabled = true;
+
     /**
      * Maps an object of any type to a specified type.
      * <p>
@@ -46,9 +67,47 @@ public class AbsModelMapper {
         if (source == null) {
             return null;
         }
+        if (compiledMappingEnabled) {
+            Function<Object, ?> plan = findCompiledPlan(source.getClass(), destinationType);
+            if (plan != null) {
+                return destinationType.cast(plan.apply(source));
+            }
+        }
         return modelMapper.map(source, destinationType);
     }
 
+    /**
+     * Registers a compiled mapping plan for the exact {@code sourceType} → {@code destinationType} pair.
+     * <p>
+     * The plan must produce the same result as the {@link ModelMapper} TypeMap registered for the pair;
+     * it is looked up by the exact runtime class of the source, so subclasses and proxies keep going
+     * through {@link ModelMapper}.
+     * </p>
+     *
+     * @param sourceType      the exact source class
+     * @param destinationType the destination class
+     * @param plan            the function producing a destination instance from a non-null source
+     */
+    @SuppressWarnings("unchecked")
+    public <S, T> void registerCompiledPlan(Class<S> sourceType, Class<T> destinationType,
+                                            Function<? super S, ? extends T> plan) {
+        compiledPlans.computeIfAbsent(sourceType, k -> new ConcurrentHashMap<>())
+                .put(destinationType, (Function<Object, ?>) plan);
+    }
+
+    /**
+     * Returns {@code true} if a compiled plan is registered for the pair, regardless of
+     * {@link #isCompiledMappingEnabled()}.
+     */
+    public boolean hasCompiledPlan(Class<?> sourceType, Class<?> destinationType) {
+        return findCompiledPlan(sourceType, destinationType) != null;
+    }
+
+    private Function<Object, ?> findCompiledPlan(Class<?> sourceType, Class<?> destinationType) {
+        Map<Class<?>, Function<Object, ?>> byDestination = compiledPlans.get(sourceType);
+        return byDestination == null ? null : byDestination.get(destinationType);
+    }
+
     /**
      * Maps the source object onto an existing destination instance, in place.
      * <p>
@@ -0,0 +1,165 @@
+package by.nhorushko.crudgeneric.flex.cache;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * In-memory {@link ReadDtoCache} bounded by size (least recently used entries go first) and by time to live.
+ * <p>
+ * A single lock guards the map; lookups are short and the cache is meant for small, hot reference data.
+ * </p>
+ *
+ * <p>Example: cache a service's DTOs for ten minutes, at most 1000 of them:</p>
+ * <pre>
+ * public RegionService(AbsModelMapper mapper, RegionRepository repository) {
+ *     super(mapper, repository, RegionEntity.class, RegionDto.class, RegionUpdateDto.class);
+ *     setReadDtoCache(new LruReadDtoCache(1000, Duration.ofMinutes(10)));
+ * }
+ * </pre>
+ */
+public class LruReadDtoCache implements ReadDtoCache {
+
+    private final int maxSize;
+    private final long ttlNanos;
+    private final LongSupplier nanoClock;
+    private final Map<Key, Entry> entries;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public LruReadDtoCache(int maxSize, Duration ttl) {
+        this(maxSize, ttl, System::nanoTime);
+    }
+
+    LruReadDtoCache(int maxSize, Duration ttl, LongSupplier nanoClock) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize should be positive, but was: " + maxSize);
+        }
+        if (ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("ttl should be positive, but was: " + ttl);
+        }
+        this.maxSize = maxSize;
+        this.ttlNanos = ttl.toNanos();
+        this.nanoClock = nanoClock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                if (size() > LruReadDtoCache.this.maxSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    @Override
+    public <T> T get(Class<T> dtoClass, Object id) {
+        Key key = new Key(dtoClass, id);
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(key);
+            if (entry != null && entry.isExpired(nanoClock.getAsLong())) {
+                entries.remove(key);
+                evictions.increment();
+                entry = null;
+            }
+        }
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return dtoClass.cast(entry.value);
+    }
+
+    @Override
+    public void put(Class<?> dtoClass, Object id, Object dto) {
+        Entry entry = new Entry(dto, nanoClock.getAsLong() + ttlNanos);
+        synchronized (entries) {
+            entries.put(new Key(dtoClass, id), entry);
+        }
+    }
+
+    @Override
+    public void evict(Class<?> dtoClass, Object id) {
+        synchronized (entries) {
+            entries.remove(new Key(dtoClass, id));
+        }
+    }
+
+    @Override
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    @Override
+    public ReadDtoCacheStats stats() {
+        int size;
+        synchronized (entries) {
+            purgeExpired();
+            size = entries.size();
+        }
+        return new ReadDtoCacheStats(hits.sum(), misses.sum(), evictions.sum(), size);
+    }
+
+    private void purgeExpired() {
+        long now = nanoClock.getAsLong();
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().isExpired(now)) {
+                iterator.remove();
+                evictions.increment();
+            }
+        }
+    }
+
+    private static final class Key {
+        private final Class<?> dtoClass;
+        private final Object id;
+
+        private Key(Class<?> dtoClass, Object id) {
+            this.dtoClass = dtoClass;
+            this.id = id;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            return dtoClass == key.dtoClass && id.equals(key.id);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(dtoClass, id);
+        }
+    }
+
+    private static final class Entry {
+        private final Object value;
+        private final long expiresAt;
+
+        private Entry(Object value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean isExpired(long now) {
+            return now - expiresAt >= 0;
+        }
+    }
+}
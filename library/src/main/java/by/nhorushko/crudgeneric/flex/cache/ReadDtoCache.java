@@ -0,0 +1,32 @@
+package by.nhorushko.crudgeneric.flex.cache;
+
+/**
+ * Read-through cache of READ_DTOs used by {@code AbsFlexServiceR}.
+ * <p>
+ * Entries are keyed by (READ_DTO class, entity id), so services that expose the same entity through different
+ * READ_DTOs do not share entries. Implementations store and return instances as-is; {@code AbsFlexServiceR}
+ * puts and hands out copies, so callers never share a cached instance.
+ * </p>
+ * <p>
+ * The library ships {@link LruReadDtoCache}; any other store (Caffeine, Redis, ...) can be plugged in by
+ * implementing this interface.
+ * </p>
+ */
+public interface ReadDtoCache {
+
+    /**
+     * @return the cached DTO, or {@code null} if absent or expired
+     */
+    <T> T get(Class<T> dtoClass, Object id);
+
+    void put(Class<?> dtoClass, Object id, Object dto);
+
+    void evict(Class<?> dtoClass, Object id);
+
+    void clear();
+
+    /**
+     * @return a snapshot of the hit/miss/eviction counters, for sizing the cache
+     */
+    ReadDtoCacheStats stats();
+}
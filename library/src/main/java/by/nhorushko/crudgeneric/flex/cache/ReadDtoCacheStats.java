@@ -0,0 +1,36 @@
+package by.nhorushko.crudgeneric.flex.cache;
+
+import lombok.Getter;
+
+/**
+ * Point-in-time counters of a {@link ReadDtoCache}.
+ * <p>
+ * {@code evictions} counts entries dropped by the cache itself (size or TTL bound), not explicit
+ * {@link ReadDtoCache#evict} calls on writes.
+ * </p>
+ */
+@Getter
+public class ReadDtoCacheStats {
+
+    private final long hits;
+    private final long misses;
+    private final long evictions;
+    private final int size;
+
+    public ReadDtoCacheStats(long hits, long misses, long evictions, int size) {
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+        this.size = size;
+    }
+
+    public double hitRate() {
+        long requests = hits + misses;
+        return requests == 0 ? 0 : (double) hits / requests;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ReadDtoCacheStats{hits=%d, misses=%d, evictions=%d, size=%d}", hits, misses, evictions, size);
+    }
+}
@@ -41,9 +41,21 @@ import lombok.Getter;
  *   <li>{@code by.nhorushko.crudgeneric.mapper.AbstractMapper} (deprecated) and subclasses</li>
  *   <li>{@code by.nhorushko.crudgeneric.flex.mapper.core.RegisterableMapper} implementations</li>
  * </ul>
+ *
  * <p>These beans register {@code TypeMap} / {@code Converter} entries in the shared
  * {@code ModelMapper} from their constructors, so they must be instantiated before
  * any consumer calls {@code modelMapper.map(...)}.</p>
+ *
+ * <p>Example: route every mapping through ModelMapper, ignoring compiled mapping plans
+ * (e.g. while bisecting a mapping difference):</p>
+ * <pre>
+ * &#64;Bean
+ * public AbsCrudCustomizer absCrudCustomizer() {
+ *     return AbsCrudCustomizer.builder()
+ *             .compiledMappingEnabled(false)
+ *             .build();
+ * }
+ * </pre>
  */
 @Getter
 @Builder
@@ -54,4 +66,11 @@ public class AbsCrudCustomizer {
 
     @Builder.Default
     private final boolean eagerTypeMapRegistration = true;
+
+    /**
+     * Whether {@code AbsModelMapper.map(Object, Class)} calls the compiled plans registered by
+     * mappers (see {@code AbsMapBasic#compilePlan}) instead of the ModelMapper engine.
+     */
+    @Builder.Default
+    private final boolean compiledMappingEnabled = true;
 }
@@ -62,14 +62,25 @@ public class AbsGenericCrudConfiguration {
      * The AbsDtoModelMapper extends ModelMapper's capabilities by integrating with the EntityManager
      * for entity reference resolution, crucial for handling relational mappings efficiently.
      * </p>
+     * <p>
+     * Use of compiled mapping plans follows {@link AbsCrudCustomizer#isCompiledMappingEnabled()}
+     * (default {@code true}).
+     * </p>
      *
-     * @param modelMapper    The ModelMapper instance.
-     * @param entityManager  The EntityManager for JPA entity management.
+     * @param modelMapper         The ModelMapper instance.
+     * @param entityManager       The EntityManager for JPA entity management.
+     * @param customizerProvider  optional provider for {@link AbsCrudCustomizer}.
      * @return An instance of AbsDtoModelMapper.
      */
     @Bean
-    public AbsModelMapper absModelMapper(ModelMapper modelMapper, EntityManager entityManager) {
-        return new AbsModelMapper(modelMapper, entityManager);
+    public AbsModelMapper absModelMapper(ModelMapper modelMapper,
+                                         EntityManager entityManager,
+                                         ObjectProvider<AbsCrudCustomizer> customizerProvider) {
+        AbsCrudCustomizer customizer = customizerProvider.getIfAvailable(
+                () -> AbsCrudCustomizer.builder().build());
+        AbsModelMapper absModelMapper = new AbsModelMapper(modelMapper, entityManager);
+        absModelMapper.setCompiledMappingEnabled(customizer.isCompiledMappingEnabled());
+        return absModelMapper;
     }
 
 
@@ -1,18 +1,40 @@
 package by.nhorushko.crudgeneric.flex.controller;
 
+import by.nhorushko.crudgeneric.flex.exception.AppNotFoundException;
 import by.nhorushko.crudgeneric.flex.model.SettingsVoid;
 import by.nhorushko.crudgeneric.flex.exception.AuthenticationException;
 import by.nhorushko.crudgeneric.flex.service.AbsFlexServiceCRUD;
 import by.nhorushko.crudgeneric.flex.model.AbsCreateDto;
 import by.nhorushko.crudgeneric.flex.model.AbstractDto;
 import by.nhorushko.crudgeneric.flex.model.AbsUpdateDto;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.Errors;
+import org.springframework.validation.Validator;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Controller providing Create, Read, Update, and Delete (CRUD) operations for a specific entity type.
  * <p>
@@ -40,6 +62,13 @@ public abstract class AbsFlexControllerCRUD<
         SERVICE extends AbsFlexServiceCRUD<ID, ?, READ_DTO, UPDATE_DTO, CREATE_DTO, ?>>
         extends AbsFlexControllerRUD<ID, READ_DTO, DTO_VIEW, UPDATE_DTO, SETTINGS, SERVICE> {
 
+    /**
+     * The validator {@code @Valid} uses in Spring MVC, applied to every element of a batch.
+     */
+    @Autowired(required = false)
+    @Qualifier("mvcValidator")
+    private Validator validator;
+
     public AbsFlexControllerCRUD(SERVICE service) {
         super(service);
     }
@@ -96,4 +125,209 @@ public abstract class AbsFlexControllerCRUD<
      */
     protected void afterSaveHook(CREATE_DTO obj, HttpServletRequest request) {
     }
+
+    /**
+     * Handles the HTTP POST request to create many entities from a JSON array, e.g. for imports.
+     * <p>
+     * The body is read one element at a time rather than bound to a list, so heap use stays bounded
+     * by {@link #batchChunkSize()} whatever the array length. Each element is converted, validated like
+     * the {@code @Valid} body of {@link #save}, and passed through {@link #beforeSaveHook}; accepted
+     * elements are created with {@link AbsFlexServiceCRUD#saveAll} in chunks, one transaction per
+     * chunk, and then passed through {@link #afterSaveHook}.
+     * </p>
+     * <p>
+     * The response is a JSON array of {@link BatchItemResult}s, one per element in request order,
+     * written chunk by chunk with status 200 OK. A rejected element is reported with status 400
+     * (403 for an {@link AuthenticationException}); a chunk whose save fails is rolled back and all its
+     * elements are reported with status 500, while later chunks are still saved. An element whose
+     * {@link #afterSaveHook} or {@link #postHandle} fails after its chunk was saved stays created: it is
+     * reported with status 201 and errors. Malformed JSON ends the batch with a final 400 result at the
+     * position it was found.
+     * </p>
+     *
+     * @param settings The settings to apply to the created entity views.
+     * @param request  The current HttpServletRequest, whose body is the JSON array.
+     * @param response The response the results are streamed to.
+     * @throws HttpMessageNotReadableException If the body is not a JSON array.
+     */
+    @PostMapping(value = "batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public void saveBatch(SETTINGS settings,
+                          HttpServletRequest request,
+                          HttpServletResponse response) throws IOException {
+        ObjectMapper mapper = applicationObjectMapper();
+        Class<CREATE_DTO> createDtoClass = service.getCreateDtoClass();
+        int chunkSize = Math.max(1, batchChunkSize());
+        try (JsonParser parser = mapper.getFactory().createParser(request.getInputStream())) {
+            if (firstToken(parser, request) != JsonToken.START_ARRAY) {
+                throw new HttpMessageNotReadableException("Batch body must be a JSON array",
+                        new ServletServerHttpRequest(request));
+            }
+            response.setStatus(HttpServletResponse.SC_OK);
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            try (JsonGenerator generator = mapper.getFactory().createGenerator(response.getOutputStream())) {
+                generator.writeStartArray();
+                List<BatchSlot<CREATE_DTO, DTO_VIEW>> window = new ArrayList<>(chunkSize);
+                int index = 0;
+                while (true) {
+                    JsonNode node;
+                    try {
+                        JsonToken token = parser.nextToken();
+                        if (token == JsonToken.END_ARRAY) {
+                            break;
+                        }
+                        if (token == null) {
+                            throw new JsonParseException(parser, "Unexpected end of the array");
+                        }
+                        node = parser.readValueAsTree();
+                    } catch (JsonProcessingException e) {
+                        window.add(BatchSlot.failed(BatchItemResult.failed(index, HttpStatus.BAD_REQUEST.value(),
+                                List.of("Malformed JSON: " + e.getOriginalMessage()))));
+                        break;
+                    }
+                    window.add(acceptBatchElement(index++, node, mapper, createDtoClass, request));
+                    if (window.size() == chunkSize) {
+                        writeBatchChunk(window, settings, request, generator);
+                    }
+                }
+                writeBatchChunk(window, settings, request, generator);
+                generator.writeEndArray();
+            }
+        }
+    }
+
+    /**
+     * Number of elements {@link #saveBatch} creates per {@link AbsFlexServiceCRUD#saveAll} call and transaction,
+     * and the number of results it holds before writing them out.
+     *
+     * @return the chunk size, 500 by default
+     */
+    protected int batchChunkSize() {
+        return 500;
+    }
+
+    private static JsonToken firstToken(JsonParser parser, HttpServletRequest request) throws IOException {
+        try {
+            return parser.nextToken();
+        } catch (JsonProcessingException e) {
+            throw new HttpMessageNotReadableException("Batch body is not valid JSON: " + e.getOriginalMessage(), e,
+                    new ServletServerHttpRequest(request));
+        }
+    }
+
+    private BatchSlot<CREATE_DTO, DTO_VIEW> acceptBatchElement(int index, JsonNode node, ObjectMapper mapper,
+                                                              Class<CREATE_DTO> createDtoClass,
+                                                              HttpServletRequest request) {
+        CREATE_DTO dto;
+        try {
+            dto = mapper.treeToValue(node, createDtoClass);
+        } catch (JsonProcessingException e) {
+            return BatchSlot.failed(BatchItemResult.failed(index, HttpStatus.BAD_REQUEST.value(),
+                    List.of(e.getOriginalMessage())));
+        }
+        if (dto == null) {
+            return BatchSlot.failed(BatchItemResult.failed(index, HttpStatus.BAD_REQUEST.value(),
+                    List.of("Element must not be null")));
+        }
+        if (validator != null && validator.supports(createDtoClass)) {
+            Errors errors = new BeanPropertyBindingResult(dto, "obj");
+            validator.validate(dto, errors);
+            if (errors.hasErrors()) {
+                List<String> messages = new ArrayList<>();
+                errors.getFieldErrors().forEach(error -> messages.add(error.getField() + ": " + error.getDefaultMessage()));
+                errors.getGlobalErrors().forEach(error -> messages.add(error.getDefaultMessage()));
+                return BatchSlot.failed(BatchItemResult.failed(index, HttpStatus.BAD_REQUEST.value(), messages));
+            }
+        }
+        try {
+            beforeSaveHook(dto, request);
+        } catch (AuthenticationException e) {
+            return BatchSlot.failed(BatchItemResult.failed(index, HttpStatus.FORBIDDEN.value(), List.of(e.getMessage())));
+        } catch (RuntimeException e) {
+            return BatchSlot.failed(BatchItemResult.failed(index, HttpStatus.BAD_REQUEST.value(),
+                    List.of(String.valueOf(e.getMessage()))));
+        }
+        return BatchSlot.accepted(index, dto);
+    }
+
+    private void writeBatchChunk(List<BatchSlot<CREATE_DTO, DTO_VIEW>> window, SETTINGS settings,
+                                 HttpServletRequest request, JsonGenerator generator) throws IOException {
+        List<CREATE_DTO> accepted = new ArrayList<>(window.size());
+        window.forEach(slot -> {
+            if (slot.dto != null) {
+                accepted.add(slot.dto);
+            }
+        });
+        if (!accepted.isEmpty()) {
+            List<READ_DTO> saved = null;
+            try {
+                saved = service.saveAll(accepted);
+            } catch (RuntimeException e) {
+                int status = e instanceof AppNotFoundException
+                        ? HttpStatus.NOT_FOUND.value()
+                        : HttpStatus.INTERNAL_SERVER_ERROR.value();
+                List<String> errors = List.of("Chunk rolled back: " + e.getClass().getSimpleName());
+                for (BatchSlot<CREATE_DTO, DTO_VIEW> slot : window) {
+                    if (slot.dto != null) {
+                        slot.result = BatchItemResult.failed(slot.index, status, errors);
+                    }
+                }
+            }
+            if (saved != null) {
+                int next = 0;
+                for (BatchSlot<CREATE_DTO, DTO_VIEW> slot : window) {
+                    if (slot.dto != null) {
+                        slot.result = afterBatchSave(slot, saved.get(next++), settings, request);
+                    }
+                }
+            }
+        }
+        for (BatchSlot<CREATE_DTO, DTO_VIEW> slot : window) {
+            generator.writeObject(slot.result);
+        }
+        generator.flush();
+        window.clear();
+    }
+
+    /**
+     * Runs the after-save steps of one element of a committed chunk. The element exists whatever they do,
+     * so a failure is reported on it alone, with status 201 and errors.
+     */
+    private BatchItemResult<DTO_VIEW> afterBatchSave(BatchSlot<CREATE_DTO, DTO_VIEW> slot, READ_DTO saved,
+                                                     SETTINGS settings, HttpServletRequest request) {
+        List<String> errors = new ArrayList<>(2);
+        try {
+            afterSaveHook(slot.dto, request);
+        } catch (RuntimeException e) {
+            errors.add("Created, but the after-save hook failed: " + e.getClass().getSimpleName());
+        }
+        DTO_VIEW view = null;
+        try {
+            view = postHandle(saved, settings);
+        } catch (RuntimeException e) {
+            errors.add("Created, but its view failed: " + e.getClass().getSimpleName());
+        }
+        return errors.isEmpty()
+                ? BatchItemResult.created(slot.index, view)
+                : BatchItemResult.createdWithErrors(slot.index, view, errors);
+    }
+
+    private static final class BatchSlot<CREATE_DTO, DTO_VIEW> {
+        private final int index;
+        private final CREATE_DTO dto;
+        private BatchItemResult<DTO_VIEW> result;
+
+        private BatchSlot(int index, CREATE_DTO dto, BatchItemResult<DTO_VIEW> result) {
+            this.index = index;
+            this.dto = dto;
+            this.result = result;
+        }
+
+        static <C, V> BatchSlot<C, V> accepted(int index, C dto) {
+            return new BatchSlot<>(index, dto, null);
+        }
+
+        static <C, V> BatchSlot<C, V> failed(BatchItemResult<V> result) {
+            return new BatchSlot<>(result.getIndex(), null, result);
+        }
+    }
 }
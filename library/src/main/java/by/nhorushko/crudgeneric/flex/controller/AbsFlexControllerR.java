@@ -1,17 +1,47 @@
 package by.nhorushko.crudgeneric.flex.controller;
 
+import by.nhorushko.crudgeneric.flex.model.FieldSelection;
 import by.nhorushko.crudgeneric.flex.model.SettingsVoid;
 import by.nhorushko.crudgeneric.flex.exception.AuthenticationException;
 import by.nhorushko.crudgeneric.flex.service.AbsFlexServiceR;
 import by.nhorushko.crudgeneric.flex.model.AbstractDto;
+import by.nhorushko.crudgeneric.flex.model.Versioned;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import io.swagger.v3.oas.annotations.Operation;
 import jakarta.servlet.http.HttpServletRequest;
+import lombok.Getter;
+import lombok.Setter;
+import org.apache.commons.lang3.ClassUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.i18n.LocaleContext;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.core.GenericTypeResolver;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 
 
@@ -33,8 +63,50 @@ import java.util.stream.Collectors;
 public abstract class AbsFlexControllerR<ID, DTO extends AbstractDto<ID>, DTO_VIEW, SETTINGS extends SettingsVoid,
         SERVICE extends AbsFlexServiceR<ID, ?, DTO, ?>> {
 
+    /**
+     * Request parameter of a sparse fieldset, e.g. {@code GET /items/1?fields=id,name,status}.
+     */
+    public static final String FIELDS_PARAMETER = "fields";
+
     protected final SERVICE service;
 
+    /**
+     * The application's JSON mapper, used to read batch bodies and to write sparse fieldset responses, so both
+     * follow the application's Jackson configuration.
+     */
+    @Getter
+    @Setter
+    @Autowired
+    protected ObjectMapper objectMapper;
+
+    /**
+     * The JSON property names of {@code DTO_VIEW}, resolved on the first sparse fieldset request.
+     */
+    private volatile Set<String> viewProperties;
+
+    /**
+     * Executor the list {@code postHandle} is split across, e.g. a bounded {@link java.util.concurrent.ForkJoinPool};
+     * {@code null}, the default, converts lists on the request thread.
+     */
+    @Getter
+    @Setter
+    protected Executor postHandleExecutor;
+
+    /**
+     * Smallest list converted in parallel when a {@code postHandleExecutor} is set; smaller lists are
+     * cheaper to convert on the request thread than to hand off.
+     */
+    @Getter
+    @Setter
+    protected int parallelPostHandleThreshold = 256;
+
+    /**
+     * Number of parts a list is split into, one of them converted on the request thread.
+     */
+    @Getter
+    @Setter
+    protected int postHandleParallelism = Runtime.getRuntime().availableProcessors();
+
     public AbsFlexControllerR(SERVICE service) {
         this.service = service;
     }
@@ -45,6 +117,18 @@ public abstract class AbsFlexControllerR<ID, DTO extends AbstractDto<ID>, DTO_VI
      * This method fetches an entity by its ID, applies pre- and post-retrieval hooks, and then converts
      * the service layer DTO to the view-specific DTO format before sending it as the response.
      * </p>
+     * <p>
+     * For a {@linkplain AbsFlexServiceR#isVersioned() versioned} entity the response carries a weak
+     * {@code ETag} built from its version, and a {@code Last-Modified} date when the version is a timestamp.
+     * A request whose {@code If-None-Match} (or, without it, {@code If-Modified-Since}) is still current
+     * is answered with 304 Not Modified after reading only the version: the entity is neither loaded nor
+     * mapped, and {@link #afterGetByIdHook} is not called. Otherwise the {@code ETag} comes from the version
+     * of the entity the body is mapped from (see {@link AbsFlexServiceR#getVersionedById(Object, FieldSelection)}),
+     * so the two always agree.
+     * </p>
+     * <p>
+     * A request with a {@link #FIELDS_PARAMETER fields} parameter is handled by {@link #getFieldsById} instead.
+     * </p>
      *
      * @param id       the ID of the entity to retrieve
      * @param settings the settings to possibly influence the handling
@@ -57,9 +141,146 @@ public abstract class AbsFlexControllerR<ID, DTO extends AbstractDto<ID>, DTO_VI
                                             SETTINGS settings,
                                             HttpServletRequest request) {
         beforeGetByIdHook(id, request);
-        DTO dto = service.getById(id);
-        afterGetByIdHook(dto, request);
-        return okResponse(dto, settings);
+        return readById(id, FieldSelection.ALL, settings, request);
+    }
+
+    /**
+     * Handles a {@link #getById} request with a sparse fieldset, e.g. {@code GET /items/1?fields=id,name}: only
+     * those properties of the view are written, the id always included.
+     * <p>
+     * The names are checked against the JSON properties of the view; an unknown one is a
+     * {@link by.nhorushko.crudgeneric.flex.exception.FilterValidationException}. Only the written view is
+     * trimmed: {@link #afterGetByIdHook} and {@link #postHandle} get the full DTO, unless the service's
+     * partial copy reads just the selected READ_DTO fields (see
+     * {@link AbsFlexServiceR#getById(Object, FieldSelection)}). Hooks and conditional requests are handled as in
+     * {@link #getById}.
+     * </p>
+     *
+     * @param id       the ID of the entity to retrieve
+     * @param settings the settings to possibly influence the handling
+     * @param request  the current HTTP request
+     * @return a {@link ResponseEntity} wrapping the selected properties of the view
+     */
+    @GetMapping(value = "{id}", params = FIELDS_PARAMETER)
+    @Operation(summary = "Get selected fields by id")
+    public ResponseEntity<JsonNode> getFieldsById(@PathVariable("id") ID id,
+                                                  SETTINGS settings,
+                                                  HttpServletRequest request) {
+        beforeGetByIdHook(id, request);
+        FieldSelection selection = fieldSelection(request);
+        return sparse(readById(id, readSelection(selection), settings, request), selection);
+    }
+
+    private ResponseEntity<DTO_VIEW> readById(ID id, FieldSelection selection, SETTINGS settings,
+                                              HttpServletRequest request) {
+        if (!service.isVersioned()) {
+            DTO dto = service.getById(id, selection);
+            afterGetByIdHook(dto, request);
+            return okResponse(dto, settings);
+        }
+        String variant = etagVariant(settings);
+        if (EntityTags.isConditional(request)) {
+            Optional<Object> current = service.getVersion(id);
+            if (current.isPresent()) {
+                String etag = EntityTags.weak(current.get(), variant);
+                long lastModified = EntityTags.lastModified(current.get());
+                if (EntityTags.notModified(request, etag, lastModified)) {
+                    return notModified(etag, lastModified);
+                }
+            }
+        }
+        Versioned<DTO> read = service.getVersionedById(id, selection);
+        afterGetByIdHook(read.getValue(), request);
+        Object version = read.getVersion();
+        return withValidators(okResponse(read.getValue(), settings),
+                version == null ? null : EntityTags.weak(version, variant),
+                version == null ? -1 : EntityTags.lastModified(version));
+    }
+
+    /**
+     * Handles the GET request to retrieve several entities by their IDs, e.g. {@code GET /items?ids=3,1,2}.
+     * <p>
+     * Delegates to {@link AbsFlexServiceR#getById(Collection, boolean)}: duplicate ids are ignored and the views
+     * are returned in the order of the requested ids. Missing ids are skipped unless {@code requireAll} is set,
+     * in which case they are all reported in a single not-found error.
+     * </p>
+     * <p>
+     * Conditional requests are handled as in {@link #getById}, with an {@code ETag} combining the requested ids
+     * and their versions; {@code Last-Modified} is the latest version and only sent when every id exists and
+     * has a timestamp version.
+     * </p>
+     * <p>
+     * A request with a {@link #FIELDS_PARAMETER fields} parameter is handled by {@link #getFieldsByIds} instead.
+     * </p>
+     *
+     * @param ids        the IDs of the entities to retrieve
+     * @param requireAll whether a missing id fails the request
+     * @param settings   the settings to possibly influence the handling
+     * @param request    the current HTTP request
+     * @return a {@link ResponseEntity} wrapping the list of view-specific DTOs
+     */
+    @GetMapping(params = "ids")
+    @Operation(summary = "Get by ids")
+    public ResponseEntity<List<DTO_VIEW>> getByIds(@RequestParam("ids") List<ID> ids,
+                                                   @RequestParam(value = "requireAll", defaultValue = "false") boolean requireAll,
+                                                   SETTINGS settings,
+                                                   HttpServletRequest request) {
+        beforeGetByIdsHook(ids, request);
+        return readByIds(ids, requireAll, FieldSelection.ALL, settings, request);
+    }
+
+    /**
+     * Handles a {@link #getByIds} request with a sparse fieldset, selecting the properties of every view as
+     * {@link #getFieldsById} does.
+     *
+     * @param ids        the IDs of the entities to retrieve
+     * @param requireAll whether a missing id fails the request
+     * @param settings   the settings to possibly influence the handling
+     * @param request    the current HTTP request
+     * @return a {@link ResponseEntity} wrapping the selected properties of every view
+     */
+    @GetMapping(params = {"ids", FIELDS_PARAMETER})
+    @Operation(summary = "Get selected fields by ids")
+    public ResponseEntity<JsonNode> getFieldsByIds(@RequestParam("ids") List<ID> ids,
+                                                   @RequestParam(value = "requireAll", defaultValue = "false") boolean requireAll,
+                                                   SETTINGS settings,
+                                                   HttpServletRequest request) {
+        beforeGetByIdsHook(ids, request);
+        FieldSelection selection = fieldSelection(request);
+        return sparse(readByIds(ids, requireAll, readSelection(selection), settings, request), selection);
+    }
+
+    private ResponseEntity<List<DTO_VIEW>> readByIds(List<ID> ids, boolean requireAll, FieldSelection selection,
+                                                     SETTINGS settings, HttpServletRequest request) {
+        if (!service.isVersioned()) {
+            List<DTO> dtos = service.getById(ids, requireAll, selection);
+            afterGetByIdsHook(dtos, request);
+            return okResponse(dtos, settings);
+        }
+        String variant = etagVariant(settings);
+        List<ID> distinct = new ArrayList<>(new LinkedHashSet<>(ids));
+        if (EntityTags.isConditional(request)) {
+            Map<ID, Object> current = service.getVersions(distinct);
+            if (!requireAll || current.size() == distinct.size()) {
+                String etag = EntityTags.weak(distinct, current, variant);
+                long lastModified = EntityTags.lastModified(distinct, current);
+                if (EntityTags.notModified(request, etag, lastModified)) {
+                    return notModified(etag, lastModified);
+                }
+            }
+        }
+        List<Versioned<DTO>> read = service.getVersionedById(ids, requireAll, selection);
+        List<DTO> dtos = new ArrayList<>(read.size());
+        Map<ID, Object> versions = new HashMap<>();
+        for (Versioned<DTO> versioned : read) {
+            dtos.add(versioned.getValue());
+            if (versioned.getVersion() != null) {
+                versions.put(versioned.getValue().getId(), versioned.getVersion());
+            }
+        }
+        afterGetByIdsHook(dtos, request);
+        return withValidators(okResponse(dtos, settings),
+                EntityTags.weak(distinct, versions, variant), EntityTags.lastModified(distinct, versions));
     }
 
     /**
@@ -95,6 +316,160 @@ public abstract class AbsFlexControllerR<ID, DTO extends AbstractDto<ID>, DTO_VI
     protected void afterGetByIdHook(DTO dto, HttpServletRequest request) throws AuthenticationException {
     }
 
+    /**
+     * Pre-processes the request before retrieving several entities by their IDs.
+     * <p>
+     * The list counterpart of {@link #beforeGetByIdHook(Object, HttpServletRequest)}, which it calls for every
+     * requested id, so the access checks of a single read also guard this one. Can be overridden to check all
+     * ids at once; an override replaces the per-id checks.
+     * </p>
+     *
+     * @param ids     the IDs of the entities to be retrieved
+     * @param request the current HttpServletRequest
+     * @throws AuthenticationException if there are authentication issues or access violations during pre-processing
+     */
+    protected void beforeGetByIdsHook(List<ID> ids, HttpServletRequest request) throws AuthenticationException {
+        for (ID id : ids) {
+            beforeGetByIdHook(id, request);
+        }
+    }
+
+    /**
+     * Post-processes the data after retrieving several entities by their IDs.
+     * <p>
+     * Calls {@link #afterGetByIdHook(AbstractDto, HttpServletRequest)} for every retrieved DTO; an override
+     * replaces the per-DTO calls.
+     * </p>
+     *
+     * @param dtos    the retrieved DTOs
+     * @param request the current HttpServletRequest
+     * @throws AuthenticationException if there are authentication issues during post-processing
+     */
+    protected void afterGetByIdsHook(List<DTO> dtos, HttpServletRequest request) throws AuthenticationException {
+        for (DTO dto : dtos) {
+            afterGetByIdHook(dto, request);
+        }
+    }
+
+    /**
+     * Distinguishes the entity tags of views that differ for the same entity version, e.g. by the language
+     * a {@code SettingsTranslateable} view is translated to.
+     *
+     * @param settings the settings of the request
+     * @return a value added to the entity tag, or {@code null}, the default, if the view does not depend on the
+     * settings
+     */
+    protected String etagVariant(SETTINGS settings) {
+        return null;
+    }
+
+    /**
+     * Reads the {@link #FIELDS_PARAMETER fields} parameter of a request, checked against the JSON property names
+     * the application's mapper writes for the view; for a view type that is not a bean, against the fields of
+     * the DTO.
+     *
+     * @param request the current HTTP request
+     * @return the selected fields, {@link FieldSelection#ALL} without the parameter
+     * @throws by.nhorushko.crudgeneric.flex.exception.FilterValidationException on an unknown field
+     */
+    protected FieldSelection fieldSelection(HttpServletRequest request) {
+        FieldSelection selection = FieldSelection.parse(request.getParameter(FIELDS_PARAMETER));
+        Set<String> properties = viewProperties();
+        return properties.isEmpty()
+                ? selection.validate(service.getReadDtoClass())
+                : selection.validate(properties, "the view");
+    }
+
+    /**
+     * @return the selection to pass to the service, which only narrows the DTO if its partial copy applies: the
+     * view selection if it only names DTO fields, otherwise {@link FieldSelection#ALL}
+     */
+    private FieldSelection readSelection(FieldSelection selection) {
+        return selection.isWithin(service.getReadDtoClass()) ? selection : FieldSelection.ALL;
+    }
+
+    /**
+     * Writes only the selected properties of the view, or of every view of a list, with the application's
+     * mapper; the status and headers are kept, and a response without a body stays without one.
+     */
+    protected ResponseEntity<JsonNode> sparse(ResponseEntity<?> response, FieldSelection selection) {
+        if (response.getBody() == null) {
+            return new ResponseEntity<>(response.getHeaders(), response.getStatusCode());
+        }
+        JsonNode body = applicationObjectMapper().valueToTree(response.getBody());
+        if (!selection.isAll()) {
+            if (body.isArray()) {
+                body.forEach(view -> retain(view, selection));
+            } else {
+                retain(body, selection);
+            }
+        }
+        return new ResponseEntity<>(body, response.getHeaders(), response.getStatusCode());
+    }
+
+    /**
+     * @throws IllegalStateException if the controller was created without the application's {@link ObjectMapper}
+     */
+    ObjectMapper applicationObjectMapper() {
+        ObjectMapper mapper = objectMapper;
+        if (mapper == null) {
+            throw new IllegalStateException(getClass().getSimpleName()
+                    + " needs the application's ObjectMapper; inject it into the objectMapper field");
+        }
+        return mapper;
+    }
+
+    /**
+     * @return the JSON property names of {@code DTO_VIEW}, empty if it can't be resolved or is not a bean
+     */
+    private Set<String> viewProperties() {
+        Set<String> properties = viewProperties;
+        if (properties == null) {
+            properties = new LinkedHashSet<>();
+            Class<?>[] arguments = GenericTypeResolver.resolveTypeArguments(getClass(), AbsFlexControllerR.class);
+            if (arguments != null && arguments[2] != null) {
+                ObjectMapper mapper = applicationObjectMapper();
+                JavaType viewType = mapper.constructType(arguments[2]);
+                if (!viewType.isContainerType() && !ClassUtils.isPrimitiveOrWrapper(arguments[2])
+                        && !CharSequence.class.isAssignableFrom(arguments[2])) {
+                    for (BeanPropertyDefinition property
+                            : mapper.getSerializationConfig().introspect(viewType).findProperties()) {
+                        properties.add(property.getName());
+                    }
+                }
+            }
+            viewProperties = properties;
+        }
+        return properties;
+    }
+
+    private static void retain(JsonNode view, FieldSelection selection) {
+        if (view instanceof ObjectNode) {
+            ((ObjectNode) view).retain(selection.names());
+        }
+    }
+
+    private static <T> ResponseEntity<T> notModified(String etag, long lastModified) {
+        ResponseEntity.HeadersBuilder<?> response = ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag);
+        if (lastModified >= 0) {
+            response.lastModified(lastModified);
+        }
+        return response.build();
+    }
+
+    private static <T> ResponseEntity<T> withValidators(ResponseEntity<T> response, String etag, long lastModified) {
+        if (etag == null) {
+            return response;
+        }
+        HttpHeaders headers = new HttpHeaders();
+        headers.addAll(response.getHeaders());
+        headers.setETag(etag);
+        if (lastModified >= 0) {
+            headers.setLastModified(lastModified);
+        }
+        return new ResponseEntity<>(response.getBody(), headers, response.getStatusCode());
+    }
+
     /**
      * Wraps the DTO in a ResponseEntity with HTTP status OK.
      * <p>
@@ -125,8 +500,7 @@ public abstract class AbsFlexControllerR<ID, DTO extends AbstractDto<ID>, DTO_VI
      * @return a ResponseEntity containing a list of DTO_VIEWs and HTTP status OK
      */
     protected ResponseEntity<List<DTO_VIEW>> okResponse(Collection<DTO> list, SETTINGS settings) {
-        List<DTO_VIEW> result = list.stream().map(d -> postHandle(d, settings)).collect(Collectors.toList());
-        return ResponseEntity.ok(result);
+        return ResponseEntity.ok(postHandleAll(list, settings));
     }
 
     /**
@@ -146,7 +520,11 @@ public abstract class AbsFlexControllerR<ID, DTO extends AbstractDto<ID>, DTO_VI
      * Converts a collection of DTOs to their corresponding view representations (DTO_VIEW).
      * <p>
      * This method applies the {@code postHandle} conversion to each DTO in the collection,
-     * facilitating bulk conversions of DTOs to DTO_VIEWs.
+     * facilitating bulk conversions of DTOs to DTO_VIEWs. With a {@code postHandleExecutor} set, collections of at
+     * least {@code parallelPostHandleThreshold} elements are converted in parallel; the order is kept, and the
+     * request attributes and locale of the calling thread are visible to {@code postHandle} on every worker. If a
+     * conversion fails, the remaining ones are skipped and every worker is waited for before the failure is
+     * rethrown, so none outlives the request.
      * </p>
      *
      * @param dtos     the collection of DTOs to convert
@@ -154,6 +532,75 @@ public abstract class AbsFlexControllerR<ID, DTO extends AbstractDto<ID>, DTO_VI
      * @return a list of converted DTO_VIEWs
      */
     protected List<DTO_VIEW> postHandle(Collection<DTO> dtos, SETTINGS settings) {
-        return dtos.stream().map(d -> postHandle(d, settings)).collect(Collectors.toList());
+        return postHandleAll(dtos, settings);
+    }
+
+    private List<DTO_VIEW> postHandleAll(Collection<DTO> dtos, SETTINGS settings) {
+        Executor executor = postHandleExecutor;
+        int parts = Math.min(postHandleParallelism, dtos.size());
+        if (executor == null || parts < 2 || dtos.size() < parallelPostHandleThreshold) {
+            return dtos.stream().map(d -> postHandle(d, settings)).collect(Collectors.toList());
+        }
+        List<DTO> source = dtos instanceof List ? (List<DTO>) dtos : new ArrayList<>(dtos);
+        Object[] views = new Object[source.size()];
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        LocaleContext localeContext = LocaleContextHolder.getLocaleContext();
+        AtomicBoolean failed = new AtomicBoolean();
+        List<CompletableFuture<Void>> workers = new ArrayList<>(parts - 1);
+        try {
+            for (int part = 1; part < parts; part++) {
+                int from = source.size() * part / parts;
+                int to = source.size() * (part + 1) / parts;
+                workers.add(CompletableFuture.runAsync(() -> postHandleRange(
+                        source, views, from, to, settings, requestAttributes, localeContext, failed), executor));
+            }
+            postHandleRange(source, views, 0, source.size() / parts, settings, null, null, failed);
+            CompletableFuture.allOf(workers.toArray(CompletableFuture<?>[]::new)).join();
+        } catch (RuntimeException | Error e) {
+            // the workers still hold this request's attributes: stop them and wait until none is converting
+            failed.set(true);
+            CompletableFuture.allOf(workers.toArray(CompletableFuture<?>[]::new)).handle((ignored, t) -> null).join();
+            Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+        @SuppressWarnings("unchecked")
+        List<DTO_VIEW> result = new ArrayList<>((List<DTO_VIEW>) Arrays.asList(views));
+        return result;
+    }
+
+    /**
+     * Converts {@code source[from, to)} into {@code views}, stopping once {@code failed} is set and setting it on
+     * a failure; with request attributes given, runs them bound to the worker thread and restores the worker's
+     * own afterwards.
+     */
+    private void postHandleRange(List<DTO> source, Object[] views, int from, int to, SETTINGS settings,
+                                 RequestAttributes requestAttributes, LocaleContext localeContext,
+                                 AtomicBoolean failed) {
+        boolean bind = requestAttributes != null || localeContext != null;
+        RequestAttributes previousAttributes = bind ? RequestContextHolder.getRequestAttributes() : null;
+        LocaleContext previousLocale = bind ? LocaleContextHolder.getLocaleContext() : null;
+        if (bind) {
+            RequestContextHolder.setRequestAttributes(requestAttributes);
+            LocaleContextHolder.setLocaleContext(localeContext);
+        }
+        try {
+            for (int i = from; i < to && !failed.get(); i++) {
+                views[i] = postHandle(source.get(i), settings);
+            }
+        } catch (RuntimeException | Error e) {
+            failed.set(true);
+            throw e;
+        } finally {
+            if (bind) {
+                RequestContextHolder.setRequestAttributes(previousAttributes);
+                LocaleContextHolder.setLocaleContext(previousLocale);
+            }
+        }
     }
 }
@@ -1,10 +1,14 @@
 package by.nhorushko.crudgeneric.flex.controller;
 
+import by.nhorushko.crudgeneric.flex.exception.AppPreconditionFailedException;
 import by.nhorushko.crudgeneric.flex.model.SettingsVoid;
 import by.nhorushko.crudgeneric.flex.exception.AuthenticationException;
 import by.nhorushko.crudgeneric.flex.service.AbsFlexServiceRUD;
 import by.nhorushko.crudgeneric.flex.model.AbstractDto;
 import by.nhorushko.crudgeneric.flex.model.AbsUpdateDto;
+import by.nhorushko.crudgeneric.flex.model.AbsVersionedDto;
+import by.nhorushko.crudgeneric.flex.model.Versioned;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PutMapping;
@@ -13,6 +17,10 @@ import org.springframework.web.bind.annotation.RequestBody;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Predicate;
+
 /**
  * Provides Read and Update functionality for a specific entity type.
  * <p>
@@ -49,13 +57,26 @@ public abstract class AbsFlexControllerRU<
      * Validates that the ID in the path matches the ID in the DTO. If the IDs match, it processes
      * the update operation, invoking pre-update and post-update hooks for custom logic execution.
      * </p>
+     * <p>
+     * For a {@linkplain by.nhorushko.crudgeneric.flex.service.AbsFlexServiceR#isVersioned() versioned} entity an
+     * {@code If-Match} header makes the update conditional: its tags are compared, weakly, with the {@code ETag}
+     * {@link #getById} sends for the version of the entity the update loads, and a stale tag is answered with
+     * 412 Precondition Failed before anything is written. Without the header the version of an
+     * {@link AbsVersionedDto} body is used the same way. The response carries the {@code ETag} of the version
+     * the entity has after the update, read in the update's transaction.
+     * </p>
+     * <p>
+     * An entity that is not versioned has no tag to compare, so an {@code If-Match} header naming tags is
+     * answered with 412 rather than ignored; {@code If-Match: *} only requires the entity to exist.
+     * </p>
      *
      * @param id       the ID of the entity to update, as specified in the path
      * @param settings settings to apply during the update operation
      * @param obj      the update DTO containing the new entity data
      * @param request  the current HttpServletRequest
      * @return a ResponseEntity containing the updated entity view
-     * @throws IllegalArgumentException if the provided ID does not match the ID in the DTO
+     * @throws IllegalArgumentException       if the provided ID does not match the ID in the DTO
+     * @throws AppPreconditionFailedException if the entity no longer has the version the request is conditional on
      */
     @PutMapping("{id}")
     public ResponseEntity<READ_DTO_VIEW> update(@PathVariable("id") ID id,
@@ -66,9 +87,37 @@ public abstract class AbsFlexControllerRU<
             throw new IllegalArgumentException("wrong id");
         }
         beforeUpdateHook(obj, request);
-        READ_DTO saved = service.update(obj);
+        Versioned<READ_DTO> saved = service.updateVersioned(obj, ifMatch(id, settings, request));
         afterUpdateHook(obj, request);
-        return okResponse(saved, settings);
+        ResponseEntity<READ_DTO_VIEW> response = okResponse(saved.getValue(), settings);
+        if (saved.getVersion() == null) {
+            return response;
+        }
+        return ResponseEntity.status(response.getStatusCode())
+                .headers(response.getHeaders())
+                .eTag(EntityTags.weak(saved.getVersion(), etagVariant(settings)))
+                .body(response.getBody());
+    }
+
+    /**
+     * @return the condition {@code If-Match} puts on the version the update loads, or {@code null} if there is
+     * none to test
+     * @throws AppPreconditionFailedException if the entity is not versioned and {@code If-Match} names a tag
+     */
+    private Predicate<Object> ifMatch(ID id, SETTINGS settings, HttpServletRequest request) {
+        List<String> ifMatch = Collections.list(request.getHeaders(HttpHeaders.IF_MATCH));
+        if (ifMatch.isEmpty()) {
+            return null;
+        }
+        if (!service.isVersioned()) {
+            if (EntityTags.isAny(ifMatch)) {
+                return null;
+            }
+            throw new AppPreconditionFailedException(
+                    String.format("Entity id: %s has no version to match If-Match against", id));
+        }
+        String variant = etagVariant(settings);
+        return version -> EntityTags.matches(ifMatch, EntityTags.weak(version, variant));
     }
 
     /**
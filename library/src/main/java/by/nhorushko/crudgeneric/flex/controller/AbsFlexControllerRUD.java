@@ -8,9 +8,12 @@ import by.nhorushko.crudgeneric.flex.model.AbsUpdateDto;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
 
 import jakarta.servlet.http.HttpServletRequest;
 
+import java.util.List;
+
 /**
  * Controller providing Read, Update, and Delete (RUD) operations for a specific entity type.
  * <p>
@@ -61,6 +64,26 @@ public abstract class AbsFlexControllerRUD<
         return ResponseEntity.noContent().build();
     }
 
+    /**
+     * Handles the HTTP DELETE request to delete several entities, e.g. {@code DELETE /items?ids=1,2,3}.
+     * <p>
+     * Delegates to {@link AbsFlexServiceRUD#deleteAll(java.util.Collection)}: ids that do not exist are
+     * skipped. By default {@link #beforeDeleteHook} and {@link #afterDeleteHook} run for every id, so the checks
+     * of a single delete also guard this one. A response with HTTP status 204 No Content is returned.
+     * </p>
+     *
+     * @param ids     The IDs of the entities to be deleted.
+     * @param request The HttpServletRequest, allowing access to the request details.
+     * @return A ResponseEntity representing an empty body with HTTP status 204 No Content.
+     */
+    @DeleteMapping(params = "ids")
+    public ResponseEntity<Void> deleteAll(@RequestParam("ids") List<ID> ids, HttpServletRequest request) {
+        beforeDeleteAllHook(ids, request);
+        service.deleteAll(ids);
+        afterDeleteAllHook(ids, request);
+        return ResponseEntity.noContent().build();
+    }
+
     /**
      * Hook method executed before an entity is deleted.
      * <p>
@@ -87,4 +110,34 @@ public abstract class AbsFlexControllerRUD<
      */
     protected void afterDeleteHook(ID id, HttpServletRequest request) {
     }
+
+    /**
+     * Hook method executed before several entities are deleted.
+     * <p>
+     * Calls {@link #beforeDeleteHook} for every id, so nothing is deleted if any of them is rejected. Can be
+     * overridden in subclasses to check all ids at once, e.g. with a single query; an override replaces the
+     * per-id checks.
+     * </p>
+     *
+     * @param ids     The IDs of the entities to be deleted.
+     * @param request The HttpServletRequest, providing context for the deletion.
+     * @throws AuthenticationException if there are authentication issues during pre-processing
+     */
+    protected void beforeDeleteAllHook(List<ID> ids, HttpServletRequest request) throws AuthenticationException {
+        for (ID id : ids) {
+            beforeDeleteHook(id, request);
+        }
+    }
+
+    /**
+     * Hook method executed after several entities are deleted; calls {@link #afterDeleteHook} for every id.
+     *
+     * @param ids     The IDs requested for deletion.
+     * @param request The HttpServletRequest, providing context for the deletion.
+     */
+    protected void afterDeleteAllHook(List<ID> ids, HttpServletRequest request) {
+        for (ID id : ids) {
+            afterDeleteHook(id, request);
+        }
+    }
 }
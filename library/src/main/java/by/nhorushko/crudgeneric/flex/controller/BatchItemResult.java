@@ -0,0 +1,59 @@
+package by.nhorushko.crudgeneric.flex.controller;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Outcome of one element of a {@code POST /batch} request: either the created view with status
+ * {@code 201}, or an error status and messages. An element created in spite of errors, e.g. of its
+ * after-save hook, has status {@code 201} and errors.
+ *
+ * @param <T> the view type of created elements
+ */
+@Getter
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchItemResult<T> {
+
+    /**
+     * zero-based position of the element in the request array
+     */
+    private final int index;
+    private final int status;
+    private final T value;
+    private final List<String> errors;
+
+    private BatchItemResult(int index, int status, T value, List<String> errors) {
+        this.index = index;
+        this.status = status;
+        this.value = value;
+        this.errors = errors;
+    }
+
+    public static <T> BatchItemResult<T> created(int index, T value) {
+        return new BatchItemResult<>(index, 201, value, null);
+    }
+
+    /**
+     * @param value the created view, or {@code null} if it could not be built
+     */
+    public static <T> BatchItemResult<T> createdWithErrors(int index, T value, List<String> errors) {
+        return new BatchItemResult<>(index, 201, value, errors);
+    }
+
+    public static <T> BatchItemResult<T> failed(int index, int status, List<String> errors) {
+        return new BatchItemResult<>(index, status, null, errors);
+    }
+
+    public boolean isSuccess() {
+        return errors == null;
+    }
+
+    /**
+     * @return whether the element was created, possibly with errors
+     */
+    public boolean isCreated() {
+        return status == 201;
+    }
+}
@@ -0,0 +1,161 @@
+package by.nhorushko.crudgeneric.flex.controller;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Map;
+
+/**
+ * Entity tags and modification dates derived from entity versions, and the evaluation of the
+ * conditional request headers against them.
+ */
+final class EntityTags {
+
+    private static final String WEAK_PREFIX = "W/";
+
+    private EntityTags() {
+    }
+
+    /**
+     * @param version a version as read by {@code AbsFlexServiceR.getVersion}
+     * @param variant distinguishes views of the same version, or {@code null}
+     * @return a weak entity tag, quoted
+     */
+    static String weak(Object version, String variant) {
+        return WEAK_PREFIX + '"' + opaque(version) + (variant == null ? "" : "-" + opaque(variant)) + '"';
+    }
+
+    /**
+     * @return a weak entity tag over the ids in order and their versions; a missing id is part of the tag
+     */
+    static <ID> String weak(Collection<ID> ids, Map<ID, Object> versions, String variant) {
+        StringBuilder state = new StringBuilder(ids.size() * 16);
+        for (ID id : ids) {
+            Object version = versions.get(id);
+            state.append(id).append('=').append(version == null ? "" : opaque(version)).append(';');
+        }
+        return weak(DigestUtils.md5DigestAsHex(state.toString().getBytes(StandardCharsets.UTF_8)), variant);
+    }
+
+    /**
+     * @return the version as epoch millis if it is a timestamp, otherwise {@code -1}
+     */
+    static long lastModified(Object version) {
+        if (version instanceof Instant) {
+            return ((Instant) version).toEpochMilli();
+        }
+        if (version instanceof Date) {
+            return ((Date) version).getTime();
+        }
+        if (version instanceof OffsetDateTime) {
+            return ((OffsetDateTime) version).toInstant().toEpochMilli();
+        }
+        if (version instanceof ZonedDateTime) {
+            return ((ZonedDateTime) version).toInstant().toEpochMilli();
+        }
+        if (version instanceof LocalDateTime) {
+            return ((LocalDateTime) version).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        }
+        return -1;
+    }
+
+    /**
+     * @return the latest of the versions as epoch millis if every id has a timestamp version, otherwise {@code -1}
+     */
+    static <ID> long lastModified(Collection<ID> ids, Map<ID, Object> versions) {
+        long latest = -1;
+        for (ID id : ids) {
+            Object version = versions.get(id);
+            long modified = version == null ? -1 : lastModified(version);
+            if (modified < 0) {
+                return -1;
+            }
+            latest = Math.max(latest, modified);
+        }
+        return latest;
+    }
+
+    /**
+     * @return {@code true} if the GET carries {@code If-None-Match} or {@code If-Modified-Since}, so
+     * {@link #notModified} is worth a version-only query
+     */
+    static boolean isConditional(HttpServletRequest request) {
+        return request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                || request.getHeader(HttpHeaders.IF_MODIFIED_SINCE) != null;
+    }
+
+    /**
+     * Evaluates {@code If-None-Match}, or {@code If-Modified-Since} when it is absent, for a GET.
+     *
+     * @param lastModified epoch millis, or {@code -1} if unknown
+     * @return {@code true} if the client's copy is current and a 304 Not Modified can be answered
+     */
+    static boolean notModified(HttpServletRequest request, String etag, long lastModified) {
+        Collection<String> ifNoneMatch = Collections.list(request.getHeaders(HttpHeaders.IF_NONE_MATCH));
+        if (!ifNoneMatch.isEmpty()) {
+            return matches(ifNoneMatch, etag);
+        }
+        if (lastModified < 0) {
+            return false;
+        }
+        long since;
+        try {
+            since = request.getDateHeader(HttpHeaders.IF_MODIFIED_SINCE);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        return since >= 0 && lastModified / 1000 * 1000 <= since;
+    }
+
+    /**
+     * Weak comparison of the tag against header values, each a comma separated list of tags or {@code *}.
+     */
+    static boolean matches(Collection<String> headers, String etag) {
+        String opaque = stripWeak(etag);
+        for (String header : headers) {
+            for (String candidate : header.split(",")) {
+                String tag = candidate.trim();
+                if (tag.equals("*")) {
+                    return true;
+                }
+                if (stripWeak(tag).equals(opaque)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return {@code true} if every tag of the header values is {@code *}
+     */
+    static boolean isAny(Collection<String> headers) {
+        for (String header : headers) {
+            for (String candidate : header.split(",")) {
+                if (!candidate.trim().equals("*")) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static String stripWeak(String tag) {
+        return tag.startsWith(WEAK_PREFIX) ? tag.substring(WEAK_PREFIX.length()) : tag;
+    }
+
+    private static String opaque(Object value) {
+        Object plain = value instanceof Date ? ((Date) value).getTime() : value;
+        return String.valueOf(plain).replace("\"", "");
+    }
+}
@@ -0,0 +1,125 @@
+package by.nhorushko.crudgeneric.flex.controller;
+
+import by.nhorushko.crudgeneric.flex.pageable.AbsFlexPagingAndSortingService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Builds export responses that write rows while they are read, typically from
+ * {@link AbsFlexPagingAndSortingService#stream}, so memory use stays constant however
+ * many rows match:
+ * <pre>
+ * &#64;GetMapping(value = "/export", produces = StreamingExport.NDJSON_VALUE)
+ * public ResponseEntity&lt;StreamingResponseBody&gt; export(...) {
+ *     PreparedStream&lt;MeetingEntity&gt; export = service.prepareStream(request);
+ *     return StreamingExport.ndjson(objectMapper, rows -&gt; service.stream(export, rows));
+ * }
+ * </pre>
+ * The body is written after the handler returns, on Spring MVC's async executor, so the
+ * source opens its own transaction there. By then the 200 status and headers are committed
+ * and a failure can only cut the body short, so validate the request in the handler, as
+ * {@link AbsFlexPagingAndSortingService#prepareStream} does, before returning the response.
+ */
+public final class StreamingExport {
+
+    public static final String NDJSON_VALUE = "application/x-ndjson";
+    public static final MediaType NDJSON = MediaType.parseMediaType(NDJSON_VALUE);
+    public static final MediaType CSV = new MediaType("text", "csv", StandardCharsets.UTF_8);
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private StreamingExport() {
+    }
+
+    /**
+     * Source of export rows: passes each row to the given consumer, in order.
+     */
+    @FunctionalInterface
+    public interface RowSource<T> {
+        void forEach(Consumer<? super T> rows);
+    }
+
+    /**
+     * Newline-delimited JSON: one row serialized by {@code objectMapper} per line.
+     */
+    public static <T> ResponseEntity<StreamingResponseBody> ndjson(ObjectMapper objectMapper, RowSource<T> source) {
+        StreamingResponseBody body = out -> {
+            OutputStream buffered = new BufferedOutputStream(out, BUFFER_SIZE);
+            source.forEach(row -> {
+                try {
+                    buffered.write(objectMapper.writeValueAsBytes(row));
+                    buffered.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            buffered.flush();
+        };
+        return ResponseEntity.ok().contentType(NDJSON).body(body);
+    }
+
+    /**
+     * RFC 4180 CSV with a header line, served as an attachment named {@code filename}.
+     * Values are written with {@link String#valueOf}; {@code null} becomes an empty field.
+     *
+     * @param columns header names
+     * @param row     the values of a row, in column order
+     */
+    public static <T> ResponseEntity<StreamingResponseBody> csv(String filename, List<String> columns,
+                                                                Function<? super T, List<?>> row,
+                                                                RowSource<T> source) {
+        StreamingResponseBody body = out -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+            writeCsvLine(writer, columns);
+            source.forEach(item -> {
+                try {
+                    writeCsvLine(writer, row.apply(item));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            writer.flush();
+        };
+        return ResponseEntity.ok()
+                .contentType(CSV)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(filename).build().toString())
+                .body(body);
+    }
+
+    static void writeCsvLine(Writer writer, List<?> values) throws IOException {
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            Object value = values.get(i);
+            if (value != null) {
+                writer.write(csvField(String.valueOf(value)));
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    static String csvField(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,19 @@
+package by.nhorushko.crudgeneric.flex.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when a write is conditioned on a version of an entity that is no longer current.
+ */
+@ResponseStatus(HttpStatus.PRECONDITION_FAILED)
+public class AppPreconditionFailedException extends RuntimeException {
+
+    public AppPreconditionFailedException(String message) {
+        super(message);
+    }
+
+    public AppPreconditionFailedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
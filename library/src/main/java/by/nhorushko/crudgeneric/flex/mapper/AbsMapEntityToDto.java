@@ -6,9 +6,13 @@ import by.nhorushko.crudgeneric.flex.mapper.core.RegisterableMapper;
 import by.nhorushko.crudgeneric.flex.model.AbstractDto;
 import by.nhorushko.crudgeneric.flex.model.AbstractEntity;
 import org.modelmapper.AbstractCondition;
+import org.modelmapper.Converter;
 import org.modelmapper.TypeMap;
 import org.modelmapper.spi.MappingContext;
 
+import java.util.Optional;
+import java.util.function.Function;
+
 /**
  * Abstract class for mapping entities to Data Transfer Objects (DTOs) with final fields.
  * <p>
@@ -25,6 +29,11 @@ import org.modelmapper.spi.MappingContext;
  * that entities are mapped to DTOs in a manner that respects the immutability and data integrity of the
  * resulting DTOs.
  * </p>
+ * <p>
+ * Because the whole mapping is the {@code create} method, the type map compiles to a direct call of
+ * {@code create}: {@link AbsModelMapper#map(Object, Class)} skips the ModelMapper engine for this pair
+ * unless a subclass replaces the converter or adds pre/post converters in {@link #customizeTypeMap(TypeMap)}.
+ * </p>
  *
  * @param <ENTITY> the type of the entity extending {@link AbstractEntity}
  * @param <DTO>    the type of the DTO extending {@link AbstractDto}, intended to have final fields
@@ -59,6 +68,29 @@ public abstract class AbsMapEntityToDto<ENTITY extends AbstractEntity<?>, DTO ex
                         return true;
                     }
                 })
-                .setConverter(context -> create(context.getSource()));
+                .setConverter(new CreateConverter<>(this));
+    }
+
+    @Override
+    protected Optional<Function<ENTITY, DTO>> compilePlan(TypeMap<ENTITY, DTO> typeMap) {
+        Converter<ENTITY, DTO> converter = typeMap.getConverter();
+        boolean ownConverter = converter instanceof CreateConverter && ((CreateConverter<?, ?>) converter).owner == this;
+        if (!ownConverter || typeMap.getPreConverter() != null || typeMap.getPostConverter() != null) {
+            return Optional.empty();
+        }
+        return Optional.of(this::create);
+    }
+
+    private static final class CreateConverter<ENTITY extends AbstractEntity<?>, DTO extends AbstractDto<?>> implements Converter<ENTITY, DTO> {
+        private final AbsMapEntityToDto<ENTITY, DTO> owner;
+
+        private CreateConverter(AbsMapEntityToDto<ENTITY, DTO> owner) {
+            this.owner = owner;
+        }
+
+        @Override
+        public DTO convert(MappingContext<ENTITY, DTO> context) {
+            return owner.create(context.getSource());
+        }
     }
 }
@@ -4,6 +4,9 @@ import by.nhorushko.crudgeneric.flex.AbsModelMapper;
 import org.modelmapper.ModelMapper;
 import org.modelmapper.TypeMap;
 
+import java.util.Optional;
+import java.util.function.Function;
+
 /**
  * Provides a simplified mapping configuration for straightforward object transformations.
  * <p>
@@ -42,6 +45,7 @@ public abstract class AbsMapBasic<FROM, TO> implements RegisterableMapper {
     private void initMapper() {
         TypeMap<FROM, TO> typeMap = configureMapper();
         customizeTypeMap(typeMap);
+        compilePlan(typeMap).ifPresent(plan -> mapper.registerCompiledPlan(fromClass, toClass, plan));
     }
 
     /**
@@ -80,4 +84,20 @@ public abstract class AbsMapBasic<FROM, TO> implements RegisterableMapper {
      */
     protected void customizeTypeMap(TypeMap<FROM, TO> typeMap) {
     }
+
+    /**
+     * Compiles the fully customized type map into a direct mapping function.
+     * <p>
+     * Called once per registration, after {@link #customizeTypeMap(TypeMap)}. A returned plan is
+     * registered in {@link AbsModelMapper} and used by {@link AbsModelMapper#map(Object, Class)} instead
+     * of the ModelMapper engine, so it must produce exactly what the type map would. The default returns
+     * {@link Optional#empty()}: property-matching type maps stay on ModelMapper.
+     * </p>
+     *
+     * @param typeMap the registered and customized type map
+     * @return the compiled plan, or empty when this type map's shape is not supported
+     */
+    protected Optional<Function<FROM, TO>> compilePlan(TypeMap<FROM, TO> typeMap) {
+        return Optional.empty();
+    }
 }
@@ -5,10 +5,13 @@ import by.nhorushko.crudgeneric.flex.model.AbsCreateDto;
 import by.nhorushko.crudgeneric.flex.model.AbstractEntity;
 import org.apache.commons.lang3.reflect.FieldUtils;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
 import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * Abstract mapper for creating entities from DTOs and linking them with an external entity.
@@ -24,6 +27,10 @@ import java.util.stream.Collectors;
  * where the creation of one entity directly relates to another entity's existence, such as setting a foreign
  * key in a database.
  * </p>
+ * <p>
+ * The relation field is resolved once, at construction, and written through a cached {@link VarHandle},
+ * so mapping a batch does no per-row reflective lookups.
+ * </p>
  *
  * @param <DTO>    the Data Transfer Object type used for creating new entities, extending {@link AbsCreateDto}
  * @param <ENTITY> the entity type to be created and mapped from the DTO
@@ -35,11 +42,35 @@ public abstract class AbsMapperExtRelation<DTO extends AbsCreateDto, ENTITY, EXT
     private final AbsModelMapper mapper;
     private final Class<ENTITY> entityClass;
     private final Class<EXT> extClass;
+    private final VarHandle relationHandle;
 
+    /**
+     * Creates the mapper, locating the single field of type {@code EXT} in {@code entityClass} or its superclasses.
+     *
+     * @throws IllegalArgumentException if {@code entityClass} has no field, or more than one field, of type {@code EXT}
+     */
     public AbsMapperExtRelation(AbsModelMapper mapper, Class<ENTITY> entityClass, Class<EXT> extClass) {
+        this(mapper, entityClass, extClass, findFieldWithType(entityClass, extClass));
+    }
+
+    /**
+     * Creates the mapper for an entity that holds several fields of type {@code EXT}, naming the relation field
+     * explicitly.
+     *
+     * @param relationFieldName the name of the field to which the relation is assigned
+     * @throws IllegalArgumentException if {@code entityClass} has no field of that name and type {@code EXT}
+     */
+    public AbsMapperExtRelation(AbsModelMapper mapper, Class<ENTITY> entityClass, Class<EXT> extClass,
+                                String relationFieldName) {
+        this(mapper, entityClass, extClass, findFieldWithName(entityClass, extClass, relationFieldName));
+    }
+
+    private AbsMapperExtRelation(AbsModelMapper mapper, Class<ENTITY> entityClass, Class<EXT> extClass,
+                                 Field relationField) {
         this.mapper = mapper;
         this.entityClass = entityClass;
         this.extClass = extClass;
+        this.relationHandle = varHandle(relationField);
     }
 
     /**
@@ -50,61 +81,56 @@ public abstract class AbsMapperExtRelation<DTO extends AbsCreateDto, ENTITY, EXT
      * @return the created entity with its relationship to the external entity established
      */
     public ENTITY map(EXT_ID extId, DTO dto) {
-        ENTITY entity = mapper.map(dto, entityClass);
         EXT relation = mapper.referenceById(extId, extClass);
-        setRelation(entity, relation);
-        return entity;
+        return map(relation, dto);
     }
 
     /**
      * Maps a collection of DTOs to entities and associates each with the same external entity identified by {@code extId}.
+     * <p>
+     * The reference to the external entity is obtained once and shared by every created entity.
+     * </p>
      *
      * @param extId the identifier of the external entity to associate with each created entity
      * @param dtos  the collection of DTOs from which to create the entities
      * @return a list of created entities, each with its relationship to the external entity established
      */
     public List<ENTITY> mapAll(EXT_ID extId, Collection<DTO> dtos) {
-        return dtos.stream()
-                .map(dto -> map(extId, dto))
-                .collect(Collectors.toList());
+        EXT relation = mapper.referenceById(extId, extClass);
+        List<ENTITY> entities = new ArrayList<>(dtos.size());
+        for (DTO dto : dtos) {
+            entities.add(map(relation, dto));
+        }
+        return entities;
+    }
+
+    private ENTITY map(EXT relation, DTO dto) {
+        ENTITY entity = mapper.map(dto, entityClass);
+        setRelation(entity, relation);
+        return entity;
     }
 
     /**
-     * Finds the first field of type {@code EXT} within the target entity and sets the specified relation.
+     * Assigns the relation to the field of type {@code EXT} resolved at construction.
      * <p>
-     * This method is designed to automatically detect and set the relationship field within the entity,
-     * facilitating the association between the newly created entity and the external entity. It locates
-     * the first field that matches the type {@code EXT} and assigns it the provided relation.
-     * </p>
-     * <p>
-     * It is important to note that if the target entity contains more than one field of type {@code EXT}, an
-     * exception will be thrown to prevent ambiguous relationship assignments. This behavior ensures that the
-     * relationship is only set when there is a clear and unambiguous target field within the entity. If your
-     * entity design includes multiple fields of the same type and you need to set a specific one, consider
-     * implementing a more targeted approach in your subclass.
+     * The field is located once when the mapper is created: by type, in which case the entity must declare
+     * exactly one field of type {@code EXT}, or by the name given to the constructor. Override this method
+     * if the relationship needs to be set up in a more targeted way.
      * </p>
      *
      * @param target   the target entity to which the relationship is to be set
      * @param relation the external entity instance to be associated with the target entity
-     * @throws IllegalArgumentException if more than one field of type {@code EXT} is found in the target entity,
-     *                                  indicating an ambiguous relationship assignment.
      */
     protected void setRelation(ENTITY target, EXT relation) {
-        try {
-            Field field = findFieldWithType(target, extClass);
-            FieldUtils.writeField(field, target, relation, true);
-        } catch (IllegalAccessException e) {
-            throw new RuntimeException(e);
-        }
+        relationHandle.set(target, relation);
     }
 
-    private Field findFieldWithType(Object targetObject, Class<EXT> extFieldType) {
-        Field[] allFields = FieldUtils.getAllFields(targetObject.getClass());
+    private static Field findFieldWithType(Class<?> entityClass, Class<?> extFieldType) {
         Field foundField = null;
         int count = 0;
 
-        for (Field field : allFields) {
-            if (field.getType().equals(extFieldType)) {
+        for (Field field : FieldUtils.getAllFields(entityClass)) {
+            if (!Modifier.isStatic(field.getModifiers()) && field.getType().equals(extFieldType)) {
                 foundField = field;
                 count++;
             }
@@ -113,9 +139,29 @@ public abstract class AbsMapperExtRelation<DTO extends AbsCreateDto, ENTITY, EXT
         if (count == 1) {
             return foundField;
         } else if (count > 1) {
-            throw new IllegalArgumentException(String.format("Multiple fields of type: %s found in object: %s", extFieldType.getSimpleName(), targetObject.getClass().getSimpleName()));
+            throw new IllegalArgumentException(String.format("Multiple fields of type: %s found in object: %s", extFieldType.getSimpleName(), entityClass.getSimpleName()));
         } else {
-            throw new IllegalArgumentException(String.format("Field with type: %s was not found in object: %s", extFieldType.getSimpleName(), targetObject.getClass().getSimpleName()));
+            throw new IllegalArgumentException(String.format("Field with type: %s was not found in object: %s", extFieldType.getSimpleName(), entityClass.getSimpleName()));
+        }
+    }
+
+    private static Field findFieldWithName(Class<?> entityClass, Class<?> extFieldType, String name) {
+        Field field = FieldUtils.getField(entityClass, name, true);
+        if (field == null || Modifier.isStatic(field.getModifiers()) || !field.getType().equals(extFieldType)) {
+            throw new IllegalArgumentException(String.format("Field: %s with type: %s was not found in object: %s", name, extFieldType.getSimpleName(), entityClass.getSimpleName()));
+        }
+        return field;
+    }
+
+    private static VarHandle varHandle(Field field) {
+        if (Modifier.isFinal(field.getModifiers())) {
+            throw new IllegalArgumentException(String.format("Relation field: %s in object: %s is final", field.getName(), field.getDeclaringClass().getSimpleName()));
+        }
+        try {
+            return MethodHandles.privateLookupIn(field.getDeclaringClass(), MethodHandles.lookup())
+                    .unreflectVarHandle(field);
+        } catch (IllegalAccessException e) {
+            throw new IllegalArgumentException(e);
         }
     }
 }
@@ -0,0 +1,20 @@
+package by.nhorushko.crudgeneric.flex.model;
+
+/**
+ * Interface for update DTOs that carry the version of the entity they were derived from.
+ * <p>
+ * When an update DTO implements this interface and its version is not {@code null}, the update is applied
+ * only if the entity still has that version; otherwise it fails with
+ * {@link by.nhorushko.crudgeneric.flex.exception.AppPreconditionFailedException}. The version is compared with
+ * the entity's {@code @Version} attribute, so both should have the same type.
+ * </p>
+ *
+ * @param <V> the type of the version, e.g. {@code Long}
+ */
+public interface AbsVersionedDto<V> {
+
+    /**
+     * @return the version the client read, or {@code null} to update unconditionally
+     */
+    V getVersion();
+}
@@ -0,0 +1,150 @@
+package by.nhorushko.crudgeneric.flex.model;
+
+import by.nhorushko.crudgeneric.flex.exception.FilterValidationException;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * The DTO fields a client asked for with a sparse fieldset such as {@code fields=id,name,status}.
+ * <p>
+ * The id is always part of a selection, so a partial DTO can still be identified. {@link #ALL} stands for
+ * a request without {@code fields}: every field is read, mapped and serialized as before.
+ * </p>
+ */
+public final class FieldSelection {
+
+    public static final FieldSelection ALL = new FieldSelection(null);
+
+    private static final String ID = "id";
+
+    private final Set<String> names;
+
+    private FieldSelection(Set<String> names) {
+        this.names = names;
+    }
+
+    /**
+     * @param fields comma separated field names, or {@code null}
+     * @return the selection; {@link #ALL} if {@code fields} is {@code null} or blank
+     */
+    public static FieldSelection parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return ALL;
+        }
+        return of(Arrays.asList(fields.split(",")));
+    }
+
+    /**
+     * @return the selection of the given field names and the id; {@link #ALL} if none is given
+     */
+    public static FieldSelection of(Collection<String> fields) {
+        Set<String> names = new LinkedHashSet<>();
+        names.add(ID);
+        for (String field : fields) {
+            String name = field.trim();
+            if (!name.isEmpty()) {
+                names.add(name);
+            }
+        }
+        if (names.size() == 1 && fields.stream().noneMatch(field -> field.trim().equals(ID))) {
+            return ALL;
+        }
+        return new FieldSelection(Collections.unmodifiableSet(names));
+    }
+
+    public boolean isAll() {
+        return names == null;
+    }
+
+    public boolean includes(String field) {
+        return names == null || names.contains(field);
+    }
+
+    /**
+     * @return the selected names, id first; empty for {@link #ALL}
+     */
+    public Set<String> names() {
+        return names == null ? Set.of() : names;
+    }
+
+    /**
+     * Checks every selected name against the instance fields of the DTO class and its superclasses.
+     *
+     * @return this selection
+     * @throws FilterValidationException naming the unknown fields
+     */
+    public FieldSelection validate(Class<?> dtoClass) {
+        if (names == null) {
+            return this;
+        }
+        return validate(fieldNames(dtoClass), dtoClass.getSimpleName());
+    }
+
+    /**
+     * Checks every selected name against the given names, e.g. the JSON properties of a view.
+     *
+     * @param known the names that may be selected
+     * @param owner what the names belong to, for the error message
+     * @return this selection
+     * @throws FilterValidationException naming the unknown fields
+     */
+    public FieldSelection validate(Set<String> known, String owner) {
+        if (names == null) {
+            return this;
+        }
+        List<String> unknown = names.stream()
+                .filter(name -> !name.equals(ID) && !known.contains(name))
+                .collect(Collectors.toList());
+        if (!unknown.isEmpty()) {
+            throw new FilterValidationException(String.format(
+                    "Unknown fields %s of %s, known: %s", unknown, owner, known));
+        }
+        return this;
+    }
+
+    /**
+     * @return {@code true} if every selected name is an instance field of the DTO class or its superclasses;
+     * always {@code true} for {@link #ALL}
+     */
+    public boolean isWithin(Class<?> dtoClass) {
+        return names == null || fieldNames(dtoClass).containsAll(names);
+    }
+
+    private static Set<String> fieldNames(Class<?> dtoClass) {
+        Set<String> known = new LinkedHashSet<>();
+        for (Class<?> type = dtoClass; type != null && type != Object.class; type = type.getSuperclass()) {
+            for (Field field : type.getDeclaredFields()) {
+                if (!Modifier.isStatic(field.getModifiers()) && !field.isSynthetic()) {
+                    known.add(field.getName());
+                }
+            }
+        }
+        return known;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        FieldSelection that = (FieldSelection) o;
+        return names == null ? that.names == null : names.equals(that.names);
+    }
+
+    @Override
+    public int hashCode() {
+        return names == null ? 0 : names.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return names == null ? "*" : String.join(",", names);
+    }
+}
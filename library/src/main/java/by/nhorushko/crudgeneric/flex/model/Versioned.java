@@ -0,0 +1,25 @@
+package by.nhorushko.crudgeneric.flex.model;
+
+import lombok.Getter;
+
+/**
+ * A DTO together with the version its entity had when the DTO was mapped from it, so a response can build its
+ * {@code ETag} from the same read or write as its body.
+ *
+ * @param <T> the DTO type
+ */
+@Getter
+public final class Versioned<T> {
+
+    private final T value;
+
+    /**
+     * the version of the entity, or {@code null} if the entity is not versioned or its version is {@code null}
+     */
+    private final Object version;
+
+    public Versioned(T value, Object version) {
+        this.value = value;
+        this.version = version;
+    }
+}
@@ -4,33 +4,152 @@ import by.nhorushko.crudgeneric.flex.AbsModelMapper;
 import by.nhorushko.crudgeneric.flex.exception.FilterValidationException;
 import by.nhorushko.crudgeneric.flex.model.AbstractDto;
 import by.nhorushko.crudgeneric.flex.model.AbstractEntity;
+import by.nhorushko.crudgeneric.flex.model.FieldSelection;
 import by.nhorushko.filterspecification.Converters;
+import jakarta.persistence.EntityGraph;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.metamodel.EntityType;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.beans.DirectFieldAccessor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.GenericTypeResolver;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.mapping.PropertyPath;
 import org.springframework.data.mapping.PropertyReferenceException;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 /**
  * Base service for paged, filtered, sorted reads. Subclasses declare their
  * filterable fields once in {@link #filterFields(FilterFields.Builder)};
  * validation, specification building and sort mapping all derive from that
  * single declaration.
+ * <p>
+ * The read methods run in a read-only transaction, so a page of entities, the
+ * associations fetched for it (see {@link #fetchPaths()}) and {@link #toDto} share
+ * one persistence context. The annotation is on those methods rather than on the
+ * class, so methods a subclass adds get no read-only transaction by inheritance.
+ * </p>
  */
 public abstract class AbsFlexPagingAndSortingService<
         ID,
         DTO extends AbstractDto<ID>,
         ENTITY extends AbstractEntity<ID>> {
 
+    private static final String LOAD_GRAPH_HINT = "jakarta.persistence.loadgraph";
+    private static final String FETCH_SIZE_HINT = "org.hibernate.fetchSize";
+    private static final String READ_ONLY_HINT = "org.hibernate.readOnly";
+    private static final int FETCH_CHUNK_SIZE = 500;
+
     protected final JpaSpecificationExecutor<ENTITY> repository;
     protected final AbsModelMapper mapper;
     private final Class<DTO> dtoClass;
     private final Converters converters;
     private volatile FilterFields<ENTITY> filterFields;
+    private volatile Class<ENTITY> entityClass;
+    private volatile DtoProjection<DTO> projection;
+    private volatile FetchPlan fetchPlan;
+
+    /**
+     * Reuses {@code COUNT} results of {@link #page(PageFilterRequest)}; {@code null} (the default) counts every time.
+     */
+    @Getter
+    @Setter
+    protected TotalCountCache totalCountCache;
+
+    /**
+     * Receives the phase timings of {@link #page(PageFilterRequest)}; {@link PageInstrumentation#NOOP} by default.
+     */
+    @Getter
+    @Setter
+    protected PageInstrumentation instrumentation = PageInstrumentation.NOOP;
+
+    /**
+     * {@link #page(PageFilterRequest)} calls taking at least this long are logged at {@code WARN} with
+     * their filter shape, phase timings and the SQL captured by {@link SqlCaptureStatementInspector};
+     * {@code null} (the default) disables the log.
+     */
+    @Getter
+    @Setter
+    protected Duration slowQueryThreshold;
+
+    /**
+     * Runs the {@code COUNT} of {@link #page(PageFilterRequest)} concurrently with the page query;
+     * {@code null} (the default) counts on the request thread after the page query. On Java 21+
+     * {@code Executors.newVirtualThreadPerTaskExecutor()} fits well.
+     */
+    @Getter
+    @Setter
+    protected Executor countExecutor;
+
+    /**
+     * How long {@link #page(PageFilterRequest)} waits for a parallel count, measured from its start;
+     * past it the page is returned as an {@link UnknownTotalPage}. {@code null} (the default) waits
+     * until the count finishes. Only used with a {@code countExecutor}.
+     */
+    @Getter
+    @Setter
+    protected Duration countTimeout;
+
+    /**
+     * Opens the read-only transactions of the queries run on the {@code countExecutor}. {@code null}
+     * (the default) uses the application context's transaction manager if it has a unique or
+     * primary one, looked up on the first such query; set it when the context has several.
+     * Without any those queries run outside a transaction.
+     */
+    @Getter
+    @Setter
+    protected PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectProvider<PlatformTransactionManager> transactionManagers;
+
+    @PersistenceContext
+    protected EntityManager entityManager;
 
     public AbsFlexPagingAndSortingService(JpaSpecificationExecutor<ENTITY> repository,
                                           AbsModelMapper mapper,
@@ -53,17 +172,395 @@ public abstract class AbsFlexPagingAndSortingService<
         this.converters = converters;
     }
 
+    /**
+     * Reads one page together with the total number of matching rows. The total costs a second
+     * {@code COUNT} query with the full filter; set a {@link TotalCountCache} to reuse totals of
+     * recent filter combinations, or use {@link #slice(PageFilterRequest)} when no total is needed.
+     * <p>
+     * With an {@code instrumentation} or a {@code slowQueryThreshold} set, the specification, query,
+     * count and mapping phases are timed separately.
+     * </p>
+     * <p>
+     * With a {@code countExecutor} set, the count runs on that executor — in its own read-only
+     * transaction — while the page query runs on the request thread. A count outlasting
+     * {@code countTimeout} yields an {@link UnknownTotalPage}: a count still queued is cancelled,
+     * and a running one is aborted by a query timeout of {@code countTimeout}, rounded up to whole
+     * seconds as JDBC counts them.
+     * </p>
+     * <p>
+     * With {@link PageFilterRequest#getFields() fields} selected in {@link #projectionEnabled() projection
+     * mode}, only their columns are selected and the other DTO fields stay {@code null}. Otherwise the
+     * selection is only validated: the entities are loaded whole either way, so the DTOs are mapped in full
+     * and trimming is left to the response.
+     * </p>
+     *
+     * @throws FilterValidationException on invalid filters, sort or an unknown selected field
+     */
+    @Transactional(readOnly = true)
     public Page<DTO> page(PageFilterRequest request) {
+        PageObservation observation = PageObservation.start(instrumentation, slowQueryThreshold,
+                getClass().getSimpleName(), request.getFilterGroup());
+        try {
+            return page(request, observation);
+        } finally {
+            observation.finish(request.getSort());
+        }
+    }
+
+    private Page<DTO> page(PageFilterRequest request, PageObservation observation) {
         FilterFields<ENTITY> fields = fields();
-        Specification<ENTITY> specification = buildSpecFromFilterGroup(fields, request.getFilterGroup());
+        FieldSelection selection = request.getFields().validate(dtoClass);
+        long mark = observation.mark();
+        Specification<ENTITY> specification = fields.toSpecification(request.getFilterGroup()).orElse(null);
         Pageable pageable = PageRequest.of(request.getPage(), request.getPageSize(), fields.sort(request.getSort()));
+        observation.record(PagePhase.SPECIFICATION, mark);
         try {
-            return repository.findAll(specification, pageable).map(this::toDto);
+            TotalCountCache cache = totalCountCache;
+            Executor executor = countExecutor;
+            if (cache == null && executor == null && !observation.isActive() && !projectionEnabled()
+                    && fetchPlan().isEmpty()) {
+                return repository.findAll(specification, pageable).map(this::toDto);
+            }
+            LongSupplier count;
+            Long cachedTotal = null;
+            if (cache == null) {
+                count = () -> repository.count(specification);
+            } else {
+                String key = TotalCountCache.key(entityClass(), request.getFilterGroup());
+                count = () -> cachedCount(cache, key, specification);
+                cachedTotal = cache.get(key);
+            }
+            if (executor != null && cachedTotal == null) {
+                return parallelPage(specification, pageable, selection, count, executor, observation);
+            }
+            List<DTO> content = readDtos(specification, pageable.getSort(),
+                    Math.toIntExact(pageable.getOffset()), pageable.getPageSize(), selection, observation);
+            return PageableExecutionUtils.getPage(content, pageable, () -> observation.time(PagePhase.COUNT, count));
         } catch (PropertyReferenceException e) {
             throw new FilterValidationException("Unknown sort property in request: " + request.getSort(), e);
         }
     }
 
+    private Page<DTO> parallelPage(Specification<ENTITY> specification, Pageable pageable, FieldSelection selection,
+                                   LongSupplier count, Executor executor, PageObservation observation) {
+        Duration timeout = countTimeout;
+        long deadline = timeout == null ? 0 : System.nanoTime() + timeout.toNanos();
+        int timeoutSeconds = timeout == null ? TransactionDefinition.TIMEOUT_DEFAULT
+                : Math.toIntExact((timeout.toMillis() + 999) / 1000);
+        long mark = observation.mark();
+        // the worker only measures; the phase is recorded on this thread, which owns the observation
+        long[] countNanos = new long[1];
+        CompletableFuture<Long> total = CompletableFuture.supplyAsync(() -> {
+            long start = System.nanoTime();
+            try {
+                return inReadOnlyTransaction(timeoutSeconds, count::getAsLong);
+            } finally {
+                countNanos[0] = System.nanoTime() - start;
+            }
+        }, executor);
+        int pageSize = pageable.getPageSize();
+        // one row ahead, so hasNext stays exact when the total is unknown
+        List<DTO> content = readDtos(specification, pageable.getSort(),
+                Math.toIntExact(pageable.getOffset()), pageSize + 1, selection, observation);
+        boolean hasNext = content.size() > pageSize;
+        if (hasNext) {
+            content = content.subList(0, pageSize);
+        } else if (!content.isEmpty() || pageable.getOffset() == 0) {
+            // the last page: its content already tells the total
+            total.cancel(true);
+            return new PageImpl<>(content, pageable, pageable.getOffset() + content.size());
+        }
+        try {
+            long result = timeout == null
+                    ? total.get()
+                    : total.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            observation.recordNanos(PagePhase.COUNT, countNanos[0]);
+            return new PageImpl<>(content, pageable, result);
+        } catch (TimeoutException e) {
+            total.cancel(true);
+            observation.record(PagePhase.COUNT, mark);
+            return new UnknownTotalPage<>(content, pageable, hasNext);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            total.cancel(true);
+            return new UnknownTotalPage<>(content, pageable, hasNext);
+        } catch (ExecutionException e) {
+            throw unwrap(e.getCause());
+        }
+    }
+
+    /**
+     * Runs the queries of a {@code countExecutor} thread, which has no transaction of its own, so
+     * they don't use the shared {@link EntityManager} outside a transaction.
+     *
+     * @param timeoutSeconds applied by Spring as the JPA query timeout of the queries, or
+     *                       {@link TransactionDefinition#TIMEOUT_DEFAULT} for none
+     */
+    private <T> T inReadOnlyTransaction(int timeoutSeconds, Supplier<T> query) {
+        PlatformTransactionManager manager = transactionManager;
+        if (manager == null && transactionManagers != null) {
+            manager = transactionManagers.getIfUnique();
+        }
+        if (manager == null) {
+            return query.get();
+        }
+        TransactionTemplate template = new TransactionTemplate(manager);
+        template.setReadOnly(true);
+        template.setTimeout(timeoutSeconds);
+        return template.execute(status -> query.get());
+    }
+
+    /**
+     * Counts the rows matching the request's filters per value of each facet field, e.g. meetings
+     * per status and per region for the filters of the current list. Each field costs one
+     * {@code SELECT value, COUNT(*) ... GROUP BY value} query with the same specification as
+     * {@link #page(PageFilterRequest)}, whose compiled filter template is reused. With a
+     * {@code countExecutor} set, the queries of several fields run concurrently on it, each in its
+     * own read-only transaction: they then don't share a snapshot with each other or with the
+     * caller's transaction, so under concurrent writes the counts of two fields may disagree.
+     * <p>
+     * Facet fields are declared filter fields of an enum, integer, long or boolean type. Each list
+     * is ordered by descending count; rows without a value are counted under a {@code null} value.
+     * Sort, page number and page size of the request are ignored.
+     * </p>
+     *
+     * @return the counts per facet field, in the order of {@code facetFields}
+     * @throws FilterValidationException on invalid filters or a facet field that is unknown or not facetable
+     */
+    @Transactional(readOnly = true)
+    public Map<String, List<FacetCount>> facets(PageFilterRequest request, String... facetFields) {
+        FilterFields<ENTITY> fields = fields();
+        List<FilterFields.Entry<ENTITY>> entries = new ArrayList<>(facetFields.length);
+        for (String name : facetFields) {
+            entries.add(fields.facetEntry(name));
+        }
+        Specification<ENTITY> specification = fields.toSpecification(request.getFilterGroup()).orElse(null);
+        Map<String, List<FacetCount>> result = new LinkedHashMap<>();
+        Executor executor = countExecutor;
+        if (executor == null || entries.size() < 2) {
+            entries.forEach(entry -> result.put(entry.name, facet(specification, entry.path)));
+            return result;
+        }
+        List<CompletableFuture<List<FacetCount>>> futures = new ArrayList<>(entries.size());
+        entries.forEach(entry -> futures.add(
+                CompletableFuture.supplyAsync(() -> inReadOnlyTransaction(TransactionDefinition.TIMEOUT_DEFAULT,
+                        () -> facet(specification, entry.path)), executor)));
+        for (int i = 0; i < entries.size(); i++) {
+            try {
+                result.put(entries.get(i).name, futures.get(i).get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while counting facets", e);
+            } catch (ExecutionException e) {
+                throw unwrap(e.getCause());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Reads one page and the {@link #facets facet counts} of the same filters, so a list and its
+     * facet counts come from one call. They read one transaction's snapshot only without a
+     * {@code countExecutor}.
+     */
+    @Transactional(readOnly = true)
+    public FacetedPage<DTO> facetedPage(PageFilterRequest request, String... facetFields) {
+        return new FacetedPage<>(page(request), facets(request, facetFields));
+    }
+
+    /**
+     * Reads one page without counting: {@code pageSize + 1} rows are fetched and the extra row only
+     * tells whether a next page exists. Meant for infinite scrolling and "load more" lists, where the
+     * {@code COUNT} query of {@link #page(PageFilterRequest)} often costs more than the page itself.
+     * Selected {@link PageFilterRequest#getFields() fields} are honored as in {@link #page(PageFilterRequest)}.
+     */
+    @Transactional(readOnly = true)
+    public Slice<DTO> slice(PageFilterRequest request) {
+        FilterFields<ENTITY> fields = fields();
+        FieldSelection selection = request.getFields().validate(dtoClass);
+        Specification<ENTITY> specification = fields.toSpecification(request.getFilterGroup()).orElse(null);
+        Pageable pageable = PageRequest.of(request.getPage(), request.getPageSize(), fields.sort(request.getSort()));
+        List<DTO> content;
+        try {
+            content = readDtos(specification, pageable.getSort(),
+                    Math.toIntExact(pageable.getOffset()), pageable.getPageSize() + 1, selection, PageObservation.NONE);
+        } catch (PropertyReferenceException e) {
+            throw new FilterValidationException("Unknown sort property in request: " + request.getSort(), e);
+        }
+        boolean hasNext = content.size() > pageable.getPageSize();
+        if (hasNext) {
+            content = content.subList(0, pageable.getPageSize());
+        }
+        return new SliceImpl<>(content, pageable, hasNext);
+    }
+
+    /**
+     * Streams every row matching the request's filters, in the request's sort order, to
+     * {@code consumer} — for exports, instead of looping over {@link #page(PageFilterRequest)}
+     * with a {@code COUNT} and an {@code OFFSET} query per page. Page number and size are ignored.
+     * <p>
+     * Rows come from a forward-only JPA result stream with a JDBC fetch size of
+     * {@link #streamFetchSize()}, are mapped to DTOs as they arrive and the persistence
+     * context is cleared after every {@code streamFetchSize()} rows, so memory use does
+     * not grow with the result. The consumer runs inside the read-only transaction:
+     * write the output as you go rather than collecting it.
+     * </p>
+     * <p>
+     * When the output is an HTTP response body, call {@link #prepareStream(PageFilterRequest)}
+     * in the handler and stream the {@link PreparedStream} from the body instead: invalid
+     * filters are then reported before the status line is committed.
+     * </p>
+     *
+     * @return the number of rows streamed
+     * @throws FilterValidationException on invalid filters or sort
+     */
+    @Transactional(readOnly = true)
+    public long stream(PageFilterRequest request, Consumer<? super DTO> consumer) {
+        return stream(prepareStream(request), consumer);
+    }
+
+    /**
+     * Validates the filters and sort of an export and builds its query criteria, without
+     * touching the database. Meant to run in the request handler, so a bad filter or sort
+     * still becomes a 400 rather than a truncated 200 from a streaming body.
+     *
+     * @throws FilterValidationException on invalid filters or sort
+     */
+    public PreparedStream<ENTITY> prepareStream(PageFilterRequest request) {
+        FilterFields<ENTITY> fields = fields();
+        Specification<ENTITY> specification = fields.toSpecification(request.getFilterGroup()).orElse(null);
+        Sort sort = fields.sort(request.getSort());
+        try {
+            sort.forEach(order -> PropertyPath.from(order.getProperty(), entityClass()));
+        } catch (PropertyReferenceException e) {
+            throw new FilterValidationException("Unknown sort property in request: " + request.getSort(), e);
+        }
+        return new PreparedStream<>(specification, sort);
+    }
+
+    /**
+     * Streams the rows of a {@link #prepareStream(PageFilterRequest) prepared} export to
+     * {@code consumer}, as {@link #stream(PageFilterRequest, Consumer)} does.
+     *
+     * @return the number of rows streamed
+     */
+    @Transactional(readOnly = true)
+    public long stream(PreparedStream<ENTITY> prepared, Consumer<? super DTO> consumer) {
+        Specification<ENTITY> specification = prepared.specification;
+        Sort sort = prepared.sort;
+        int chunkSize = streamFetchSize();
+        if (projectionEnabled()) {
+            return streamProjected(specification, sort, chunkSize, consumer);
+        }
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ENTITY> query = cb.createQuery(entityClass());
+        Root<ENTITY> root = query.from(entityClass());
+        restrict(query, root, cb, specification, sort);
+        TypedQuery<ENTITY> typedQuery = entityManager.createQuery(query)
+                .setHint(FETCH_SIZE_HINT, chunkSize)
+                .setHint(READ_ONLY_HINT, true);
+        FetchPlan plan = fetchPlan();
+        EntityGraph<ENTITY> graph = plan.graph(entityManager, entityClass());
+        if (graph != null) {
+            typedQuery.setHint(LOAD_GRAPH_HINT, graph);
+        }
+        long count = 0;
+        List<ENTITY> chunk = new ArrayList<>(chunkSize);
+        try (Stream<ENTITY> rows = typedQuery.getResultStream()) {
+            Iterator<ENTITY> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() == chunkSize) {
+                    count += emit(plan, chunk, consumer);
+                }
+            }
+        }
+        return count + emit(plan, chunk, consumer);
+    }
+
+    /**
+     * Keyset (seek) pagination: instead of skipping {@code page * size} rows, the
+     * query continues after the boundary row encoded in {@code cursor}, so a deep
+     * page costs the same as the first one and no COUNT query is issued.
+     * <p>
+     * Rows are ordered by the request's sort property with the entity id as a
+     * tiebreaker, and selected with {@code (sort, id) > (?, ?)} — expanded to
+     * {@code sort > ? OR (sort = ? AND id > ?)}, mirrored for descending sorts —
+     * limited to {@code pageSize + 1} rows to detect a following page. The sort
+     * property must be the id or a declared, non-custom filter field whose values
+     * are never {@code null}. {@link PageFilterRequest#getPage()} is ignored.
+     * </p>
+     *
+     * @param request filters, sort and page size
+     * @param cursor  {@code null} for the first page, otherwise a cursor of a previous
+     *                {@link KeysetPage} issued for the same sort
+     * @throws FilterValidationException on a non-positive page size, an unsupported sort property
+     *                                   or a malformed or foreign cursor
+     */
+    @Transactional(readOnly = true)
+    public KeysetPage<DTO> keysetPage(PageFilterRequest request, String cursor) {
+        int size = request.getPageSize();
+        if (size < 1) {
+            throw new FilterValidationException("Page size must be positive, but was: " + size);
+        }
+        FilterFields<ENTITY> fields = fields();
+        Specification<ENTITY> specification = fields.toSpecification(request.getFilterGroup()).orElse(null);
+        EntityType<ENTITY> entityType = entityManager.getMetamodel().entity(entityClass());
+        Class<?> idType = entityType.getIdType().getJavaType();
+        String idPath = entityType.getId(idType).getName();
+
+        FilterFields.SortKey<ENTITY> key = fields.sortKey(request.getSort());
+        String sortPath = keysetSortPath(key, idPath);
+        Function<String, ? extends Comparable<?>> sortConverter = sortPath == null ? null : key.entry.converter;
+        String sortExpression = (key.direction.isAscending() ? "asc#" : "desc#") + key.property;
+        KeysetCursor position = cursor == null || cursor.isEmpty() ? null : KeysetCursor.decode(cursor, sortExpression);
+        boolean backward = position != null && position.backward;
+        Sort.Direction direction = backward ? reverse(key.direction) : key.direction;
+
+        if (position != null) {
+            Comparable<?> value = sortPath == null ? null : convertCursorPart(sortConverter, position.value);
+            Comparable<?> id = convertCursorPart(raw -> parseId(raw, idType), position.id);
+            Specification<ENTITY> seek = seek(sortPath, idPath, value, id, direction.isAscending());
+            specification = specification == null ? seek : specification.and(seek);
+        }
+        Sort sort = sortPath == null
+                ? Sort.by(direction, idPath)
+                : Sort.by(direction, sortPath).and(Sort.by(direction, idPath));
+        List<ENTITY> rows = new ArrayList<>(findLimited(specification, sort, 0, size + 1));
+        boolean more = rows.size() > size;
+        if (more) {
+            rows = rows.subList(0, size);
+        }
+        if (backward) {
+            Collections.reverse(rows);
+        }
+
+        String next = null;
+        String previous = null;
+        if (!rows.isEmpty()) {
+            ENTITY first = rows.get(0);
+            ENTITY last = rows.get(rows.size() - 1);
+            boolean hasNext = backward || more;
+            boolean hasPrevious = backward ? more : position != null;
+            if (hasNext) {
+                next = cursorOf(last, false, sortExpression, sortPath, idPath);
+            }
+            if (hasPrevious) {
+                previous = cursorOf(first, true, sortExpression, sortPath, idPath);
+            }
+        }
+        List<DTO> content = new ArrayList<>(rows.size());
+        rows.forEach(entity -> content.add(toDto(entity)));
+        return new KeysetPage<>(content, size, next, previous);
+    }
+
+    /**
+     * @return counters of the compiled filter group templates of this service's {@link FilterFields}
+     */
+    public FilterTemplateCacheStats filterTemplateCacheStats() {
+        return fields().templateCacheStats();
+    }
+
     /**
      * Declares the filterable fields of this endpoint — the single place a
      * field's name, path, type and allowed operations are defined. Called
@@ -75,52 +572,368 @@ public abstract class AbsFlexPagingAndSortingService<
         return mapper.map(entity, dtoClass);
     }
 
-    private FilterFields<ENTITY> fields() {
-        FilterFields<ENTITY> result = filterFields;
+    /**
+     * Associations fetched together with each page of entities, as entity paths such as
+     * {@code region} or {@code lines}, so that {@link #toDto} does not lazy-load them one row
+     * at a time. To-one paths are fetched by the page query itself through an entity graph;
+     * to-many paths by one extra query per path for the ids of the page, so {@code LIMIT/OFFSET}
+     * stays in SQL instead of being applied in memory.
+     * <p>
+     * By default the paths are derived from the DTO's fields: a field mapped to a nested filter
+     * path ({@code regionId} → {@code region}), a field named like an association ({@code lines}),
+     * or a field whose camel-case prefix names a to-one association ({@code projectName} →
+     * {@code project}). Override to declare the paths explicitly; return an empty set to fetch
+     * nothing. Called once; the result is cached. Not used in {@link #projectionEnabled() projection mode}.
+     * </p>
+     */
+    protected Set<String> fetchPaths() {
+        return FetchPlan.derive(dtoClass, entityManager.getMetamodel().managedType(entityClass()), fields());
+    }
+
+    /**
+     * JDBC fetch size of {@link #stream}, and the number of rows mapped between persistence context clears.
+     */
+    protected int streamFetchSize() {
+        return 500;
+    }
+
+    /**
+     * Opt-in projection mode for {@link #page(PageFilterRequest)} and {@link #slice(PageFilterRequest)}:
+     * when {@code true}, only the columns behind the DTO's fields are selected and read straight
+     * into DTOs, so no entity enters the persistence context and no lazy association is touched.
+     * <p>
+     * A DTO field named like a declared filter field is read from that field's path
+     * ({@code regionId} → {@code region.id}), any other field from the entity attribute of the same
+     * name; nested paths are left-joined. {@link #toDto(AbstractEntity)} is bypassed, so enable this
+     * only for DTOs that are a plain copy of entity columns. {@link #keysetPage} still reads entities.
+     * </p>
+     *
+     * @throws IllegalStateException on the first read, if a DTO field can't be mapped to an entity path
+     */
+    protected boolean projectionEnabled() {
+        return false;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Class<ENTITY> entityClass() {
+        Class<ENTITY> result = entityClass;
         if (result == null) {
-            synchronized (this) {
-                result = filterFields;
-                if (result == null) {
-                    FilterFields.Builder<ENTITY> builder = converters == null
-                            ? FilterFields.builder()
-                            : FilterFields.builder(converters);
-                    result = filterFields(builder);
-                    filterFields = result;
-                }
+            Class<?>[] arguments = GenericTypeResolver.resolveTypeArguments(getClass(), AbsFlexPagingAndSortingService.class);
+            if (arguments == null || arguments[2] == null) {
+                throw new IllegalStateException(String.format(
+                        "Can't resolve the entity type of %s; declare the type arguments on the subclass", getClass().getName()));
+            }
+            result = (Class<ENTITY>) arguments[2];
+            entityClass = result;
+        }
+        return result;
+    }
+
+    private long cachedCount(TotalCountCache cache, String key, Specification<ENTITY> specification) {
+        Long total = cache.get(key);
+        if (total == null) {
+            total = repository.count(specification);
+            cache.put(key, total);
+        }
+        return total;
+    }
+
+    private List<DTO> readDtos(Specification<ENTITY> specification, Sort sort, int offset, int limit,
+                               FieldSelection selection, PageObservation observation) {
+        long mark = observation.mark();
+        if (!projectionEnabled()) {
+            List<ENTITY> rows = findLimited(specification, sort, offset, limit);
+            observation.record(PagePhase.QUERY, mark);
+            mark = observation.mark();
+            List<DTO> content = new ArrayList<>(rows.size());
+            rows.forEach(entity -> content.add(toDto(entity)));
+            observation.record(PagePhase.MAPPING, mark);
+            return content;
+        }
+        DtoProjection<DTO> projection = projection().select(selection);
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<ENTITY> root = query.from(entityClass());
+        query.multiselect(projection.selections(root));
+        restrict(query, root, cb, specification, sort);
+        List<Tuple> tuples = entityManager.createQuery(query)
+                .setFirstResult(offset)
+                .setMaxResults(limit)
+                .getResultList();
+        observation.record(PagePhase.QUERY, mark);
+        mark = observation.mark();
+        List<DTO> content = new ArrayList<>(tuples.size());
+        tuples.forEach(tuple -> content.add(projection.read(tuple)));
+        observation.record(PagePhase.MAPPING, mark);
+        return content;
+    }
+
+    private List<FacetCount> facet(Specification<ENTITY> specification, String path) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<ENTITY> root = query.from(entityClass());
+        Path<Object> value = path(root, path);
+        Expression<Long> count = cb.count(root);
+        query.multiselect(value, count);
+        if (specification != null) {
+            Predicate predicate = specification.toPredicate(root, query, cb);
+            if (predicate != null) {
+                query.where(predicate);
+            }
+        }
+        query.groupBy(value);
+        query.orderBy(cb.desc(count), cb.asc(value));
+        List<Tuple> rows = entityManager.createQuery(query).getResultList();
+        List<FacetCount> result = new ArrayList<>(rows.size());
+        rows.forEach(row -> result.add(new FacetCount(row.get(0), row.get(1, Long.class))));
+        return result;
+    }
+
+    private static RuntimeException unwrap(Throwable cause) {
+        if (cause instanceof RuntimeException) {
+            return (RuntimeException) cause;
+        }
+        if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+        return new IllegalStateException(cause);
+    }
+
+    private long streamProjected(Specification<ENTITY> specification, Sort sort, int fetchSize,
+                                 Consumer<? super DTO> consumer) {
+        DtoProjection<DTO> projection = projection();
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<ENTITY> root = query.from(entityClass());
+        query.multiselect(projection.selections(root));
+        restrict(query, root, cb, specification, sort);
+        long count = 0;
+        try (Stream<Tuple> tuples = entityManager.createQuery(query)
+                .setHint(FETCH_SIZE_HINT, fetchSize)
+                .getResultStream()) {
+            Iterator<Tuple> iterator = tuples.iterator();
+            while (iterator.hasNext()) {
+                consumer.accept(projection.read(iterator.next()));
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private long emit(FetchPlan plan, List<ENTITY> chunk, Consumer<? super DTO> consumer) {
+        if (chunk.isEmpty()) {
+            return 0;
+        }
+        if (plan.hasCollections()) {
+            fetchCollections(plan, chunk);
+        }
+        chunk.forEach(entity -> consumer.accept(toDto(entity)));
+        int emitted = chunk.size();
+        chunk.clear();
+        entityManager.clear();
+        return emitted;
+    }
+
+    private List<ENTITY> findLimited(Specification<ENTITY> specification, Sort sort, int offset, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ENTITY> query = cb.createQuery(entityClass());
+        Root<ENTITY> root = query.from(entityClass());
+        restrict(query, root, cb, specification, sort);
+        TypedQuery<ENTITY> typedQuery = entityManager.createQuery(query)
+                .setFirstResult(offset)
+                .setMaxResults(limit);
+        FetchPlan plan = fetchPlan();
+        EntityGraph<ENTITY> graph = plan.graph(entityManager, entityClass());
+        if (graph != null) {
+            typedQuery.setHint(LOAD_GRAPH_HINT, graph);
+        }
+        List<ENTITY> rows = typedQuery.getResultList();
+        if (plan.hasCollections() && !rows.isEmpty()) {
+            fetchCollections(plan, rows);
+        }
+        return rows;
+    }
+
+    /**
+     * Initializes the to-many paths of {@code rows}: the loaded entities are already managed,
+     * so each query fills their collections in place.
+     */
+    private void fetchCollections(FetchPlan plan, List<ENTITY> rows) {
+        List<ID> ids = new ArrayList<>(rows.size());
+        rows.forEach(entity -> ids.add(entity.getId()));
+        String idName = idAttributeName();
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        for (String[] path : plan.collections()) {
+            for (int from = 0; from < ids.size(); from += FETCH_CHUNK_SIZE) {
+                List<ID> chunk = ids.subList(from, Math.min(from + FETCH_CHUNK_SIZE, ids.size()));
+                CriteriaQuery<ENTITY> query = cb.createQuery(entityClass());
+                Root<ENTITY> root = query.from(entityClass());
+                FetchPlan.fetch(root, path);
+                query.where(root.get(idName).in(chunk));
+                entityManager.createQuery(query).getResultList();
+            }
+        }
+    }
+
+    private FetchPlan fetchPlan() {
+        FetchPlan result = fetchPlan;
+        if (result == null) {
+            Set<String> paths = projectionEnabled() ? Set.of() : fetchPaths();
+            result = paths.isEmpty()
+                    ? FetchPlan.NONE
+                    : FetchPlan.of(entityManager.getMetamodel().managedType(entityClass()), paths);
+            fetchPlan = result;
+        }
+        return result;
+    }
+
+    /**
+     * @return the entity's id attribute, so sorts get a tiebreaker whatever the {@code @Id} is named;
+     * {@code null} for a composite id, and the builder's default without an {@link EntityManager}
+     */
+    private String defaultTiebreaker() {
+        if (entityManager == null) {
+            return FilterFields.Builder.DEFAULT_TIEBREAKER;
+        }
+        EntityType<ENTITY> entityType = entityManager.getMetamodel().entity(entityClass());
+        return entityType.hasSingleIdAttribute() ? idAttributeName() : null;
+    }
+
+    private String idAttributeName() {
+        EntityType<ENTITY> entityType = entityManager.getMetamodel().entity(entityClass());
+        return entityType.getId(entityType.getIdType().getJavaType()).getName();
+    }
+
+    private static <ENTITY> void restrict(CriteriaQuery<?> query, Root<ENTITY> root, CriteriaBuilder cb,
+                                          Specification<ENTITY> specification, Sort sort) {
+        if (specification != null) {
+            Predicate predicate = specification.toPredicate(root, query, cb);
+            if (predicate != null) {
+                query.where(predicate);
             }
         }
+        query.orderBy(QueryUtils.toOrders(sort, root, cb));
+    }
+
+    private DtoProjection<DTO> projection() {
+        DtoProjection<DTO> result = projection;
+        if (result == null) {
+            result = DtoProjection.of(dtoClass, entityManager.getMetamodel().managedType(entityClass()), fields());
+            projection = result;
+        }
         return result;
     }
 
-    private Specification<ENTITY> buildSpecFromFilterGroup(FilterFields<ENTITY> fields,
-                                                           PageFilterRequest.FilterGroup filterGroup) {
-        if (filterGroup == null || filterGroup.isEmpty()) {
-            return null;
+    /**
+     * @return the entity path of the sort property, or {@code null} when sorting by the id alone
+     */
+    private static String keysetSortPath(FilterFields.SortKey<?> key, String idPath) {
+        if (key.entry == null) {
+            if (key.property.equals(idPath)) {
+                return null;
+            }
+            throw new FilterValidationException(String.format(
+                    "Keyset pagination can't sort by '%s': it must be the id or a declared filter field", key.property));
         }
+        if (key.entry.converter == null) {
+            throw new FilterValidationException(String.format(
+                    "Keyset pagination can't sort by custom filter field '%s'", key.property));
+        }
+        return key.entry.path.equals(idPath) ? null : key.entry.path;
+    }
 
-        List<Specification<ENTITY>> specs = new ArrayList<>();
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <ENTITY> Specification<ENTITY> seek(String sortPath, String idPath,
+                                                       Comparable value, Comparable id, boolean greater) {
+        return (root, query, cb) -> {
+            Path<Comparable> idAttribute = path(root, idPath);
+            Predicate idAfter = greater ? cb.greaterThan(idAttribute, id) : cb.lessThan(idAttribute, id);
+            if (sortPath == null) {
+                return idAfter;
+            }
+            Path<Comparable> sortAttribute = path(root, sortPath);
+            Predicate sortAfter = greater ? cb.greaterThan(sortAttribute, value) : cb.lessThan(sortAttribute, value);
+            return cb.or(sortAfter, cb.and(cb.equal(sortAttribute, value), idAfter));
+        };
+    }
 
-        for (PageFilterRequest.Filter filter : filterGroup.getFilters()) {
-            fields.toSpecification(filter).ifPresent(specs::add);
+    private static <T> Path<T> path(Root<?> root, String dottedPath) {
+        Path<?> result = root;
+        for (String part : dottedPath.split("\\.")) {
+            result = result.get(part);
         }
+        @SuppressWarnings("unchecked")
+        Path<T> typed = (Path<T>) result;
+        return typed;
+    }
 
-        for (PageFilterRequest.FilterGroup subgroup : filterGroup.getSubGroups()) {
-            Specification<ENTITY> subgroupSpec = buildSpecFromFilterGroup(fields, subgroup);
-            if (subgroupSpec != null) {
-                specs.add(subgroupSpec);
+    private String cursorOf(ENTITY entity, boolean backward, String sortExpression, String sortPath, String idPath) {
+        String value = null;
+        if (sortPath != null) {
+            Object sortValue = readPath(entity, sortPath);
+            if (sortValue == null) {
+                throw new IllegalStateException(String.format(
+                        "Keyset pagination requires non-null values of '%s', but entity id: %s has none", sortPath, entity.getId()));
             }
+            value = cursorValue(sortValue);
         }
+        return new KeysetCursor(backward, sortExpression, value, cursorValue(readPath(entity, idPath))).encode();
+    }
 
-        if (specs.isEmpty()) {
-            return null;
+    private static Object readPath(Object entity, String path) {
+        BeanWrapperImpl wrapper = new BeanWrapperImpl(entity);
+        if (wrapper.isReadableProperty(path)) {
+            return wrapper.getPropertyValue(path);
         }
+        return new DirectFieldAccessor(entity).getPropertyValue(path);
+    }
 
-        Specification<ENTITY> resultSpec = specs.get(0);
-        for (int i = 1; i < specs.size(); i++) {
-            resultSpec = filterGroup.getCondition() == PageFilterRequest.ConcatCondition.AND
-                    ? resultSpec.and(specs.get(i))
-                    : resultSpec.or(specs.get(i));
+    private static String cursorValue(Object value) {
+        return value instanceof Enum ? ((Enum<?>) value).name() : value.toString();
+    }
+
+    private static Comparable<?> convertCursorPart(Function<String, ? extends Comparable<?>> converter, String raw) {
+        try {
+            return converter.apply(raw);
+        } catch (RuntimeException e) {
+            throw new FilterValidationException(String.format("Malformed cursor value: '%s'", raw), e);
+        }
+    }
+
+    private static Comparable<?> parseId(String raw, Class<?> idType) {
+        if (idType == Long.class || idType == long.class) {
+            return Long.valueOf(raw);
+        }
+        if (idType == Integer.class || idType == int.class) {
+            return Integer.valueOf(raw);
         }
-        return resultSpec;
+        if (idType == String.class) {
+            return raw;
+        }
+        if (idType == UUID.class) {
+            return UUID.fromString(raw);
+        }
+        throw new IllegalStateException("Keyset pagination does not support id type: " + idType.getName());
+    }
+
+    private static Sort.Direction reverse(Sort.Direction direction) {
+        return direction.isAscending() ? Sort.Direction.DESC : Sort.Direction.ASC;
+    }
+
+    private FilterFields<ENTITY> fields() {
+        FilterFields<ENTITY> result = filterFields;
+        if (result == null) {
+            synchronized (this) {
+                result = filterFields;
+                if (result == null) {
+                    FilterFields.Builder<ENTITY> builder = converters == null
+                            ? FilterFields.builder()
+                            : FilterFields.builder(converters);
+                    result = filterFields(builder.defaultTiebreaker(defaultTiebreaker()));
+                    filterFields = result;
+                }
+            }
+        }
+        return result;
     }
 }
@@ -0,0 +1,226 @@
+package by.nhorushko.crudgeneric.flex.pageable;
+
+import by.nhorushko.crudgeneric.flex.model.FieldSelection;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.From;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import jakarta.persistence.metamodel.Attribute;
+import jakarta.persistence.metamodel.ManagedType;
+import jakarta.persistence.metamodel.SingularAttribute;
+import org.apache.commons.lang3.ClassUtils;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Maps the instance fields of a DTO class to entity paths and reads query tuples
+ * straight into DTOs. A field named like a declared filter field takes that
+ * field's path ({@code regionId} → {@code region.id}); any other field is read
+ * from the entity attribute of the same name. Intermediate associations are
+ * left-joined, so a missing association yields {@code null} rather than dropping
+ * the row.
+ * <p>
+ * DTOs are created through a constructor whose parameter types match the fields
+ * in declaration order (e.g. Lombok's {@code @AllArgsConstructor}), or else through
+ * the no-args constructor followed by field writes.
+ * </p>
+ * <p>
+ * A projection {@linkplain #select(FieldSelection) narrowed} to some fields selects only their
+ * columns and joins; the other fields of its DTOs are left {@code null}.
+ * </p>
+ * <p>
+ * A {@code null} column, e.g. of a nullable attribute or of a missing left-joined association, leaves a
+ * primitive field at its default value, as an unselected one.
+ * </p>
+ */
+final class DtoProjection<DTO> {
+
+    private static final int MAX_CACHED_SELECTIONS = 256;
+
+    private final Class<DTO> dtoClass;
+    private final String[] aliases;
+    private final String[] paths;
+    private final Field[] fields;
+    private final Constructor<DTO> allArgsConstructor;
+    private final Constructor<DTO> noArgsConstructor;
+    /**
+     * Indexes of the selected fields, in field order.
+     */
+    private final int[] columns;
+    private final Object[] defaults;
+    private final Map<FieldSelection, DtoProjection<DTO>> narrowed = new ConcurrentHashMap<>();
+
+    private DtoProjection(Class<DTO> dtoClass, String[] aliases, String[] paths, Field[] fields,
+                          Constructor<DTO> allArgsConstructor, Constructor<DTO> noArgsConstructor, int[] columns) {
+        this.dtoClass = dtoClass;
+        this.aliases = aliases;
+        this.paths = paths;
+        this.fields = fields;
+        this.allArgsConstructor = allArgsConstructor;
+        this.noArgsConstructor = noArgsConstructor;
+        this.columns = columns;
+        this.defaults = new Object[fields.length];
+        for (int i = 0; i < fields.length; i++) {
+            defaults[i] = defaultValue(fields[i].getType());
+        }
+    }
+
+    /**
+     * @throws IllegalStateException if a DTO field has no entity path of an assignable type,
+     *                               or the DTO has no usable constructor
+     */
+    static <DTO> DtoProjection<DTO> of(Class<DTO> dtoClass, ManagedType<?> entityType, FilterFields<?> filterFields) {
+        List<Field> fields = new ArrayList<>();
+        for (Class<?> type = dtoClass; type != null && type != Object.class; type = type.getSuperclass()) {
+            List<Field> declared = new ArrayList<>();
+            for (Field field : type.getDeclaredFields()) {
+                int modifiers = field.getModifiers();
+                if (!Modifier.isStatic(modifiers) && !Modifier.isTransient(modifiers) && !field.isSynthetic()) {
+                    declared.add(field);
+                }
+            }
+            // superclass fields come first, as in a Lombok all-args constructor of the hierarchy
+            fields.addAll(0, declared);
+        }
+        String[] aliases = new String[fields.size()];
+        String[] paths = new String[fields.size()];
+        for (int i = 0; i < aliases.length; i++) {
+            Field field = fields.get(i);
+            aliases[i] = field.getName();
+            paths[i] = filterFields.pathOf(field.getName());
+            Class<?> attributeType = attributeType(entityType, paths[i], dtoClass, field);
+            if (!ClassUtils.isAssignable(attributeType, field.getType(), true)) {
+                throw new IllegalStateException(String.format(
+                        "Projection of %s: field '%s' of type %s can't hold entity path '%s' of type %s",
+                        dtoClass.getSimpleName(), field.getName(), field.getType().getSimpleName(),
+                        paths[i], attributeType.getSimpleName()));
+            }
+            field.setAccessible(true);
+        }
+        Class<?>[] parameterTypes = fields.stream().map(Field::getType).toArray(Class<?>[]::new);
+        Constructor<DTO> allArgs = constructor(dtoClass, parameterTypes);
+        Constructor<DTO> noArgs = allArgs == null ? constructor(dtoClass) : null;
+        if (allArgs == null && noArgs == null) {
+            throw new IllegalStateException(String.format(
+                    "Projection of %s needs a no-args constructor or one taking %s in field order",
+                    dtoClass.getSimpleName(), Arrays.toString(parameterTypes)));
+        }
+        int[] columns = new int[aliases.length];
+        Arrays.setAll(columns, i -> i);
+        return new DtoProjection<>(dtoClass, aliases, paths, fields.toArray(new Field[0]), allArgs, noArgs, columns);
+    }
+
+    /**
+     * @return this projection narrowed to the selected fields, or itself for {@link FieldSelection#ALL};
+     * unknown names are ignored
+     */
+    DtoProjection<DTO> select(FieldSelection selection) {
+        if (selection.isAll()) {
+            return this;
+        }
+        DtoProjection<DTO> result = narrowed.get(selection);
+        if (result == null) {
+            int[] selected = Arrays.stream(columns).filter(i -> selection.includes(aliases[i])).toArray();
+            result = new DtoProjection<>(dtoClass, aliases, paths, fields, allArgsConstructor, noArgsConstructor, selected);
+            if (narrowed.size() < MAX_CACHED_SELECTIONS) {
+                narrowed.put(selection, result);
+            }
+        }
+        return result;
+    }
+
+    List<Selection<?>> selections(Root<?> root) {
+        Map<String, From<?, ?>> joins = new HashMap<>();
+        List<Selection<?>> selections = new ArrayList<>(columns.length);
+        for (int i : columns) {
+            String[] parts = paths[i].split("\\.");
+            From<?, ?> from = root;
+            StringBuilder prefix = new StringBuilder();
+            for (int p = 0; p < parts.length - 1; p++) {
+                prefix.append(parts[p]).append('.');
+                From<?, ?> parent = from;
+                String attribute = parts[p];
+                from = joins.computeIfAbsent(prefix.toString(), k -> parent.join(attribute, JoinType.LEFT));
+            }
+            selections.add(from.get(parts[parts.length - 1]).alias(aliases[i]));
+        }
+        return selections;
+    }
+
+    DTO read(Tuple tuple) {
+        Object[] values = columns.length == aliases.length ? new Object[aliases.length] : defaults.clone();
+        for (int c = 0; c < columns.length; c++) {
+            Object value = tuple.get(c);
+            values[columns[c]] = value != null ? value : defaults[columns[c]];
+        }
+        try {
+            if (allArgsConstructor != null) {
+                return allArgsConstructor.newInstance(values);
+            }
+            DTO dto = noArgsConstructor.newInstance();
+            for (int i : columns) {
+                fields[i].set(dto, values[i]);
+            }
+            return dto;
+        } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalStateException("Can't create projected " + dtoClass.getSimpleName(), e);
+        }
+    }
+
+    private static Class<?> attributeType(ManagedType<?> entityType, String path, Class<?> dtoClass, Field field) {
+        ManagedType<?> type = entityType;
+        String[] parts = path.split("\\.");
+        Class<?> javaType = null;
+        for (int i = 0; i < parts.length; i++) {
+            Attribute<?, ?> attribute;
+            try {
+                attribute = type.getAttribute(parts[i]);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalStateException(String.format(
+                        "Projection of %s: field '%s' has no entity path '%s'",
+                        dtoClass.getSimpleName(), field.getName(), path), e);
+            }
+            if (attribute.isCollection()) {
+                throw new IllegalStateException(String.format(
+                        "Projection of %s: field '%s' maps to collection path '%s'",
+                        dtoClass.getSimpleName(), field.getName(), path));
+            }
+            javaType = attribute.getJavaType();
+            if (i < parts.length - 1) {
+                if (!(attribute instanceof SingularAttribute<?, ?> singular)
+                        || !(singular.getType() instanceof ManagedType<?> managed)) {
+                    throw new IllegalStateException(String.format(
+                            "Projection of %s: '%s' in path '%s' is not an association or embeddable",
+                            dtoClass.getSimpleName(), parts[i], path));
+                }
+                type = managed;
+            }
+        }
+        return javaType;
+    }
+
+    private static Object defaultValue(Class<?> type) {
+        return type.isPrimitive() ? Array.get(Array.newInstance(type, 1), 0) : null;
+    }
+
+    private static <T> Constructor<T> constructor(Class<T> type, Class<?>... parameterTypes) {
+        try {
+            Constructor<T> constructor = type.getDeclaredConstructor(parameterTypes);
+            constructor.setAccessible(true);
+            return constructor;
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+}
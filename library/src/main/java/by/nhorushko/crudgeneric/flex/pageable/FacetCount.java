@@ -0,0 +1,39 @@
+package by.nhorushko.crudgeneric.flex.pageable;
+
+import lombok.Getter;
+
+import java.util.Objects;
+
+/**
+ * Number of rows matching a request that have one value of a faceted field;
+ * {@code value} is {@code null} for rows without a value.
+ */
+@Getter
+public class FacetCount {
+
+    private final Object value;
+    private final long count;
+
+    public FacetCount(Object value, long count) {
+        this.value = value;
+        this.count = count;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        FacetCount that = (FacetCount) o;
+        return count == that.count && Objects.equals(value, that.value);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(value, count);
+    }
+
+    @Override
+    public String toString() {
+        return value + "=" + count;
+    }
+}
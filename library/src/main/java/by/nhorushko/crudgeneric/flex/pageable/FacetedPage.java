@@ -0,0 +1,26 @@
+package by.nhorushko.crudgeneric.flex.pageable;
+
+import lombok.Getter;
+import org.springframework.data.domain.Page;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A page together with the facet counts of the same filters, as returned by
+ * {@link AbsFlexPagingAndSortingService#facetedPage(PageFilterRequest, String...)}.
+ */
+@Getter
+public class FacetedPage<T> {
+
+    private final Page<T> page;
+    /**
+     * per faceted field, in request order
+     */
+    private final Map<String, List<FacetCount>> facets;
+
+    public FacetedPage(Page<T> page, Map<String, List<FacetCount>> facets) {
+        this.page = page;
+        this.facets = facets;
+    }
+}
@@ -0,0 +1,220 @@
+package by.nhorushko.crudgeneric.flex.pageable;
+
+import jakarta.persistence.EntityGraph;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Subgraph;
+import jakarta.persistence.criteria.FetchParent;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.metamodel.Attribute;
+import jakarta.persistence.metamodel.ManagedType;
+import jakarta.persistence.metamodel.PluralAttribute;
+import jakarta.persistence.metamodel.SingularAttribute;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Associations to fetch together with a page of entities, split by kind.
+ * <p>
+ * To-one paths go into an entity graph applied to the page query itself: they
+ * add columns, not rows, so {@code LIMIT/OFFSET} stays in SQL. To-many paths
+ * would multiply rows and force Hibernate to paginate in memory, so they are
+ * fetched by a second query per path for the ids of the page instead.
+ * </p>
+ */
+final class FetchPlan {
+
+    static final FetchPlan NONE = new FetchPlan(List.of(), List.of());
+
+    private final List<String[]> singular;
+    private final List<String[]> collections;
+
+    private FetchPlan(List<String[]> singular, List<String[]> collections) {
+        this.singular = singular;
+        this.collections = collections;
+    }
+
+    /**
+     * @throws IllegalStateException if a path does not exist on the entity or ends on a basic attribute
+     */
+    static FetchPlan of(ManagedType<?> entityType, Collection<String> paths) {
+        if (paths == null || paths.isEmpty()) {
+            return NONE;
+        }
+        List<String[]> singular = new ArrayList<>();
+        List<String[]> collections = new ArrayList<>();
+        for (String path : paths) {
+            String[] parts = path.split("\\.");
+            ManagedType<?> type = entityType;
+            boolean plural = false;
+            for (String part : parts) {
+                Attribute<?, ?> attribute = attribute(type, part);
+                if (attribute == null) {
+                    throw new IllegalStateException(String.format(
+                            "Fetch path '%s': %s has no attribute '%s'", path, type.getJavaType().getSimpleName(), part));
+                }
+                ManagedType<?> target = target(attribute);
+                if (target == null && !attribute.isCollection()) {
+                    throw new IllegalStateException(String.format(
+                            "Fetch path '%s': '%s' is not an association", path, part));
+                }
+                plural |= attribute.isCollection();
+                type = target;
+                if (type == null) {
+                    // a collection of basic values ends the path
+                    break;
+                }
+            }
+            (plural ? collections : singular).add(parts);
+        }
+        return new FetchPlan(singular, collections);
+    }
+
+    /**
+     * Derives fetch paths from the instance fields of {@code dtoClass}, the way a mapper would read them:
+     * <ul>
+     *     <li>a field named like a declared filter field with a nested path ({@code regionId} →
+     *     {@code region.id}) fetches the associations along that path;</li>
+     *     <li>a field named like an association or collection of the entity ({@code lines}) fetches it;</li>
+     *     <li>a field whose camel-case prefix names a to-one association ({@code projectName} →
+     *     {@code project}) fetches that association.</li>
+     * </ul>
+     */
+    static Set<String> derive(Class<?> dtoClass, ManagedType<?> entityType, FilterFields<?> filterFields) {
+        Set<String> paths = new LinkedHashSet<>();
+        for (Class<?> type = dtoClass; type != null && type != Object.class; type = type.getSuperclass()) {
+            for (Field field : type.getDeclaredFields()) {
+                int modifiers = field.getModifiers();
+                if (Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers) || field.isSynthetic()) {
+                    continue;
+                }
+                String name = field.getName();
+                String declared = filterFields.pathOf(name);
+                if (declared.indexOf('.') > 0) {
+                    String prefix = associationPrefix(entityType, declared);
+                    if (prefix != null) {
+                        paths.add(prefix);
+                    }
+                    continue;
+                }
+                Attribute<?, ?> attribute = attribute(entityType, name);
+                if (attribute != null) {
+                    if (attribute.isAssociation() || attribute.isCollection()) {
+                        paths.add(name);
+                    }
+                    continue;
+                }
+                String prefix = camelCaseAssociation(entityType, name);
+                if (prefix != null) {
+                    paths.add(prefix);
+                }
+            }
+        }
+        return paths;
+    }
+
+    boolean isEmpty() {
+        return singular.isEmpty() && collections.isEmpty();
+    }
+
+    boolean hasCollections() {
+        return !collections.isEmpty();
+    }
+
+    /**
+     * @return a load graph of the to-one paths, or {@code null} if there are none
+     */
+    <T> EntityGraph<T> graph(EntityManager entityManager, Class<T> entityClass) {
+        if (singular.isEmpty()) {
+            return null;
+        }
+        EntityGraph<T> graph = entityManager.createEntityGraph(entityClass);
+        Map<String, Subgraph<?>> subgraphs = new HashMap<>();
+        for (String[] parts : singular) {
+            Subgraph<?> parent = null;
+            StringBuilder prefix = new StringBuilder();
+            for (int i = 0; i < parts.length; i++) {
+                prefix.append(parts[i]).append('.');
+                Subgraph<?> existing = subgraphs.get(prefix.toString());
+                if (existing == null) {
+                    existing = parent == null ? graph.addSubgraph(parts[i]) : parent.addSubgraph(parts[i]);
+                    subgraphs.put(prefix.toString(), existing);
+                }
+                parent = existing;
+            }
+        }
+        return graph;
+    }
+
+    /**
+     * @return one fetch chain per to-many path, to be applied to separate queries
+     */
+    List<String[]> collections() {
+        return collections;
+    }
+
+    static void fetch(Root<?> root, String[] parts) {
+        FetchParent<?, ?> parent = root;
+        for (String part : parts) {
+            parent = parent.fetch(part, JoinType.LEFT);
+        }
+    }
+
+    private static String associationPrefix(ManagedType<?> entityType, String path) {
+        String[] parts = path.split("\\.");
+        ManagedType<?> type = entityType;
+        StringBuilder prefix = new StringBuilder();
+        for (int i = 0; i < parts.length - 1; i++) {
+            Attribute<?, ?> attribute = attribute(type, parts[i]);
+            if (attribute == null || !attribute.isAssociation() || attribute.isCollection()) {
+                break;
+            }
+            if (prefix.length() > 0) {
+                prefix.append('.');
+            }
+            prefix.append(parts[i]);
+            type = target(attribute);
+        }
+        return prefix.length() == 0 ? null : prefix.toString();
+    }
+
+    private static String camelCaseAssociation(ManagedType<?> entityType, String name) {
+        for (int end = name.length() - 1; end > 0; end--) {
+            if (Character.isUpperCase(name.charAt(end))) {
+                Attribute<?, ?> attribute = attribute(entityType, name.substring(0, end));
+                if (attribute != null && attribute.isAssociation() && !attribute.isCollection()) {
+                    return attribute.getName();
+                }
+            }
+        }
+        return null;
+    }
+
+    private static ManagedType<?> target(Attribute<?, ?> attribute) {
+        if (attribute instanceof SingularAttribute<?, ?> singularAttribute
+                && singularAttribute.getType() instanceof ManagedType<?> managed) {
+            return managed;
+        }
+        if (attribute instanceof PluralAttribute<?, ?, ?> pluralAttribute
+                && pluralAttribute.getElementType() instanceof ManagedType<?> managed) {
+            return managed;
+        }
+        return null;
+    }
+
+    private static Attribute<?, ?> attribute(ManagedType<?> type, String name) {
+        try {
+            return type.getAttribute(name);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -6,18 +6,26 @@ import by.nhorushko.filterspecification.FilterCriteria;
 import by.nhorushko.filterspecification.FilterOperation;
 import by.nhorushko.filterspecification.FilterSpecificationUtils;
 import by.nhorushko.filterspecification.FilterSpecifications;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Function;
 
 /**
@@ -29,15 +37,50 @@ import java.util.function.Function;
  * <p>
  * Typed builder methods carry built-in converters. Only {@link Builder#field}
  * needs a {@link Converters} instance (use {@link #builder(Converters)}).
+ * <p>
+ * Once properties are declared with {@link Builder#sortable} or
+ * {@link Builder#indexed}, sorting is restricted to them; sort combinations not
+ * backed by a declared index are handled per {@link Builder#unindexedSort}.
+ * </p>
  */
 public final class FilterFields<ENTITY> {
 
+    private static final Log log = LogFactory.getLog(FilterFields.class);
+    private static final int SORT_CACHE_SIZE = 256;
+
     private final Map<String, Entry<ENTITY>> entries;
+    private final Map<String, String> sortables;
+    private final List<List<String>> indexes;
+    private final UnindexedSortPolicy unindexedSortPolicy;
+    private final String tiebreaker;
+    private final Map<String, Sort> sorts = new ConcurrentHashMap<>();
     @SuppressWarnings("rawtypes")
     private final FilterSpecifications specifications = new FilterSpecifications();
-
-    private FilterFields(Map<String, Entry<ENTITY>> entries) {
+    private final int templateCacheSize;
+    private final Map<String, FilterGroupTemplate<ENTITY>> templates;
+    private final LongAdder templateHits = new LongAdder();
+    private final LongAdder templateMisses = new LongAdder();
+    private final LongAdder templateEvictions = new LongAdder();
+
+    private FilterFields(Map<String, Entry<ENTITY>> entries, Map<String, String> sortables,
+                         List<List<String>> indexes, UnindexedSortPolicy unindexedSortPolicy,
+                         String tiebreaker, int templateCacheSize) {
         this.entries = Collections.unmodifiableMap(new LinkedHashMap<>(entries));
+        this.sortables = Collections.unmodifiableMap(new LinkedHashMap<>(sortables));
+        this.indexes = List.copyOf(indexes);
+        this.unindexedSortPolicy = unindexedSortPolicy;
+        this.tiebreaker = tiebreaker;
+        this.templateCacheSize = templateCacheSize;
+        this.templates = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, FilterGroupTemplate<ENTITY>> eldest) {
+                if (size() > FilterFields.this.templateCacheSize) {
+                    templateEvictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
     }
 
     public static <E> Builder<E> builder() {
@@ -57,10 +100,7 @@ public final class FilterFields<ENTITY> {
      *                                   unparseable operation, or a value that fails conversion
      */
     public Optional<Specification<ENTITY>> toSpecification(PageFilterRequest.Filter filter) {
-        Entry<ENTITY> entry = entries.get(filter.getName());
-        if (entry == null) {
-            throw new FilterValidationException(String.format("Unknown filter field: '%s'", filter.getName()));
-        }
+        Entry<ENTITY> entry = entry(filter.getName());
         String value = filter.getFilter();
         if (value == null || value.trim().isEmpty()) {
             return Optional.empty();
@@ -77,8 +117,93 @@ public final class FilterFields<ENTITY> {
         return Optional.of(buildSpecification(entry, value));
     }
 
+    /**
+     * Validates every filter of the group and its subgroups and combines their
+     * specifications with the group conditions. Groups of the same shape — field
+     * names, operations, nesting and conditions — share one compiled template, kept
+     * in a bounded LRU cache (see {@link Builder#templateCacheSize(int)}), so a repeated
+     * shape only converts and binds the new values.
+     *
+     * @return {@link Optional#empty()} when the group is {@code null}, empty or all its values are blank
+     * @throws FilterValidationException as {@link #toSpecification(PageFilterRequest.Filter)}
+     */
+    public Optional<Specification<ENTITY>> toSpecification(PageFilterRequest.FilterGroup group) {
+        if (group == null || group.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(template(group).bind(this, group));
+    }
+
+    /**
+     * @return counters of the filter group template cache
+     */
+    public FilterTemplateCacheStats templateCacheStats() {
+        int size;
+        synchronized (templates) {
+            size = templates.size();
+        }
+        return new FilterTemplateCacheStats(templateHits.sum(), templateMisses.sum(), templateEvictions.sum(), size);
+    }
+
+    private FilterGroupTemplate<ENTITY> template(PageFilterRequest.FilterGroup group) {
+        if (templateCacheSize == 0) {
+            return FilterGroupTemplate.compile(this, group);
+        }
+        StringBuilder shape = new StringBuilder(64);
+        FilterGroupTemplate.appendShape(group, shape);
+        String key = shape.toString();
+        FilterGroupTemplate<ENTITY> template;
+        synchronized (templates) {
+            template = templates.get(key);
+        }
+        if (template != null) {
+            templateHits.increment();
+            return template;
+        }
+        templateMisses.increment();
+        // compiled outside the lock; a concurrent miss on the same shape compiles an equal template
+        template = FilterGroupTemplate.compile(this, group);
+        synchronized (templates) {
+            templates.put(key, template);
+        }
+        return template;
+    }
+
+    /**
+     * @return the entity path of a declared field, or {@code name} itself for undeclared names
+     */
+    String pathOf(String name) {
+        Entry<ENTITY> entry = entries.get(name);
+        return entry != null ? entry.path : name;
+    }
+
+    /**
+     * @throws FilterValidationException on an unknown field
+     */
+    Entry<ENTITY> entry(String name) {
+        Entry<ENTITY> entry = entries.get(name);
+        if (entry == null) {
+            throw new FilterValidationException(String.format("Unknown filter field: '%s'", name));
+        }
+        return entry;
+    }
+
+    /**
+     * @throws FilterValidationException on an unknown field, or one whose values are not
+     *                                   enums, integers, longs or booleans
+     */
+    Entry<ENTITY> facetEntry(String name) {
+        Entry<ENTITY> entry = entry(name);
+        Class<?> type = entry.type;
+        if (type == null || !(type.isEnum() || type == Long.class || type == Integer.class || type == Boolean.class)) {
+            throw new FilterValidationException(String.format(
+                    "Filter field '%s' can't be faceted; expect an enum, integer, long or boolean field", name));
+        }
+        return entry;
+    }
+
     @SuppressWarnings({"unchecked", "rawtypes"})
-    private Specification<ENTITY> buildSpecification(Entry<ENTITY> entry, String filterValue) {
+    Specification<ENTITY> buildSpecification(Entry<ENTITY> entry, String filterValue) {
         FilterCriteria criteria;
         try {
             criteria = new FilterCriteria(entry.path, filterValue, entry.converter);
@@ -90,15 +215,105 @@ public final class FilterFields<ENTITY> {
     }
 
     /**
-     * Parses a sort expression — {@code asc#field}, {@code desc#field} or a
-     * bare {@code field} (ascending) — and maps the property through this
-     * registry ({@code userId} → {@code user.id}). Unknown properties pass
-     * through unchanged. The legacy {@code +field}/{@code -field} syntax is
-     * rejected: {@code +} is URL-decoded to a space and caused real bugs.
+     * Parses a comma-separated sort expression such as {@code desc#startTime,asc#title}.
+     * Each part is {@code asc#field}, {@code desc#field} or a bare {@code field} (ascending),
+     * and its property is mapped through this registry ({@code userId} → {@code user.id}).
+     * The {@link Builder#tiebreaker(String) tiebreaker}, if there is one, is appended in the
+     * direction of the last part unless the expression already sorts by it, so rows with equal
+     * sort values keep a stable order across pages. Parsed expressions are cached.
+     * <p>
+     * When {@link Builder#sortable} or {@link Builder#indexed} declared any property, only
+     * those properties and the tiebreaker are accepted; otherwise unknown properties pass
+     * through unchanged. The legacy {@code +field}/{@code -field} syntax is rejected:
+     * {@code +} is URL-decoded to a space and caused real bugs.
+     * </p>
      *
-     * @throws FilterValidationException on blank, legacy or malformed expressions
+     * @throws FilterValidationException on blank, legacy or malformed expressions, a property
+     *                                   that is not sortable or repeated, or a combination not
+     *                                   backed by a declared index under {@link UnindexedSortPolicy#REJECT}
      */
     public Sort sort(String sortExpression) {
+        if (sortExpression == null) {
+            throw new FilterValidationException("Sort expression is blank");
+        }
+        Sort sort = sorts.get(sortExpression);
+        if (sort == null) {
+            sort = parseSort(sortExpression);
+            // bounded: expressions are client input, and a full cache only costs re-parsing
+            if (sorts.size() < SORT_CACHE_SIZE) {
+                sorts.putIfAbsent(sortExpression, sort);
+            }
+        }
+        return sort;
+    }
+
+    private Sort parseSort(String sortExpression) {
+        if (sortExpression.trim().isEmpty()) {
+            throw new FilterValidationException("Sort expression is blank");
+        }
+        List<Sort.Order> orders = new ArrayList<>();
+        List<String> properties = new ArrayList<>();
+        Set<String> paths = new HashSet<>();
+        for (String part : sortExpression.split(",", -1)) {
+            SortKey<ENTITY> key = sortKey(part);
+            if (!paths.add(key.path)) {
+                throw new FilterValidationException(String.format(
+                        "Sort expression '%s' repeats property '%s'", sortExpression, key.property));
+            }
+            orders.add(new Sort.Order(key.direction, key.path));
+            properties.add(key.property);
+        }
+        checkIndexed(sortExpression, orders, properties);
+        if (tiebreaker != null && !paths.contains(tiebreaker)) {
+            orders.add(new Sort.Order(orders.get(orders.size() - 1).getDirection(), tiebreaker));
+        }
+        return Sort.by(orders);
+    }
+
+    /**
+     * A combination is backed when its properties, the tiebreaker aside, are a prefix of a
+     * declared index and share one direction (an index is scanned forward or backward).
+     */
+    private void checkIndexed(String sortExpression, List<Sort.Order> orders, List<String> properties) {
+        if (indexes.isEmpty() || unindexedSortPolicy == UnindexedSortPolicy.ALLOW) {
+            return;
+        }
+        int size = orders.size();
+        while (size > 0 && orders.get(size - 1).getProperty().equals(tiebreaker)) {
+            size--;
+        }
+        if (size == 0 || isIndexed(orders, properties, size)) {
+            return;
+        }
+        String message = String.format("Sort '%s' is not backed by a declared index; indexes: %s",
+                sortExpression, indexes);
+        if (unindexedSortPolicy == UnindexedSortPolicy.REJECT) {
+            throw new FilterValidationException(message);
+        }
+        log.warn(message);
+    }
+
+    private boolean isIndexed(List<Sort.Order> orders, List<String> properties, int size) {
+        Sort.Direction direction = orders.get(0).getDirection();
+        for (int i = 1; i < size; i++) {
+            if (orders.get(i).getDirection() != direction) {
+                return false;
+            }
+        }
+        List<String> prefix = properties.subList(0, size);
+        for (List<String> index : indexes) {
+            if (index.size() >= size && index.subList(0, size).equals(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Parses a single sort expression as each part of {@link #sort(String)}, keeping the
+     * registry entry of the property ({@code null} for properties that are not filter fields).
+     */
+    SortKey<ENTITY> sortKey(String sortExpression) {
         if (sortExpression == null || sortExpression.trim().isEmpty()) {
             throw new FilterValidationException("Sort expression is blank");
         }
@@ -121,21 +336,68 @@ public final class FilterFields<ENTITY> {
             throw new FilterValidationException(String.format("Malformed sort expression: '%s'", expression));
         }
         Entry<ENTITY> entry = entries.get(property);
-        return Sort.by(direction, entry != null ? entry.path : property);
+        String path;
+        if (sortables.isEmpty()) {
+            path = entry != null ? entry.path : property;
+        } else if (sortables.containsKey(property)) {
+            path = sortables.get(property);
+        } else if (property.equals(tiebreaker)) {
+            path = tiebreaker;
+        } else {
+            throw new FilterValidationException(String.format(
+                    "Sort property '%s' is not sortable; expect one of: %s", property, sortables.keySet()));
+        }
+        return new SortKey<>(direction, property, entry, path);
+    }
+
+    /**
+     * What {@link #sort(String)} does with a sort combination that no declared index backs.
+     * Only applies once {@link Builder#indexed} declared at least one index.
+     */
+    public enum UnindexedSortPolicy {
+        /**
+         * Accept silently.
+         */
+        ALLOW,
+        /**
+         * Accept and log a warning, once per cached expression.
+         */
+        WARN,
+        /**
+         * Reject with a {@link FilterValidationException}.
+         */
+        REJECT
+    }
+
+    static final class SortKey<ENTITY> {
+        final Sort.Direction direction;
+        final String property;
+        final Entry<ENTITY> entry;
+        final String path;
+
+        SortKey(Sort.Direction direction, String property, Entry<ENTITY> entry, String path) {
+            this.direction = direction;
+            this.property = property;
+            this.entry = entry;
+            this.path = path;
+        }
     }
 
     static final class Entry<ENTITY> {
         final String name;
         final String path;
+        /** value type; {@code null} for custom fields */
+        final Class<?> type;
         final Set<FilterOperation> operations;
         final Function<String, ? extends Comparable<?>> converter;
         final Function<PageFilterRequest.Filter, Specification<ENTITY>> customFactory;
 
-        Entry(String name, String path, Set<FilterOperation> operations,
+        Entry(String name, String path, Class<?> type, Set<FilterOperation> operations,
               Function<String, ? extends Comparable<?>> converter,
               Function<PageFilterRequest.Filter, Specification<ENTITY>> customFactory) {
             this.name = name;
             this.path = path;
+            this.type = type;
             this.operations = operations;
             this.converter = converter;
             this.customFactory = customFactory;
@@ -144,8 +406,16 @@ public final class FilterFields<ENTITY> {
 
     public static final class Builder<ENTITY> {
 
+        public static final int DEFAULT_TEMPLATE_CACHE_SIZE = 256;
+        public static final String DEFAULT_TIEBREAKER = "id";
+
         private final Converters converters;
         private final Map<String, Entry<ENTITY>> entries = new LinkedHashMap<>();
+        private final Set<String> sortables = new LinkedHashSet<>();
+        private final List<List<String>> indexes = new ArrayList<>();
+        private UnindexedSortPolicy unindexedSortPolicy = UnindexedSortPolicy.WARN;
+        private String tiebreaker = DEFAULT_TIEBREAKER;
+        private int templateCacheSize = DEFAULT_TEMPLATE_CACHE_SIZE;
 
         private Builder(Converters converters) {
             this.converters = converters;
@@ -156,7 +426,7 @@ public final class FilterFields<ENTITY> {
         }
 
         public Builder<ENTITY> string(String name, String path, FilterOperation... operations) {
-            return typed(name, path, s -> s, operations);
+            return typed(name, path, String.class, s -> s, operations);
         }
 
         public Builder<ENTITY> ofLong(String name, FilterOperation... operations) {
@@ -164,7 +434,7 @@ public final class FilterFields<ENTITY> {
         }
 
         public Builder<ENTITY> ofLong(String name, String path, FilterOperation... operations) {
-            return typed(name, path, Long::valueOf, operations);
+            return typed(name, path, Long.class, Long::valueOf, operations);
         }
 
         public Builder<ENTITY> ofInteger(String name, FilterOperation... operations) {
@@ -172,7 +442,7 @@ public final class FilterFields<ENTITY> {
         }
 
         public Builder<ENTITY> ofInteger(String name, String path, FilterOperation... operations) {
-            return typed(name, path, Integer::valueOf, operations);
+            return typed(name, path, Integer.class, Integer::valueOf, operations);
         }
 
         public Builder<ENTITY> ofDouble(String name, FilterOperation... operations) {
@@ -180,7 +450,7 @@ public final class FilterFields<ENTITY> {
         }
 
         public Builder<ENTITY> ofDouble(String name, String path, FilterOperation... operations) {
-            return typed(name, path, Double::valueOf, operations);
+            return typed(name, path, Double.class, Double::valueOf, operations);
         }
 
         public Builder<ENTITY> ofFloat(String name, FilterOperation... operations) {
@@ -188,7 +458,7 @@ public final class FilterFields<ENTITY> {
         }
 
         public Builder<ENTITY> ofFloat(String name, String path, FilterOperation... operations) {
-            return typed(name, path, Float::valueOf, operations);
+            return typed(name, path, Float.class, Float::valueOf, operations);
         }
 
         public Builder<ENTITY> ofBoolean(String name, FilterOperation... operations) {
@@ -196,7 +466,7 @@ public final class FilterFields<ENTITY> {
         }
 
         public Builder<ENTITY> ofBoolean(String name, String path, FilterOperation... operations) {
-            return typed(name, path, Boolean::valueOf, operations);
+            return typed(name, path, Boolean.class, Boolean::valueOf, operations);
         }
 
         public Builder<ENTITY> instant(String name, FilterOperation... operations) {
@@ -204,7 +474,7 @@ public final class FilterFields<ENTITY> {
         }
 
         public Builder<ENTITY> instant(String name, String path, FilterOperation... operations) {
-            return typed(name, path, Instant::parse, operations);
+            return typed(name, path, Instant.class, Instant::parse, operations);
         }
 
         public Builder<ENTITY> ofLocalDate(String name, FilterOperation... operations) {
@@ -212,7 +482,7 @@ public final class FilterFields<ENTITY> {
         }
 
         public Builder<ENTITY> ofLocalDate(String name, String path, FilterOperation... operations) {
-            return typed(name, path, LocalDate::parse, operations);
+            return typed(name, path, LocalDate.class, LocalDate::parse, operations);
         }
 
         public Builder<ENTITY> ofLocalDateTime(String name, FilterOperation... operations) {
@@ -220,7 +490,7 @@ public final class FilterFields<ENTITY> {
         }
 
         public Builder<ENTITY> ofLocalDateTime(String name, String path, FilterOperation... operations) {
-            return typed(name, path, LocalDateTime::parse, operations);
+            return typed(name, path, LocalDateTime.class, LocalDateTime::parse, operations);
         }
 
         public <E extends Enum<E>> Builder<ENTITY> ofEnum(String name, Class<E> enumClass,
@@ -231,7 +501,7 @@ public final class FilterFields<ENTITY> {
         public <E extends Enum<E>> Builder<ENTITY> ofEnum(String name, String path, Class<E> enumClass,
                                                           FilterOperation... operations) {
             Objects.requireNonNull(enumClass, "enumClass");
-            return typed(name, path, value -> Enum.valueOf(enumClass, value), operations);
+            return typed(name, path, enumClass, value -> Enum.valueOf(enumClass, value), operations);
         }
 
         /**
@@ -250,7 +520,7 @@ public final class FilterFields<ENTITY> {
                 throw new IllegalStateException(String.format(
                         "Field '%s': no converter registered for type %s", name, type.getName()));
             }
-            return typed(name, path, converter, operations);
+            return typed(name, path, type, converter, operations);
         }
 
         /**
@@ -260,18 +530,18 @@ public final class FilterFields<ENTITY> {
         public Builder<ENTITY> custom(String name,
                                       Function<PageFilterRequest.Filter, Specification<ENTITY>> factory) {
             Objects.requireNonNull(factory, "factory");
-            put(new Entry<>(name, name, Set.of(), null, factory));
+            put(new Entry<>(name, name, null, Set.of(), null, factory));
             return this;
         }
 
-        private Builder<ENTITY> typed(String name, String path,
+        private Builder<ENTITY> typed(String name, String path, Class<?> type,
                                       Function<String, ? extends Comparable<?>> converter,
                                       FilterOperation... operations) {
             if (operations.length == 0) {
                 throw new IllegalStateException(String.format(
                         "Field '%s' must declare at least one operation", name));
             }
-            put(new Entry<>(name, path, Set.of(operations), converter, null));
+            put(new Entry<>(name, path, type, Set.of(operations), converter, null));
             return this;
         }
 
@@ -283,8 +553,85 @@ public final class FilterFields<ENTITY> {
             }
         }
 
+        /**
+         * Maximum number of filter group shapes whose compiled templates are kept;
+         * {@code 0} compiles every group anew. Defaults to {@value #DEFAULT_TEMPLATE_CACHE_SIZE}.
+         */
+        public Builder<ENTITY> templateCacheSize(int templateCacheSize) {
+            if (templateCacheSize < 0) {
+                throw new IllegalArgumentException("templateCacheSize should not be negative, but was: " + templateCacheSize);
+            }
+            this.templateCacheSize = templateCacheSize;
+            return this;
+        }
+
+        /**
+         * Declares properties clients may sort by: a declared filter field sorts by its path,
+         * any other name by the entity attribute of that name. Once any property is declared
+         * sortable, {@link FilterFields#sort(String)} rejects all others except the tiebreaker.
+         */
+        public Builder<ENTITY> sortable(String... names) {
+            for (String name : names) {
+                Objects.requireNonNull(name, "name");
+                sortables.add(name);
+            }
+            return this;
+        }
+
+        /**
+         * Declares a database index over the given sortable properties, in index column order;
+         * a single name marks one indexed column. The properties become {@link #sortable}.
+         * A sort whose properties are a prefix of a declared index is backed by it.
+         */
+        public Builder<ENTITY> indexed(String... names) {
+            if (names.length == 0) {
+                throw new IllegalStateException("Index must declare at least one property");
+            }
+            sortable(names);
+            indexes.add(List.of(names));
+            return this;
+        }
+
+        /**
+         * How to treat sort combinations not backed by an {@link #indexed} declaration.
+         * Defaults to {@link UnindexedSortPolicy#WARN}.
+         */
+        public Builder<ENTITY> unindexedSort(UnindexedSortPolicy policy) {
+            this.unindexedSortPolicy = Objects.requireNonNull(policy, "policy");
+            return this;
+        }
+
+        /**
+         * Entity path of a unique property appended to every sort so equal sort values keep a
+         * stable order. Defaults to {@value #DEFAULT_TIEBREAKER}; the builder an
+         * {@link AbsFlexPagingAndSortingService} passes to {@code filterFields} defaults to the
+         * entity's id attribute instead, or to none for a composite id.
+         */
+        public Builder<ENTITY> tiebreaker(String path) {
+            this.tiebreaker = Objects.requireNonNull(path, "path");
+            return this;
+        }
+
+        /**
+         * Replaces the default tiebreaker before {@code filterFields} can set its own;
+         * {@code null} appends none.
+         */
+        Builder<ENTITY> defaultTiebreaker(String path) {
+            this.tiebreaker = path;
+            return this;
+        }
+
         public FilterFields<ENTITY> build() {
-            return new FilterFields<>(entries);
+            Map<String, String> sortablePaths = new LinkedHashMap<>();
+            for (String name : sortables) {
+                Entry<ENTITY> entry = entries.get(name);
+                if (entry != null && entry.customFactory != null) {
+                    throw new IllegalStateException(String.format(
+                            "Custom filter field '%s' has no path and can't be sortable", name));
+                }
+                sortablePaths.put(name, entry != null ? entry.path : name);
+            }
+            return new FilterFields<>(entries, sortablePaths, indexes, unindexedSortPolicy, tiebreaker, templateCacheSize);
         }
     }
 }
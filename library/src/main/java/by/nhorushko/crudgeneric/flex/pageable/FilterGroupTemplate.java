@@ -0,0 +1,193 @@
+package by.nhorushko.crudgeneric.flex.pageable;
+
+import by.nhorushko.crudgeneric.flex.exception.FilterValidationException;
+import by.nhorushko.filterspecification.FilterOperation;
+import by.nhorushko.filterspecification.FilterSpecificationUtils;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * A filter group compiled for one shape — field names, operations, nesting and
+ * conditions, but no values. Compiling resolves and validates every field once;
+ * {@link #bind} then only converts the values of a group of the same shape and
+ * combines them into a single flat {@code AND}/{@code OR} specification per group.
+ */
+final class FilterGroupTemplate<ENTITY> {
+
+    private final boolean and;
+    /** per filter of the group; {@code null} for blank filters, which are skipped */
+    private final FilterFields.Entry<ENTITY>[] leaves;
+    private final FilterGroupTemplate<ENTITY>[] subGroups;
+
+    private FilterGroupTemplate(boolean and, FilterFields.Entry<ENTITY>[] leaves, FilterGroupTemplate<ENTITY>[] subGroups) {
+        this.and = and;
+        this.leaves = leaves;
+        this.subGroups = subGroups;
+    }
+
+    /**
+     * Appends the shape of {@code group} to {@code key}: groups with equal keys compile to
+     * the same template. The operation is taken as the raw prefix before {@code #}.
+     */
+    static void appendShape(PageFilterRequest.FilterGroup group, StringBuilder key) {
+        key.append(group.getCondition()).append('(');
+        if (group.getFilters() != null) {
+            for (PageFilterRequest.Filter filter : group.getFilters()) {
+                String name = filter.getName();
+                key.append(name.length()).append(':').append(name);
+                String value = filter.getFilter();
+                if (isBlank(value)) {
+                    key.append('!');
+                } else {
+                    int separator = value.indexOf('#');
+                    String operation = separator < 0 ? value : value.substring(0, separator);
+                    key.append('=').append(operation.length()).append(':').append(operation);
+                }
+                key.append(';');
+            }
+        }
+        if (group.getSubGroups() != null) {
+            for (PageFilterRequest.FilterGroup subGroup : group.getSubGroups()) {
+                appendShape(subGroup, key);
+            }
+        }
+        key.append(')');
+    }
+
+    /**
+     * Describes the shape of {@code group} for metrics and logs, e.g. {@code and(regionId eq, title like)}:
+     * field names and operations without values, blank filters left out, and the parts of each group
+     * sorted, so equivalent groups describe alike.
+     *
+     * @return {@code none} when the group is {@code null} or no filter applies
+     */
+    static String describe(PageFilterRequest.FilterGroup group) {
+        String shape = group == null ? null : describeGroup(group);
+        return shape == null ? "none" : shape;
+    }
+
+    private static String describeGroup(PageFilterRequest.FilterGroup group) {
+        List<String> parts = new ArrayList<>();
+        if (group.getFilters() != null) {
+            for (PageFilterRequest.Filter filter : group.getFilters()) {
+                String value = filter.getFilter();
+                if (!isBlank(value)) {
+                    int separator = value.indexOf('#');
+                    parts.add(filter.getName() + ' ' + (separator < 0 ? value : value.substring(0, separator)));
+                }
+            }
+        }
+        if (group.getSubGroups() != null) {
+            for (PageFilterRequest.FilterGroup subGroup : group.getSubGroups()) {
+                String part = describeGroup(subGroup);
+                if (part != null) {
+                    parts.add(part);
+                }
+            }
+        }
+        if (parts.isEmpty()) {
+            return null;
+        }
+        Collections.sort(parts);
+        return group.getCondition().name().toLowerCase(Locale.ROOT) + '(' + String.join(", ", parts) + ')';
+    }
+
+    /**
+     * @throws FilterValidationException on unknown fields or disallowed or unparseable operations
+     */
+    @SuppressWarnings("unchecked")
+    static <ENTITY> FilterGroupTemplate<ENTITY> compile(FilterFields<ENTITY> fields, PageFilterRequest.FilterGroup group) {
+        List<PageFilterRequest.Filter> filters = group.getFilters() == null ? List.of() : group.getFilters();
+        FilterFields.Entry<ENTITY>[] leaves = new FilterFields.Entry[filters.size()];
+        for (int i = 0; i < leaves.length; i++) {
+            leaves[i] = compileLeaf(fields, filters.get(i));
+        }
+        List<PageFilterRequest.FilterGroup> groups = group.getSubGroups() == null ? List.of() : group.getSubGroups();
+        FilterGroupTemplate<ENTITY>[] subGroups = new FilterGroupTemplate[groups.size()];
+        for (int i = 0; i < subGroups.length; i++) {
+            subGroups[i] = compile(fields, groups.get(i));
+        }
+        return new FilterGroupTemplate<>(group.getCondition() == PageFilterRequest.ConcatCondition.AND, leaves, subGroups);
+    }
+
+    private static <ENTITY> FilterFields.Entry<ENTITY> compileLeaf(FilterFields<ENTITY> fields, PageFilterRequest.Filter filter) {
+        FilterFields.Entry<ENTITY> entry = fields.entry(filter.getName());
+        String value = filter.getFilter();
+        if (isBlank(value)) {
+            return null;
+        }
+        if (entry.customFactory == null) {
+            FilterOperation operation = FilterSpecificationUtils.getOperation(value);
+            if (operation == null || !entry.operations.contains(operation)) {
+                throw new FilterValidationException(String.format(
+                        "Filter: '%s', expect operations: '%s', but was '%s'",
+                        filter.getName(), entry.operations, operation));
+            }
+        }
+        return entry;
+    }
+
+    /**
+     * Builds the specification of {@code group}, which must have the shape this template was compiled from.
+     *
+     * @return {@code null} when no filter applies
+     * @throws FilterValidationException on a value that fails conversion
+     */
+    Specification<ENTITY> bind(FilterFields<ENTITY> fields, PageFilterRequest.FilterGroup group) {
+        List<Specification<ENTITY>> specs = new ArrayList<>(leaves.length + subGroups.length);
+        if (leaves.length > 0) {
+            List<PageFilterRequest.Filter> filters = group.getFilters();
+            for (int i = 0; i < leaves.length; i++) {
+                FilterFields.Entry<ENTITY> entry = leaves[i];
+                if (entry != null) {
+                    PageFilterRequest.Filter filter = filters.get(i);
+                    specs.add(entry.customFactory != null
+                            ? entry.customFactory.apply(filter)
+                            : fields.buildSpecification(entry, filter.getFilter()));
+                }
+            }
+        }
+        if (subGroups.length > 0) {
+            List<PageFilterRequest.FilterGroup> groups = group.getSubGroups();
+            for (int i = 0; i < subGroups.length; i++) {
+                Specification<ENTITY> subSpec = subGroups[i].bind(fields, groups.get(i));
+                if (subSpec != null) {
+                    specs.add(subSpec);
+                }
+            }
+        }
+        if (specs.isEmpty()) {
+            return null;
+        }
+        if (specs.size() == 1) {
+            return specs.get(0);
+        }
+        return combine(specs, and);
+    }
+
+    private static <ENTITY> Specification<ENTITY> combine(List<Specification<ENTITY>> specs, boolean and) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>(specs.size());
+            for (Specification<ENTITY> spec : specs) {
+                Predicate predicate = spec.toPredicate(root, query, cb);
+                if (predicate != null) {
+                    predicates.add(predicate);
+                }
+            }
+            if (predicates.isEmpty()) {
+                return null;
+            }
+            Predicate[] array = predicates.toArray(new Predicate[0]);
+            return and ? cb.and(array) : cb.or(array);
+        };
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.trim().isEmpty();
+    }
+}
@@ -0,0 +1,32 @@
+package by.nhorushko.crudgeneric.flex.pageable;
+
+import lombok.Getter;
+
+/**
+ * Point-in-time counters of the filter group template cache of a {@link FilterFields}.
+ */
+@Getter
+public class FilterTemplateCacheStats {
+
+    private final long hits;
+    private final long misses;
+    private final long evictions;
+    private final int size;
+
+    public FilterTemplateCacheStats(long hits, long misses, long evictions, int size) {
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+        this.size = size;
+    }
+
+    public double hitRate() {
+        long requests = hits + misses;
+        return requests == 0 ? 0 : (double) hits / requests;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("FilterTemplateCacheStats{hits=%d, misses=%d, evictions=%d, size=%d}", hits, misses, evictions, size);
+    }
+}
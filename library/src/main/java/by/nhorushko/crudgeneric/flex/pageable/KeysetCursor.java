@@ -0,0 +1,66 @@
+package by.nhorushko.crudgeneric.flex.pageable;
+
+import by.nhorushko.crudgeneric.flex.exception.FilterValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position of a keyset page boundary: the sort value and id of the boundary row,
+ * the sort expression it was produced for and the direction to move in.
+ * Encoded as dot-separated URL-safe Base64 parts, which clients treat as opaque.
+ */
+final class KeysetCursor {
+
+    private static final String VERSION = "k1";
+
+    final boolean backward;
+    final String sort;
+    final String value;
+    final String id;
+
+    KeysetCursor(boolean backward, String sort, String value, String id) {
+        this.backward = backward;
+        this.sort = sort;
+        this.value = value;
+        this.id = id;
+    }
+
+    String encode() {
+        return String.join(".", part(VERSION), part(backward ? "b" : "f"), part(sort),
+                part(value == null ? "" : value), part(id));
+    }
+
+    /**
+     * @throws FilterValidationException if the cursor is malformed or was issued for another sort
+     */
+    static KeysetCursor decode(String cursor, String expectedSort) {
+        String[] parts = cursor.split("\\.", -1);
+        KeysetCursor result;
+        try {
+            if (parts.length != 5 || !VERSION.equals(unpart(parts[0]))) {
+                throw new FilterValidationException(String.format("Malformed cursor: '%s'", cursor));
+            }
+            String direction = unpart(parts[1]);
+            if (!"b".equals(direction) && !"f".equals(direction)) {
+                throw new FilterValidationException(String.format("Malformed cursor: '%s'", cursor));
+            }
+            result = new KeysetCursor("b".equals(direction), unpart(parts[2]), unpart(parts[3]), unpart(parts[4]));
+        } catch (IllegalArgumentException e) {
+            throw new FilterValidationException(String.format("Malformed cursor: '%s'", cursor), e);
+        }
+        if (!result.sort.equals(expectedSort)) {
+            throw new FilterValidationException(String.format(
+                    "Cursor was issued for sort '%s', but request sort is '%s'", result.sort, expectedSort));
+        }
+        return result;
+    }
+
+    private static String part(String value) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String unpart(String value) {
+        return new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,39 @@
+package by.nhorushko.crudgeneric.flex.pageable;
+
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * One page of a keyset (seek) paginated read.
+ * <p>
+ * Instead of page numbers it carries opaque cursors: pass {@code nextCursor} or
+ * {@code previousCursor} back, together with the same sort and filters, to fetch the
+ * adjacent page. A cursor is {@code null} when there is no page in that direction.
+ * </p>
+ *
+ * @param <DTO> the element type
+ */
+@Getter
+public class KeysetPage<DTO> {
+
+    private final List<DTO> content;
+    private final int size;
+    private final String nextCursor;
+    private final String previousCursor;
+
+    public KeysetPage(List<DTO> content, int size, String nextCursor, String previousCursor) {
+        this.content = content;
+        this.size = size;
+        this.nextCursor = nextCursor;
+        this.previousCursor = previousCursor;
+    }
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+
+    public boolean hasPrevious() {
+        return previousCursor != null;
+    }
+}
@@ -0,0 +1,43 @@
+package by.nhorushko.crudgeneric.flex.pageable;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes page phase timings as one Micrometer {@link Timer} per service, phase and filter
+ * shape, tagged {@code service}, {@code phase} and {@code shape}. Needs {@code micrometer-core}
+ * on the application's classpath.
+ * <p>
+ * Shapes carry no values, but every distinct combination of filter fields and operations
+ * is its own time series; endpoints with many optional filters produce many of them.
+ * </p>
+ */
+public class MicrometerPageInstrumentation implements PageInstrumentation {
+
+    public static final String DEFAULT_METRIC_NAME = "crud.page";
+
+    private final MeterRegistry registry;
+    private final String metricName;
+
+    public MicrometerPageInstrumentation(MeterRegistry registry) {
+        this(registry, DEFAULT_METRIC_NAME);
+    }
+
+    public MicrometerPageInstrumentation(MeterRegistry registry, String metricName) {
+        this.registry = Objects.requireNonNull(registry, "registry");
+        this.metricName = Objects.requireNonNull(metricName, "metricName");
+    }
+
+    @Override
+    public void record(String service, PagePhase phase, String shape, long nanos) {
+        Timer.builder(metricName)
+                .tag("service", service)
+                .tag("phase", phase.tag())
+                .tag("shape", shape)
+                .register(registry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+}
@@ -1,5 +1,6 @@
 package by.nhorushko.crudgeneric.flex.pageable;
 
+import by.nhorushko.crudgeneric.flex.model.FieldSelection;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.util.CollectionUtils;
 
@@ -19,6 +20,10 @@ public class PageFilterRequest {
      */
     private String sort;
     private FilterGroup filterGroup;
+    /**
+     * DTO fields to read, e.g. from {@code fields=id,name}; {@link FieldSelection#ALL} by default
+     */
+    private FieldSelection fields = FieldSelection.ALL;
 
     public int getPage() {
         return page;
@@ -36,6 +41,19 @@ public class PageFilterRequest {
         return filterGroup;
     }
 
+    public FieldSelection getFields() {
+        return fields;
+    }
+
+    /**
+     * @return a copy of this request reading only the selected DTO fields
+     */
+    public PageFilterRequest withFields(FieldSelection fields) {
+        PageFilterRequest copy = new PageFilterRequest(page, pageSize, sort, filterGroup);
+        copy.fields = fields == null ? FieldSelection.ALL : fields;
+        return copy;
+    }
+
     public PageFilterRequest(int page, int pageSize, String sort, FilterGroup filterGroup) {
         this.page = page;
         this.pageSize = pageSize;
@@ -83,12 +101,13 @@ public class PageFilterRequest {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         PageFilterRequest that = (PageFilterRequest) o;
-        return page == that.page && pageSize == that.pageSize && sort.equals(that.sort) && filterGroup.equals(that.filterGroup);
+        return page == that.page && pageSize == that.pageSize && sort.equals(that.sort) && filterGroup.equals(that.filterGroup)
+                && fields.equals(that.fields);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(page, pageSize, sort, filterGroup);
+        return Objects.hash(page, pageSize, sort, filterGroup, fields);
     }
 
     @Override
@@ -98,6 +117,7 @@ public class PageFilterRequest {
                 ", pageSize=" + pageSize +
                 ", sort='" + sort + '\'' +
                 ", filters=" + filterGroup +
+                ", fields=" + fields +
                 '}';
     }
 
@@ -0,0 +1,25 @@
+package by.nhorushko.crudgeneric.flex.pageable;
+
+/**
+ * Receives the phase timings of {@link AbsFlexPagingAndSortingService#page(PageFilterRequest)}.
+ * The default, {@link #NOOP}, records nothing; {@link MicrometerPageInstrumentation} publishes
+ * the timings as Micrometer timers.
+ * <p>
+ * Called on the request thread, once per phase that ran: keep implementations cheap.
+ * </p>
+ */
+public interface PageInstrumentation {
+
+    PageInstrumentation NOOP = new PageInstrumentation() {
+    };
+
+    /**
+     * @param service simple class name of the service
+     * @param phase   the phase that ran
+     * @param shape   normalized filter shape — field names and operations, no values —
+     *                such as {@code and(regionId eq, title like)}, or {@code none}
+     * @param nanos   duration of the phase
+     */
+    default void record(String service, PagePhase phase, String shape, long nanos) {
+    }
+}
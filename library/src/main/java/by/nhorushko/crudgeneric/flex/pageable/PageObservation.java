@@ -0,0 +1,127 @@
+package by.nhorushko.crudgeneric.flex.pageable;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.LongSupplier;
+
+/**
+ * Phase timings of one {@link AbsFlexPagingAndSortingService#page(PageFilterRequest)} call: each
+ * phase is handed to the {@link PageInstrumentation}, and a call slower than the threshold is
+ * logged with its filter shape, sort, phase timings and captured SQL. {@link #NONE} times nothing.
+ */
+class PageObservation {
+
+    private static final Log log = LogFactory.getLog(AbsFlexPagingAndSortingService.class);
+
+    static final PageObservation NONE = new PageObservation();
+
+    private final PageInstrumentation instrumentation;
+    private final Duration slowThreshold;
+    private final String service;
+    private final String shape;
+    private final long startedAt;
+    private final long[] phaseNanos = new long[PagePhase.values().length];
+    private final List<String> previousCapture;
+    private final boolean capturing;
+
+    private PageObservation() {
+        this.instrumentation = PageInstrumentation.NOOP;
+        this.slowThreshold = null;
+        this.service = null;
+        this.shape = null;
+        this.startedAt = 0;
+        this.previousCapture = null;
+        this.capturing = false;
+    }
+
+    private PageObservation(PageInstrumentation instrumentation, Duration slowThreshold, String service, String shape) {
+        this.instrumentation = instrumentation;
+        this.slowThreshold = slowThreshold;
+        this.service = service;
+        this.shape = shape;
+        this.capturing = slowThreshold != null;
+        this.previousCapture = capturing ? SqlCapture.start() : null;
+        this.startedAt = System.nanoTime();
+    }
+
+    /**
+     * @return {@link #NONE} when there is neither an instrumentation nor a slow query threshold
+     */
+    static PageObservation start(PageInstrumentation instrumentation, Duration slowThreshold,
+                                 String service, PageFilterRequest.FilterGroup group) {
+        if ((instrumentation == null || instrumentation == PageInstrumentation.NOOP) && slowThreshold == null) {
+            return NONE;
+        }
+        return new PageObservation(instrumentation == null ? PageInstrumentation.NOOP : instrumentation,
+                slowThreshold, service, FilterGroupTemplate.describe(group));
+    }
+
+    boolean isActive() {
+        return this != NONE;
+    }
+
+    /**
+     * @return a start mark for {@link #record(PagePhase, long)}
+     */
+    long mark() {
+        return this == NONE ? 0 : System.nanoTime();
+    }
+
+    void record(PagePhase phase, long mark) {
+        if (this == NONE) {
+            return;
+        }
+        recordNanos(phase, System.nanoTime() - mark);
+    }
+
+    /**
+     * Records a phase measured elsewhere, e.g. on another thread; call it from the observing thread.
+     */
+    void recordNanos(PagePhase phase, long nanos) {
+        if (this == NONE) {
+            return;
+        }
+        phaseNanos[phase.ordinal()] += nanos;
+        instrumentation.record(service, phase, shape, nanos);
+    }
+
+    long time(PagePhase phase, LongSupplier action) {
+        long mark = mark();
+        long result = action.getAsLong();
+        record(phase, mark);
+        return result;
+    }
+
+    /**
+     * Ends the observation; logs it when it took at least the slow query threshold.
+     */
+    void finish(String sort) {
+        if (!capturing) {
+            return;
+        }
+        List<String> statements = SqlCapture.stop(previousCapture);
+        long elapsed = System.nanoTime() - startedAt;
+        if (elapsed < slowThreshold.toNanos() || !log.isWarnEnabled()) {
+            return;
+        }
+        StringBuilder message = new StringBuilder(256)
+                .append("Slow page read in ").append(service).append(": ").append(elapsed / 1_000_000).append(" ms")
+                .append(", shape: ").append(shape)
+                .append(", sort: ").append(sort);
+        for (PagePhase phase : PagePhase.values()) {
+            message.append(", ").append(phase.tag()).append(": ")
+                    .append(phaseNanos[phase.ordinal()] / 1_000_000).append(" ms");
+        }
+        if (statements.isEmpty()) {
+            message.append("\n  (no SQL captured; register ")
+                    .append(SqlCaptureStatementInspector.class.getSimpleName()).append(')');
+        }
+        for (String statement : statements) {
+            message.append("\n  ").append(statement);
+        }
+        log.warn(message);
+    }
+}
@@ -0,0 +1,32 @@
+package by.nhorushko.crudgeneric.flex.pageable;
+
+import java.util.Locale;
+
+/**
+ * Timed phases of {@link AbsFlexPagingAndSortingService#page(PageFilterRequest)}.
+ */
+public enum PagePhase {
+    /**
+     * Validating the filters and sort and building the specification.
+     */
+    SPECIFICATION,
+    /**
+     * Running the page query, including the association fetches of the page.
+     */
+    QUERY,
+    /**
+     * Counting the matching rows, or reading the count from the {@link TotalCountCache}.
+     */
+    COUNT,
+    /**
+     * Mapping the rows to DTOs.
+     */
+    MAPPING;
+
+    /**
+     * @return the lower-case phase name, used as a metric tag
+     */
+    public String tag() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,20 @@
+package by.nhorushko.crudgeneric.flex.pageable;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * The validated filters and sort of an export, built by
+ * {@link AbsFlexPagingAndSortingService#prepareStream(PageFilterRequest)} before any
+ * output is written and read by {@link AbsFlexPagingAndSortingService#stream(PreparedStream, java.util.function.Consumer)}.
+ */
+public final class PreparedStream<ENTITY> {
+
+    final Specification<ENTITY> specification;
+    final Sort sort;
+
+    PreparedStream(Specification<ENTITY> specification, Sort sort) {
+        this.specification = specification;
+        this.sort = sort;
+    }
+}
@@ -0,0 +1,58 @@
+package by.nhorushko.crudgeneric.flex.pageable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Collects the SQL statements run on the current thread while a page is read, for the
+ * slow query log of {@link AbsFlexPagingAndSortingService}. Statements reach it through
+ * {@link SqlCaptureStatementInspector}, or through {@link #record(String)} from any other
+ * statement hook of the JPA provider.
+ */
+public final class SqlCapture {
+
+    private static final ThreadLocal<List<String>> STATEMENTS = new ThreadLocal<>();
+
+    private SqlCapture() {
+    }
+
+    /**
+     * Adds {@code sql} to the capture of the current thread, if one is active.
+     *
+     * @return {@code sql} unchanged
+     */
+    public static String record(String sql) {
+        List<String> statements = STATEMENTS.get();
+        if (statements != null) {
+            statements.add(sql);
+        }
+        return sql;
+    }
+
+    /**
+     * Starts a capture on the current thread.
+     *
+     * @return the capture that was active before, to pass to {@link #stop(List)}
+     */
+    static List<String> start() {
+        List<String> previous = STATEMENTS.get();
+        STATEMENTS.set(new ArrayList<>());
+        return previous;
+    }
+
+    /**
+     * Ends the capture of the current thread and restores {@code previous}.
+     *
+     * @return the statements captured since {@link #start()}
+     */
+    static List<String> stop(List<String> previous) {
+        List<String> statements = STATEMENTS.get();
+        if (previous == null) {
+            STATEMENTS.remove();
+        } else {
+            previous.addAll(statements);
+            STATEMENTS.set(previous);
+        }
+        return statements;
+    }
+}
@@ -0,0 +1,16 @@
+package by.nhorushko.crudgeneric.flex.pageable;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Hands every SQL statement Hibernate prepares to {@link SqlCapture}, so slow page reads are
+ * logged together with their SQL. Register it with
+ * {@code spring.jpa.properties.hibernate.session_factory.statement_inspector=by.nhorushko.crudgeneric.flex.pageable.SqlCaptureStatementInspector}.
+ */
+public class SqlCaptureStatementInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        return SqlCapture.record(sql);
+    }
+}
@@ -0,0 +1,137 @@
+package by.nhorushko.crudgeneric.flex.pageable;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Short-lived cache of {@code COUNT} results for {@link AbsFlexPagingAndSortingService#page(PageFilterRequest)},
+ * keyed by the entity and the normalized filter group: filter and subgroup order, blank filters and paging are
+ * ignored, so {@code title AND status} and {@code status AND title} share one entry on every page. One cache may
+ * be shared by the services of several entities, which then share its size bound.
+ * <p>
+ * Totals may be stale by up to the time to live; use it where an approximate total is acceptable
+ * (pagers, "about N results") and call {@link #clear()} after bulk writes if they must show up sooner.
+ * Bounded by size, least recently used entries go first.
+ * </p>
+ *
+ * <p>Example: keep totals for 30 seconds, for at most 500 filter combinations:</p>
+ * <pre>
+ * public MeetingPageableService(MeetingRepository repository, AbsModelMapper mapper) {
+ *     super(repository, mapper, MeetingDto.class);
+ *     setTotalCountCache(new TotalCountCache(500, Duration.ofSeconds(30)));
+ * }
+ * </pre>
+ */
+public class TotalCountCache {
+
+    private final int maxSize;
+    private final long ttlNanos;
+    private final LongSupplier nanoClock;
+    private final Map<String, long[]> entries;
+
+    public TotalCountCache(int maxSize, Duration ttl) {
+        this(maxSize, ttl, System::nanoTime);
+    }
+
+    TotalCountCache(int maxSize, Duration ttl, LongSupplier nanoClock) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize should be positive, but was: " + maxSize);
+        }
+        if (ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("ttl should be positive, but was: " + ttl);
+        }
+        this.maxSize = maxSize;
+        this.ttlNanos = ttl.toNanos();
+        this.nanoClock = nanoClock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, long[]> eldest) {
+                return size() > TotalCountCache.this.maxSize;
+            }
+        };
+    }
+
+    /**
+     * @return the cached total, or {@code null} if absent or expired
+     */
+    public Long get(String key) {
+        synchronized (entries) {
+            long[] entry = entries.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (nanoClock.getAsLong() - entry[1] >= ttlNanos) {
+                entries.remove(key);
+                return null;
+            }
+            return entry[0];
+        }
+    }
+
+    public void put(String key, long total) {
+        synchronized (entries) {
+            entries.put(key, new long[]{total, nanoClock.getAsLong()});
+        }
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * Builds the key of the filters in {@code group} for the entities of {@code entityClass}, so services of
+     * different entities sharing a cache never read each other's totals.
+     */
+    public static String key(Class<?> entityClass, PageFilterRequest.FilterGroup group) {
+        return entityClass.getName() + '|' + key(group);
+    }
+
+    /**
+     * Builds an order-insensitive key of the filters in {@code group}; {@code ""} when nothing filters.
+     */
+    public static String key(PageFilterRequest.FilterGroup group) {
+        if (group == null || group.isEmpty()) {
+            return "";
+        }
+        List<String> parts = new ArrayList<>();
+        if (group.getFilters() != null) {
+            for (PageFilterRequest.Filter filter : group.getFilters()) {
+                String value = filter.getFilter();
+                if (value != null && !value.trim().isEmpty()) {
+                    parts.add(quote(filter.getName()) + '=' + quote(value));
+                }
+            }
+        }
+        if (group.getSubGroups() != null) {
+            for (PageFilterRequest.FilterGroup subGroup : group.getSubGroups()) {
+                String subKey = key(subGroup);
+                if (!subKey.isEmpty()) {
+                    parts.add(subKey);
+                }
+            }
+        }
+        if (parts.isEmpty()) {
+            return "";
+        }
+        // both AND and OR are commutative, so the operand order does not change the count
+        Collections.sort(parts);
+        return group.getCondition() + "(" + String.join(",", parts) + ")";
+    }
+
+    private static String quote(String value) {
+        return value.length() + ":" + value;
+    }
+}
@@ -0,0 +1,71 @@
+package by.nhorushko.crudgeneric.flex.pageable;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * A page whose total is unknown because the parallel count of
+ * {@link AbsFlexPagingAndSortingService#page(PageFilterRequest)} did not finish within its
+ * {@code countTimeout}. {@link #getTotalElements()} and {@link #getTotalPages()} return {@code -1};
+ * {@link #hasNext()} is still exact, as the page query reads one row ahead.
+ */
+public class UnknownTotalPage<T> extends PageImpl<T> {
+
+    private final boolean hasNext;
+
+    public UnknownTotalPage(List<T> content, Pageable pageable, boolean hasNext) {
+        super(content, pageable, pageable.getOffset() + content.size() + (hasNext ? 1 : 0));
+        this.hasNext = hasNext;
+    }
+
+    /**
+     * @return {@code false}; serialized so clients can tell an unknown total from an empty result
+     */
+    public boolean isTotalKnown() {
+        return false;
+    }
+
+    @Override
+    public long getTotalElements() {
+        return -1;
+    }
+
+    @Override
+    public int getTotalPages() {
+        return -1;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return hasNext;
+    }
+
+    @Override
+    public boolean isLast() {
+        return !hasNext;
+    }
+
+    @Override
+    public <U> Page<U> map(Function<? super T, ? extends U> converter) {
+        return new UnknownTotalPage<>(getConvertedContent(converter), getPageable(), hasNext);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return obj instanceof UnknownTotalPage && hasNext == ((UnknownTotalPage<?>) obj).hasNext && super.equals(obj);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * super.hashCode() + Boolean.hashCode(hasNext);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Page %s of unknown total containing %s", getNumber() + 1, getContent());
+    }
+}
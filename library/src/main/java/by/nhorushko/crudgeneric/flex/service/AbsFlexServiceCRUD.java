@@ -5,14 +5,14 @@ import by.nhorushko.crudgeneric.flex.model.AbsCreateDto;
 import by.nhorushko.crudgeneric.flex.model.AbsUpdateDto;
 import by.nhorushko.crudgeneric.flex.model.AbstractDto;
 import by.nhorushko.crudgeneric.flex.model.AbstractEntity;
-import jakarta.persistence.EntityManager;
-import jakarta.persistence.PersistenceContext;
 import lombok.Getter;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Set;
 
 /**
  * Abstract service class providing create, read, update, and delete (CRUD) operations for entities.
@@ -49,9 +49,6 @@ public abstract class AbsFlexServiceCRUD<
     @Getter
     protected final Class<CREATE_DTO> createDtoClass;
 
-    @PersistenceContext
-    protected EntityManager entityManager;
-
     /**
      * Insert-if-absent / merge-if-present. Restores Hibernate 6.5 merge-of-absent-row semantics
      * (broken on 6.6). The sentinel id 0 is normalised to {@code null} here — the single chokepoint
@@ -65,7 +62,10 @@ public abstract class AbsFlexServiceCRUD<
             entityManager.persist(entity);
             return entity;
         }
-        return repository.save(entity);
+        ENTITY merged = repository.save(entity);
+        // only the merge path can overwrite a cached DTO: absent ids are never cached
+        evictReadDtos(List.of(id));
+        return merged;
     }
 
     public AbsFlexServiceCRUD(AbsModelMapper mapper, REPOSITORY repository, Class<ENTITY> entityClass, Class<READ_DTO> readDtoClass, Class<UPDATE_DTO> updateDtoClass, Class<CREATE_DTO> createDtoClass) {
@@ -123,20 +123,96 @@ public abstract class AbsFlexServiceCRUD<
      * persisted. After saving, the entities are mapped back to their corresponding READ_DTOs. Hooks are
      * provided to execute logic before and after saving the entire collection.
      * </p>
+     * <p>
+     * Like {@link #save(AbsCreateDto)}, this is insert-if-absent / merge-if-present, but existence of assigned
+     * ids is checked in chunks of {@link #saveAllChunkSize()} rather than per entity.
+     * </p>
      *
      * @param dtos the collection of create DTOs for the new entities
      * @return a list of the persisted entities represented as READ_DTOs
      */
     public List<READ_DTO> saveAll(Collection<CREATE_DTO> dtos) {
         beforeSaveAllHook(dtos);
-        List<ENTITY> entities = mapAllEntities(dtos).stream()
-                .map(this::persistOrMerge)
-                .collect(Collectors.toList());
-        List<READ_DTO> actual = mapAllReadDto(entities);
+        List<READ_DTO> actual = persistOrMergeAll(mapAllEntities(dtos));
         afterSaveAllHook(actual);
         return actual;
     }
 
+    /**
+     * Number of entities {@link #saveAll(Collection)} handles per step: one {@code id IN (...)} existence query
+     * covers at most this many ids, and with {@link #saveAllFlushAndClear()} the persistence context is flushed
+     * and cleared after each step.
+     * <p>
+     * Override to tune it; keep it below the database's bind-parameter limit for an {@code IN} list.
+     * </p>
+     *
+     * @return the chunk size, 500 by default
+     */
+    protected int saveAllChunkSize() {
+        return 500;
+    }
+
+    /**
+     * Whether {@link #saveAll(Collection)} flushes and clears the persistence context after each chunk,
+     * bounding its memory on large imports.
+     * <p>
+     * Disabled by default. When enabled, each chunk is mapped to READ_DTOs before it is cleared, so the
+     * returned DTOs are complete; but every entity managed by the current transaction is detached, including
+     * ones loaded before {@code saveAll} was called.
+     * </p>
+     *
+     * @return {@code true} to flush and clear after each chunk
+     */
+    protected boolean saveAllFlushAndClear() {
+        return false;
+    }
+
+    /**
+     * Batch counterpart of {@link #persistOrMerge(AbstractEntity)}.
+     * <p>
+     * Entities without an id are persisted directly. For the rest, existence is resolved with one
+     * {@code id IN (...)} query per chunk instead of one {@code existsById} call per entity; absent ids are
+     * persisted and present ids merged. An id repeated within the batch is persisted once and merged after.
+     * </p>
+     */
+    private List<READ_DTO> persistOrMergeAll(List<ENTITY> entities) {
+        int chunkSize = Math.max(1, saveAllChunkSize());
+        boolean flushAndClear = saveAllFlushAndClear();
+        List<ENTITY> managed = new ArrayList<>(entities.size());
+        List<READ_DTO> actual = new ArrayList<>(entities.size());
+        for (int from = 0; from < entities.size(); from += chunkSize) {
+            List<ENTITY> chunk = entities.subList(from, Math.min(from + chunkSize, entities.size()));
+            Set<ENTITY_ID> ids = new LinkedHashSet<>();
+            for (ENTITY entity : chunk) {
+                entity.nullifyZeroId();
+                if (entity.getId() != null) {
+                    ids.add(entity.getId());
+                }
+            }
+            Set<ENTITY_ID> existing = findExistingIds(ids);
+            evictReadDtos(existing);
+            for (ENTITY entity : chunk) {
+                ENTITY_ID id = entity.getId();
+                if (id == null || existing.add(id)) {
+                    entityManager.persist(entity);
+                    managed.add(entity);
+                } else {
+                    managed.add(repository.save(entity));
+                }
+            }
+            if (flushAndClear) {
+                entityManager.flush();
+                actual.addAll(mapAllReadDto(managed));
+                managed.clear();
+                entityManager.clear();
+            }
+        }
+        if (!managed.isEmpty()) {
+            actual.addAll(mapAllReadDto(managed));
+        }
+        return actual;
+    }
+
     /**
      * Hook method called before a collection of new entities is saved.
      * <p>
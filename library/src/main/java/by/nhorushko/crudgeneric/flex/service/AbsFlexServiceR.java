@@ -1,16 +1,40 @@
 package by.nhorushko.crudgeneric.flex.service;
 
+import by.nhorushko.crudgeneric.flex.cache.ReadDtoCache;
 import by.nhorushko.crudgeneric.flex.exception.AppNotFoundException;
 import by.nhorushko.crudgeneric.flex.AbsModelMapper;
 import by.nhorushko.crudgeneric.flex.model.AbstractDto;
 import by.nhorushko.crudgeneric.flex.model.AbstractEntity;
+import by.nhorushko.crudgeneric.flex.model.FieldSelection;
+import by.nhorushko.crudgeneric.flex.model.Versioned;
+import by.nhorushko.crudgeneric.flex.util.PartialDtoFactory;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.metamodel.SingularAttribute;
 import lombok.Getter;
+import lombok.Setter;
+import org.springframework.beans.PropertyAccessorFactory;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.support.JpaEntityInformation;
+import org.springframework.data.jpa.repository.support.JpaEntityInformationSupport;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static java.lang.String.format;
 
@@ -54,6 +78,35 @@ public abstract class AbsFlexServiceR<
     @Getter
     protected final Class<READ_DTO> readDtoClass;
 
+    /**
+     * Optional read-through cache of READ_DTOs, {@code null} (disabled) by default.
+     * <p>
+     * When set, {@link #getByIdOptional(Object)}, {@link #getById(Object)} and {@link #getById(Collection)} serve
+     * DTOs from it and populate it on a miss; the write operations of the subclasses evict the ids they touch
+     * once the surrounding transaction completes.
+     * </p>
+     * <p>
+     * The cache holds its own {@linkplain #copyReadDto(AbstractDto) copies}, and every hit is handed out as a
+     * new copy, so a caller mutating a DTO does not change what later readers get. READ_DTOs that can't be copied
+     * are read uncached. A read that overlaps an eviction does not put its DTO, which may predate the write.
+     * </p>
+     */
+    @Getter
+    @Setter
+    protected ReadDtoCache readDtoCache;
+
+    @PersistenceContext
+    protected EntityManager entityManager;
+
+    private volatile JpaEntityInformation<ENTITY, ?> entityInformation;
+
+    private volatile Optional<String> resolvedVersionAttribute;
+
+    /**
+     * Number of {@link #evictReadDtos} calls so far; a read puts its DTOs only if none happened while it ran.
+     */
+    private final AtomicLong readDtoEvictions = new AtomicLong();
+
     public AbsFlexServiceR(AbsModelMapper mapper,
                            REPOSITORY repository,
                            Class<ENTITY> entityClass,
@@ -76,8 +129,17 @@ public abstract class AbsFlexServiceR<
      * @return an {@link Optional} containing the mapped DTO if the entity is found, or an empty {@link Optional} if not found
      */
     public Optional<READ_DTO> getByIdOptional(ID id) {
-        return repository.findById(id)
+        if (readDtoCache != null) {
+            READ_DTO cached = cachedReadDto(id);
+            if (cached != null) {
+                return Optional.of(cached);
+            }
+        }
+        long evictions = readDtoEvictions.get();
+        Optional<READ_DTO> dto = repository.findById(id)
                 .map(this::mapReadDto);
+        dto.ifPresent(d -> cacheReadDto(id, d, evictions));
+        return dto;
     }
 
     /**
@@ -86,13 +148,177 @@ public abstract class AbsFlexServiceR<
      * This method fetches a list of entities based on the provided collection of IDs. Each retrieved entity is
      * then mapped to its corresponding DTO type. This is useful for bulk retrieval operations.
      * </p>
+     * <p>
+     * Duplicate ids are ignored and the DTOs are returned in the order the ids were first given; ids that do not
+     * exist are skipped. The ids are queried in chunks of at most {@link #getByIdChunkSize()}, each padded to a
+     * power-of-two length by repeating its last id, so large requests stay below database {@code IN} list limits
+     * and reuse a small set of cached statements.
+     * </p>
      *
      * @param ids the collection of IDs of the entities to retrieve
      * @return a list of DTOs representing the retrieved entities
      */
     public List<READ_DTO> getById(Collection<ID> ids) {
-        List<ENTITY> entities = repository.findAllById(ids);
-        return mapAllReadDto(entities);
+        return getById(ids, false);
+    }
+
+    /**
+     * Retrieves multiple entities by their IDs, as {@link #getById(Collection)} does, optionally requiring every
+     * id to exist.
+     *
+     * @param ids        the collection of IDs of the entities to retrieve
+     * @param requireAll whether a missing id is an error
+     * @return a list of DTOs representing the retrieved entities, in the order of {@code ids}
+     * @throws AppNotFoundException if {@code requireAll} is set and any id does not exist; all missing ids are
+     *                              reported
+     */
+    public List<READ_DTO> getById(Collection<ID> ids, boolean requireAll) {
+        return getById(ids, requireAll, FieldSelection.ALL);
+    }
+
+    /**
+     * Retrieves multiple entities by their IDs, as {@link #getById(Collection, boolean)} does, reading the
+     * selected fields of each as {@link #getById(Object, FieldSelection)} does.
+     *
+     * @param ids        the collection of IDs of the entities to retrieve
+     * @param requireAll whether a missing id is an error
+     * @param selection  the DTO fields to fill
+     * @return a list of DTOs, partial only if {@link #partialCopyEnabled()} copied them, in the order of
+     * {@code ids}
+     * @throws AppNotFoundException if {@code requireAll} is set and any id does not exist
+     */
+    public List<READ_DTO> getById(Collection<ID> ids, boolean requireAll, FieldSelection selection) {
+        FieldSelection read = copiedSelection(selection);
+        List<ID> distinct = new ArrayList<>(new LinkedHashSet<>(ids));
+        Map<ID, READ_DTO> dtos = new HashMap<>();
+        List<ID> toLoad = distinct;
+        if (readDtoCache != null) {
+            toLoad = new ArrayList<>();
+            for (ID id : distinct) {
+                READ_DTO cached = read.isAll() ? cachedReadDto(id) : readDtoCache.get(readDtoClass, id);
+                if (cached != null) {
+                    dtos.put(id, read.isAll() ? cached : PartialDtoFactory.of(readDtoClass).retain(cached, read));
+                } else {
+                    toLoad.add(id);
+                }
+            }
+        }
+        long evictions = readDtoEvictions.get();
+        Map<ID, ENTITY> found = findAllById(toLoad);
+        List<ID> loadedIds = new ArrayList<>(found.size());
+        List<ENTITY> entities = new ArrayList<>(found.size());
+        for (ID id : toLoad) {
+            ENTITY entity = found.get(id);
+            if (entity != null) {
+                loadedIds.add(id);
+                entities.add(entity);
+            }
+        }
+        if (read.isAll()) {
+            List<READ_DTO> loaded = mapAllReadDto(entities);
+            for (int i = 0; i < loaded.size(); i++) {
+                dtos.put(loadedIds.get(i), loaded.get(i));
+                cacheReadDto(loadedIds.get(i), loaded.get(i), evictions);
+            }
+        } else {
+            for (int i = 0; i < entities.size(); i++) {
+                dtos.put(loadedIds.get(i), mapReadDto(entities.get(i), read));
+            }
+        }
+        if (requireAll && dtos.size() != distinct.size()) {
+            throw notFound(distinct, dtos.keySet());
+        }
+        List<READ_DTO> result = new ArrayList<>(dtos.size());
+        for (ID id : distinct) {
+            READ_DTO dto = dtos.get(id);
+            if (dto != null) {
+                result.add(dto);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Retrieves multiple entities by their IDs, as {@link #getById(Collection, boolean, FieldSelection)} does,
+     * each DTO together with the version it was mapped from.
+     * <p>
+     * The entities are always loaded, since a cached DTO carries no version: the {@link #readDtoCache} is
+     * populated but not read.
+     * </p>
+     *
+     * @param ids        the collection of IDs of the entities to retrieve
+     * @param requireAll whether a missing id is an error
+     * @param selection  the DTO fields to fill
+     * @return the DTOs and versions, in the order of {@code ids}; versions are {@code null} if the entity is not
+     * {@linkplain #isVersioned() versioned}
+     * @throws AppNotFoundException if {@code requireAll} is set and any id does not exist
+     */
+    public List<Versioned<READ_DTO>> getVersionedById(Collection<ID> ids, boolean requireAll, FieldSelection selection) {
+        FieldSelection read = copiedSelection(selection);
+        List<ID> distinct = new ArrayList<>(new LinkedHashSet<>(ids));
+        long evictions = readDtoEvictions.get();
+        Map<ID, ENTITY> found = findAllById(distinct);
+        if (requireAll && found.size() != distinct.size()) {
+            throw notFound(distinct, found.keySet());
+        }
+        List<ENTITY> entities = new ArrayList<>(found.size());
+        distinct.stream().map(found::get).filter(Objects::nonNull).forEach(entities::add);
+        List<READ_DTO> dtos = new ArrayList<>(entities.size());
+        if (read.isAll()) {
+            dtos.addAll(mapAllReadDto(entities));
+        } else {
+            entities.forEach(entity -> dtos.add(mapReadDto(entity, read)));
+        }
+        boolean versioned = isVersioned();
+        List<Versioned<READ_DTO>> result = new ArrayList<>(entities.size());
+        for (int i = 0; i < entities.size(); i++) {
+            ENTITY entity = entities.get(i);
+            if (read.isAll()) {
+                cacheReadDto(entity.getId(), dtos.get(i), evictions);
+            }
+            result.add(new Versioned<>(dtos.get(i), versioned ? versionOf(entity) : null));
+        }
+        return result;
+    }
+
+    private Map<ID, ENTITY> findAllById(List<ID> ids) {
+        Map<ID, ENTITY> found = new HashMap<>();
+        int chunkSize = Integer.highestOneBit(Math.max(1, getByIdChunkSize()));
+        for (int from = 0; from < ids.size(); from += chunkSize) {
+            List<ID> chunk = ids.subList(from, Math.min(from + chunkSize, ids.size()));
+            repository.findAllById(padToPowerOfTwo(chunk)).forEach(entity -> found.put(entity.getId(), entity));
+        }
+        return found;
+    }
+
+    private static <ID> AppNotFoundException notFound(List<ID> ids, Set<ID> found) {
+        List<ID> missing = ids.stream().filter(id -> !found.contains(id)).toList();
+        return new AppNotFoundException(format("Entities id: %s were not found", missing));
+    }
+
+    /**
+     * Maximum number of ids {@link #getById(Collection)} puts in one {@code IN} list. Rounded down to a power
+     * of two; keep it below the database's bind-parameter limit.
+     *
+     * @return the chunk size, 512 by default
+     */
+    protected int getByIdChunkSize() {
+        return 512;
+    }
+
+    private static <T> List<T> padToPowerOfTwo(List<T> chunk) {
+        int size = chunk.size();
+        int padded = Integer.highestOneBit(size) == size ? size : Integer.highestOneBit(size) << 1;
+        if (padded == size) {
+            return chunk;
+        }
+        List<T> result = new ArrayList<>(padded);
+        result.addAll(chunk);
+        T last = chunk.get(size - 1);
+        while (result.size() < padded) {
+            result.add(last);
+        }
+        return result;
     }
 
     /**
@@ -112,6 +338,66 @@ public abstract class AbsFlexServiceR<
                 .orElseThrow(() -> new AppNotFoundException(format("Entity id: %s was not found", id)));
     }
 
+    /**
+     * Retrieves an entity by its ID, reading only the selected fields where that saves work, e.g. for a request
+     * with {@code fields=id,name}.
+     * <p>
+     * With {@link #partialCopyEnabled()}, and when every selected field can be copied straight from the entity,
+     * only those fields are set and the others stay {@code null}: neither the mapper nor an association that was
+     * not selected is touched, and a {@link #readDtoCache} serves hits trimmed but never caches partial DTOs.
+     * Otherwise, and by default, this is {@link #getById(Object)}: the full DTO is returned, since trimming a DTO
+     * that was mapped in full saves nothing and would hand callers DTOs with fields silently missing. Trim the
+     * written response instead.
+     * </p>
+     *
+     * @param id        the ID of the entity to retrieve
+     * @param selection the DTO fields to fill; {@link FieldSelection#ALL} is the same as {@link #getById(Object)}
+     * @return the DTO representation of the entity, partial only if it was copied
+     * @throws AppNotFoundException if the entity with the specified ID is not found
+     */
+    public READ_DTO getById(ID id, FieldSelection selection) {
+        FieldSelection read = copiedSelection(selection);
+        if (read.isAll()) {
+            return getById(id);
+        }
+        if (readDtoCache != null) {
+            READ_DTO cached = readDtoCache.get(readDtoClass, id);
+            if (cached != null) {
+                return PartialDtoFactory.of(readDtoClass).retain(cached, read);
+            }
+        }
+        return repository.findById(id)
+                .map(entity -> mapReadDto(entity, read))
+                .orElseThrow(() -> new AppNotFoundException(format("Entity id: %s was not found", id)));
+    }
+
+    /**
+     * Retrieves an entity by its ID, as {@link #getById(Object, FieldSelection)} does, together with the version
+     * the DTO was mapped from, e.g. for the {@code ETag} of a response: both come from one load in one
+     * transaction, so they always agree.
+     * <p>
+     * The entity is always loaded, since a cached DTO carries no version: the {@link #readDtoCache} is populated
+     * but not read.
+     * </p>
+     *
+     * @param id        the ID of the entity to retrieve
+     * @param selection the DTO fields to fill
+     * @return the DTO and the version of the loaded entity; the version is {@code null} if the entity is not
+     * {@linkplain #isVersioned() versioned}
+     * @throws AppNotFoundException if the entity with the specified ID is not found
+     */
+    public Versioned<READ_DTO> getVersionedById(ID id, FieldSelection selection) {
+        FieldSelection read = copiedSelection(selection);
+        long evictions = readDtoEvictions.get();
+        ENTITY entity = repository.findById(id)
+                .orElseThrow(() -> new AppNotFoundException(format("Entity id: %s was not found", id)));
+        READ_DTO dto = mapReadDto(entity, read);
+        if (read.isAll()) {
+            cacheReadDto(id, dto, evictions);
+        }
+        return new Versioned<>(dto, isVersioned() ? versionOf(entity) : null);
+    }
+
     /**
      * Checks if an entity with the specified ID exists.
      * <p>
@@ -126,6 +412,191 @@ public abstract class AbsFlexServiceR<
         return repository.existsById(id);
     }
 
+    /**
+     * Tells whether entities carry a version that {@link #getVersion(Object)} can read, i.e. whether
+     * {@link #versionAttribute()} names one.
+     *
+     * @return {@code true} if the entity has a version attribute and a single id attribute
+     */
+    public boolean isVersioned() {
+        return resolveVersionAttribute().isPresent();
+    }
+
+    /**
+     * Reads only the version of an entity, e.g. to answer a conditional GET without loading the entity. A
+     * response body needs {@link #getVersionedById(Object, FieldSelection)} instead, whose version is read with it.
+     *
+     * @param id the ID of the entity
+     * @return the value of the {@link #versionAttribute()}, or an empty {@link Optional} if the entity does not
+     * exist or its version is {@code null}
+     * @throws IllegalStateException if the entity is not {@linkplain #isVersioned() versioned}
+     */
+    public Optional<Object> getVersion(ID id) {
+        return Optional.ofNullable(getVersions(List.of(id)).get(id));
+    }
+
+    /**
+     * Reads only the versions of several entities, with one {@code SELECT id, version ... WHERE id IN (...)}
+     * query per chunk of {@link #getByIdChunkSize()} ids.
+     *
+     * @param ids the IDs of the entities
+     * @return the versions by id; ids that do not exist or have a {@code null} version are absent
+     * @throws IllegalStateException if the entity is not {@linkplain #isVersioned() versioned}
+     */
+    public Map<ID, Object> getVersions(Collection<ID> ids) {
+        String attribute = resolveVersionAttribute().orElseThrow(() -> new IllegalStateException(
+                format("%s has no version attribute", entityClass.getSimpleName())));
+        List<ID> distinct = new ArrayList<>(new LinkedHashSet<>(ids));
+        Map<ID, Object> versions = new HashMap<>();
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        String idAttribute = entityInformation().getIdAttribute().getName();
+        int chunkSize = Integer.highestOneBit(Math.max(1, getByIdChunkSize()));
+        for (int from = 0; from < distinct.size(); from += chunkSize) {
+            List<ID> chunk = distinct.subList(from, Math.min(from + chunkSize, distinct.size()));
+            CriteriaQuery<Object[]> query = cb.createQuery(Object[].class);
+            Root<ENTITY> root = query.from(entityClass);
+            Path<Object> idPath = root.get(idAttribute);
+            query.multiselect(idPath, root.get(attribute)).where(idPath.in(padToPowerOfTwo(chunk)));
+            for (Object[] row : entityManager.createQuery(query).getResultList()) {
+                if (row[1] != null) {
+                    @SuppressWarnings("unchecked")
+                    ID id = (ID) row[0];
+                    versions.put(id, row[1]);
+                }
+            }
+        }
+        return versions;
+    }
+
+    /**
+     * Name of the entity attribute {@link #getVersion(Object)} reads: by default the {@code @Version}
+     * attribute, or {@code null} if the entity has none. Override to name another attribute that changes on
+     * every write, e.g. an {@code updatedAt} timestamp.
+     *
+     * @return the attribute name, or {@code null} if entities are not versioned
+     */
+    protected String versionAttribute() {
+        for (SingularAttribute<? super ENTITY, ?> attribute :
+                entityManager.getMetamodel().entity(entityClass).getSingularAttributes()) {
+            if (attribute.isVersion()) {
+                return attribute.getName();
+            }
+        }
+        return null;
+    }
+
+    private Optional<String> resolveVersionAttribute() {
+        Optional<String> attribute = resolvedVersionAttribute;
+        if (attribute == null) {
+            attribute = entityInformation().hasCompositeId() ? Optional.empty() : Optional.ofNullable(versionAttribute());
+            resolvedVersionAttribute = attribute;
+        }
+        return attribute;
+    }
+
+    /**
+     * @return the in-memory value of the {@link #versionAttribute()} of a loaded entity
+     */
+    Object versionOf(ENTITY entity) {
+        String attribute = resolveVersionAttribute().orElseThrow(() -> new IllegalStateException(
+                format("%s has no version attribute", entityClass.getSimpleName())));
+        return PropertyAccessorFactory.forDirectFieldAccess(entity).getPropertyValue(attribute);
+    }
+
+    /**
+     * Compares versions, numbers by value regardless of their type.
+     */
+    static boolean sameVersion(Object expected, Object actual) {
+        if (expected instanceof Number && actual instanceof Number) {
+            return ((Number) expected).longValue() == ((Number) actual).longValue();
+        }
+        return expected.equals(actual);
+    }
+
+    JpaEntityInformation<ENTITY, ?> entityInformation() {
+        JpaEntityInformation<ENTITY, ?> information = entityInformation;
+        if (information == null) {
+            information = JpaEntityInformationSupport.getEntityInformation(entityClass, entityManager);
+            entityInformation = information;
+        }
+        return information;
+    }
+
+    /**
+     * Puts a copy of a freshly read DTO, unless an eviction happened since the read began; one racing the put
+     * removes the entry again.
+     *
+     * @param evictions the value of {@code readDtoEvictions} before the entity was read
+     */
+    private void cacheReadDto(ID id, READ_DTO dto, long evictions) {
+        ReadDtoCache cache = readDtoCache;
+        if (cache == null || readDtoEvictions.get() != evictions) {
+            return;
+        }
+        READ_DTO copy = copyReadDto(dto);
+        if (copy == null) {
+            return;
+        }
+        cache.put(readDtoClass, id, copy);
+        if (readDtoEvictions.get() != evictions) {
+            cache.evict(readDtoClass, id);
+        }
+    }
+
+    /**
+     * @return a copy of the cached DTO of the id, or {@code null} on a miss or if it can't be copied
+     */
+    private READ_DTO cachedReadDto(ID id) {
+        READ_DTO cached = readDtoCache.get(readDtoClass, id);
+        return cached != null ? copyReadDto(cached) : null;
+    }
+
+    /**
+     * Copies a READ_DTO going into or coming out of the {@link #readDtoCache}. By default a READ_DTO whose
+     * fields are all final is shared as is; any other is copied shallowly through its all-args or no-args
+     * constructor, with every value written to its field by name, so nested collections and objects stay
+     * shared: keep them unmodifiable. Override to supply another copy strategy.
+     *
+     * @param dto a DTO to be cached, or a cached DTO
+     * @return an instance no caller can change, or {@code null} if the DTO can't be copied and so is not cached
+     */
+    protected READ_DTO copyReadDto(READ_DTO dto) {
+        PartialDtoFactory<READ_DTO> factory = PartialDtoFactory.of(readDtoClass);
+        if (factory.isImmutable()) {
+            return dto;
+        }
+        return factory.canCreate() ? factory.copyOf(dto) : null;
+    }
+
+    /**
+     * Evicts the given ids from the {@link #readDtoCache}, if one is set.
+     * <p>
+     * The ids are evicted immediately and, when a transaction is active, once more after it completes, so a
+     * concurrent read that cached the old state before commit, or a read inside the transaction that cached
+     * state later rolled back, does not survive.
+     * </p>
+     *
+     * @param ids the ids of the written entities
+     */
+    protected void evictReadDtos(Collection<ID> ids) {
+        ReadDtoCache cache = readDtoCache;
+        if (cache == null || ids.isEmpty()) {
+            return;
+        }
+        List<ID> snapshot = new ArrayList<>(ids);
+        readDtoEvictions.incrementAndGet();
+        snapshot.forEach(id -> cache.evict(readDtoClass, id));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    readDtoEvictions.incrementAndGet();
+                    snapshot.forEach(id -> cache.evict(readDtoClass, id));
+                }
+            });
+        }
+    }
+
     /**
      * Maps an entity to its corresponding READ_DTO representation.
      * <p>
@@ -153,4 +624,55 @@ public abstract class AbsFlexServiceR<
     protected List<READ_DTO> mapAllReadDto(Collection<ENTITY> entities) {
         return this.mapper.mapAll(entities, readDtoClass);
     }
+
+    /**
+     * Maps an entity to a READ_DTO with only the selected fields set, for the {@link FieldSelection} reads.
+     * <p>
+     * With {@link #partialCopyEnabled()}, and when every selected DTO field has a same-named entity field of a
+     * plain value type, the values are copied from those fields directly; otherwise, and by default, the entity
+     * is mapped in full with {@link #mapReadDto(AbstractEntity)}. So is an instance of a subclass of the entity
+     * class, such as a lazy proxy, whose fields may not hold its state: its getters are read instead.
+     * </p>
+     *
+     * @param entity    the entity to map
+     * @param selection the DTO fields to fill
+     * @return the partial DTO representation of the entity
+     */
+    protected READ_DTO mapReadDto(ENTITY entity, FieldSelection selection) {
+        if (selection.isAll()) {
+            return mapReadDto(entity);
+        }
+        PartialDtoFactory<READ_DTO> factory = PartialDtoFactory.of(readDtoClass);
+        if (partialCopyEnabled() && entity.getClass() == entityClass && factory.canCopy(entityClass, selection)) {
+            return factory.copy(entity, selection);
+        }
+        return mapReadDto(entity);
+    }
+
+    /**
+     * @return the selection if {@link #partialCopyEnabled()} copies all of its fields, otherwise
+     * {@link FieldSelection#ALL}, so a read only ever returns partial DTOs when that saved the mapping
+     */
+    private FieldSelection copiedSelection(FieldSelection selection) {
+        if (selection.isAll() || !partialCopyEnabled()
+                || !PartialDtoFactory.of(readDtoClass).canCopy(entityClass, selection)) {
+            return FieldSelection.ALL;
+        }
+        return selection;
+    }
+
+    /**
+     * Opt-in direct copy for the {@link FieldSelection} reads: when {@code true}, selected fields are read from
+     * the same-named entity fields, bypassing {@link #mapReadDto(AbstractEntity)}. Enable it only for DTOs whose
+     * value fields are plain copies of entity fields.
+     * <p>
+     * It is off by default because a same-named field says nothing about how the value is mapped: every
+     * entity/DTO pair has a TypeMap, and its mappings and conditions, a compiled plan or an override of
+     * {@link #mapReadDto(AbstractEntity)} may all produce a different value than the entity field holds.
+     * Without it the selection reads full DTOs, and only the written response is trimmed to it.
+     * </p>
+     */
+    protected boolean partialCopyEnabled() {
+        return false;
+    }
 }
@@ -1,19 +1,35 @@
 package by.nhorushko.crudgeneric.flex.service;
 
 import by.nhorushko.crudgeneric.flex.exception.AppNotFoundException;
+import by.nhorushko.crudgeneric.flex.exception.AppPreconditionFailedException;
 import by.nhorushko.crudgeneric.flex.AbsModelMapper;
 import by.nhorushko.crudgeneric.flex.model.AbsUpdateDto;
+import by.nhorushko.crudgeneric.flex.model.AbsVersionedDto;
 import by.nhorushko.crudgeneric.flex.util.FieldCopyUtil;
 import by.nhorushko.crudgeneric.flex.model.AbstractDto;
 import by.nhorushko.crudgeneric.flex.model.AbstractEntity;
 import by.nhorushko.crudgeneric.flex.model.IdEntity;
+import by.nhorushko.crudgeneric.flex.model.Versioned;
+import jakarta.persistence.OptimisticLockException;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
 import lombok.Getter;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.support.JpaEntityInformation;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Predicate;
 
 import static java.lang.String.format;
 
@@ -63,13 +79,153 @@ public abstract class AbsFlexServiceRUD<
      * collections, relations) keep their persisted values. DTO properties holding {@code null} are skipped
      * as well, in line with the library-wide {@code skipNullEnabled} ModelMapper setting.
      * </p>
+     * <p>
+     * If the DTO is an {@link AbsVersionedDto} with a version, the update is conditional on it, see
+     * {@link #update(AbsUpdateDto, Object)}.
+     * </p>
      *
      * @param dto the DTO containing the updated data for the entity
      * @return the updated entity represented as a READ_DTO
      * @throws AppNotFoundException if no entity with the DTO's id exists
+     * @throws AppPreconditionFailedException if the DTO carries a version that is not current
      */
     public READ_DTO update(UPDATE_DTO dto) {
-        return runUpdate(dto);
+        return runUpdate(dto, null, null, false).getValue();
+    }
+
+    /**
+     * Updates an entity with the given DTO if the entity still has the expected version.
+     * <p>
+     * The version of the loaded entity is checked before any hook runs or anything is written, and the UPDATE
+     * is flushed right away with Hibernate's {@code WHERE id = ? AND version = ?} predicate, so a concurrent
+     * write between the check and the UPDATE also fails instead of being overwritten. No row lock is taken.
+     * </p>
+     *
+     * @param dto             the DTO containing the updated data for the entity
+     * @param expectedVersion the version the update is conditional on; {@code null} falls back to the version
+     *                        of an {@link AbsVersionedDto}, if any
+     * @return the updated entity represented as a READ_DTO
+     * @throws AppNotFoundException           if no entity with the DTO's id exists
+     * @throws AppPreconditionFailedException if the entity no longer has the expected version
+     * @throws IllegalStateException          if a version is given but the entity is not {@linkplain #isVersioned() versioned}
+     */
+    public READ_DTO update(UPDATE_DTO dto, Object expectedVersion) {
+        return runUpdate(dto, expectedVersion, null, false).getValue();
+    }
+
+    /**
+     * Updates an entity with the given DTO if its version satisfies {@code condition}, e.g. matches a tag of an
+     * {@code If-Match} header, and returns the result together with the entity's new version.
+     * <p>
+     * The condition is tested once, against the version of the loaded entity, and the UPDATE is flushed as in
+     * {@link #update(AbsUpdateDto, Object)}. For a {@linkplain #isVersioned() versioned} entity the UPDATE is
+     * flushed even without a condition, so the returned version is the one the entity has after it, read in
+     * the same transaction.
+     * </p>
+     *
+     * @param dto       the DTO containing the updated data for the entity
+     * @param condition tests the current version; {@code null} falls back to the version of an
+     *                  {@link AbsVersionedDto}, if any
+     * @return the updated entity represented as a READ_DTO, and its new version; {@code null} if the entity is not
+     * versioned
+     * @throws AppNotFoundException           if no entity with the DTO's id exists
+     * @throws AppPreconditionFailedException if the current version does not satisfy the condition
+     * @throws IllegalStateException          if a condition is given but the entity is not {@linkplain #isVersioned() versioned}
+     */
+    public Versioned<READ_DTO> updateVersioned(UPDATE_DTO dto, Predicate<Object> condition) {
+        return runUpdate(dto, null, condition, true);
+    }
+
+    /**
+     * Updates a collection of entities with the given DTOs.
+     * <p>
+     * All targets are loaded with a single {@code findAllById}; each DTO is then mapped onto its entity in
+     * place, with the same semantics as {@link #update(AbsUpdateDto)}, and the UPDATEs are flushed together,
+     * so Hibernate can JDBC-batch them when {@code hibernate.jdbc.batch_size} is set.
+     * </p>
+     * <p>
+     * {@link #beforeUpdateHook(AbstractDto)} and {@link #afterUpdateHook(AbstractDto)} run once per DTO. For
+     * {@link AbsUpdateChangesHookable} services the previous state is taken from the loaded entity before the
+     * DTO is mapped onto it, without an extra read per row.
+     * </p>
+     * <p>
+     * {@link AbsVersionedDto}s carrying a version are checked against the loaded entities before anything is
+     * written, and the UPDATEs are then flushed with their version predicates.
+     * </p>
+     *
+     * @param dtos the DTOs containing the updated data
+     * @return the updated entities represented as READ_DTOs, in the order of {@code dtos}
+     * @throws AppNotFoundException if any of the ids does not exist; all missing ids are reported and nothing
+     *                              is updated
+     * @throws AppPreconditionFailedException if any DTO carries a version that is not current; nothing is updated
+     */
+    public List<READ_DTO> updateAll(Collection<UPDATE_DTO> dtos) {
+        dtos.forEach(this::checkId);
+        Map<ENTITY_ID, ENTITY> entities = findAllByIdOrThrow(dtos);
+        boolean versioned = false;
+        for (UPDATE_DTO dto : dtos) {
+            Object expected = dtoVersion(dto);
+            if (expected != null) {
+                checkLoadedVersion(dto.getId(), expected, entities.get(dto.getId()));
+                versioned = true;
+            }
+        }
+        List<READ_DTO> previous = new ArrayList<>(dtos.size());
+        for (UPDATE_DTO dto : dtos) {
+            beforeUpdateHook(dto);
+            ENTITY entity = entities.get(dto.getId());
+            previous.add(tryBeforeUpdateHook(dto, entity).orElse(null));
+            mapper.map(dto, entity);
+        }
+        repository.saveAll(entities.values());
+        if (versioned) {
+            flushVersioned(entities.keySet());
+        }
+        evictReadDtos(entities.keySet());
+        List<READ_DTO> actual = new ArrayList<>(dtos.size());
+        int i = 0;
+        for (UPDATE_DTO dto : dtos) {
+            READ_DTO actualDto = mapReadDto(entities.get(dto.getId()));
+            afterUpdateHook(actualDto);
+            READ_DTO previousDto = previous.get(i++);
+            if (previousDto != null) {
+                ((AbsUpdateChangesHookable<ENTITY_ID, READ_DTO>) this).afterUpdateHook(previousDto, actualDto);
+            }
+            actual.add(actualDto);
+        }
+        return actual;
+    }
+
+    private Map<ENTITY_ID, ENTITY> findAllByIdOrThrow(Collection<UPDATE_DTO> dtos) {
+        Set<ENTITY_ID> ids = new LinkedHashSet<>();
+        dtos.forEach(dto -> ids.add(dto.getId()));
+        Map<ENTITY_ID, ENTITY> entities = new HashMap<>();
+        repository.findAllById(ids).forEach(entity -> entities.put(entity.getId(), entity));
+        if (entities.size() != ids.size()) {
+            ids.removeAll(entities.keySet());
+            throw new AppNotFoundException(format("Entities id: %s were not found", ids));
+        }
+        return entities;
+    }
+
+    /**
+     * Calls {@link AbsUpdateChangesHookable#beforeUpdateHook} when this service implements it.
+     * <p>
+     * The previous state is mapped from the managed {@code entity} the update has already loaded, before the
+     * DTO is mapped onto it, so no second read of the same row is needed.
+     * </p>
+     *
+     * @param current the DTO about to be applied
+     * @param entity  the loaded entity, still holding its persisted state
+     * @return the previous state, or empty if this service is not {@link AbsUpdateChangesHookable}
+     */
+    protected Optional<READ_DTO> tryBeforeUpdateHook(AbstractDto<ENTITY_ID> current, ENTITY entity) {
+        if (this instanceof AbsUpdateChangesHookable) {
+            READ_DTO previous = mapReadDto(entity);
+            ((AbsUpdateChangesHookable<ENTITY_ID, READ_DTO>) this).beforeUpdateHook(previous, current);
+            return Optional.of(previous);
+        }
+        return Optional.empty();
     }
 
     /**
@@ -85,23 +241,44 @@ public abstract class AbsFlexServiceRUD<
      */
     public READ_DTO updatePartial(ENTITY_ID id, Object partial) {
         READ_DTO target = copyPartial(id, partial);
-        return runUpdate(target);
+        return runUpdate(target, null, null, false).getValue();
     }
 
-    private READ_DTO runUpdate(AbstractDto<ENTITY_ID> dto) {
+    /**
+     * @param condition   takes precedence over {@code expectedVersion}, which takes precedence over the DTO version
+     * @param readVersion whether to flush a versioned entity and return its new version
+     */
+    private Versioned<READ_DTO> runUpdate(AbstractDto<ENTITY_ID> dto, Object expectedVersion,
+                                          Predicate<Object> condition, boolean readVersion) {
         checkId(dto);
-        beforeUpdateHook(dto);
-        Optional<READ_DTO> previous = tryBeforeUpdateHook(dto);
+        Object expected = condition != null ? null : expectedVersion != null ? expectedVersion : dtoVersion(dto);
         ENTITY entity = repository.findById(dto.getId())
                 .orElseThrow(() -> new AppNotFoundException(format("Entity id: %s was not found", dto.getId())));
+        if (condition != null) {
+            checkLoadedVersion(dto.getId(), condition, entity);
+        } else if (expected != null) {
+            checkLoadedVersion(dto.getId(), expected, entity);
+        }
+        beforeUpdateHook(dto);
+        Optional<READ_DTO> previous = tryBeforeUpdateHook(dto, entity);
         mapper.map(dto, entity);
         ENTITY actual = repository.save(entity);
+        boolean versioned = readVersion && isVersioned();
+        if (versioned || condition != null || expected != null) {
+            flushVersioned(List.of(dto.getId()));
+        }
+        evictReadDtos(List.of(dto.getId()));
         READ_DTO actualDto = mapReadDto(actual);
         afterUpdateHook(actualDto);
         previous.ifPresent(b -> ((AbsUpdateChangesHookable<ENTITY_ID, READ_DTO>) this).afterUpdateHook(b, actualDto));
-        return actualDto;
+        return new Versioned<>(actualDto, versioned ? versionOf(actual) : null);
     }
 
+    /**
+     * @deprecated the update pipeline no longer calls this method; the previous state is snapshotted from the
+     * entity it has already loaded, see {@link #tryBeforeUpdateHook(AbstractDto, AbstractEntity)}.
+     */
+    @Deprecated
     protected Optional<READ_DTO> tryBeforeUpdateHook(AbstractDto<ENTITY_ID> current) {
         if (this instanceof AbsUpdateChangesHookable) {
             READ_DTO previous = getById(current.getId());
@@ -133,6 +310,41 @@ public abstract class AbsFlexServiceRUD<
     protected void afterUpdateHook(READ_DTO dto) {
     }
 
+    private static Object dtoVersion(Object dto) {
+        return dto instanceof AbsVersionedDto ? ((AbsVersionedDto<?>) dto).getVersion() : null;
+    }
+
+    private void checkLoadedVersion(ENTITY_ID id, Object expected, ENTITY entity) {
+        checkVersion(id, expected, versionOf(entity));
+    }
+
+    private void checkLoadedVersion(ENTITY_ID id, Predicate<Object> condition, ENTITY entity) {
+        Object current = versionOf(entity);
+        if (current == null || !condition.test(current)) {
+            throw new AppPreconditionFailedException(
+                    format("Entity id: %s has version %s, which the request's precondition does not match", id, current));
+        }
+    }
+
+    private void checkVersion(ENTITY_ID id, Object expected, Object current) {
+        if (current == null || !sameVersion(expected, current)) {
+            throw new AppPreconditionFailedException(
+                    format("Entity id: %s has version %s, expected %s", id, current, expected));
+        }
+    }
+
+    /**
+     * Flushes the pending UPDATEs now, so a version predicate that matches no row fails inside this call.
+     */
+    private void flushVersioned(Collection<ENTITY_ID> ids) {
+        try {
+            entityManager.flush();
+        } catch (OptimisticLockException | OptimisticLockingFailureException e) {
+            throw new AppPreconditionFailedException(
+                    format("Entities id: %s were changed concurrently", ids), e);
+        }
+    }
+
     private void checkId(IdEntity<ENTITY_ID> entity) {
         if (entity.isNew()) {
             throw new IllegalArgumentException(
@@ -141,7 +353,10 @@ public abstract class AbsFlexServiceRUD<
     }
 
     private READ_DTO copyPartial(ENTITY_ID id, Object source) {
-        READ_DTO target = getById(id);
+        // loaded past the read cache: the copy below mutates the DTO, which must not be a shared cached instance
+        READ_DTO target = repository.findById(id)
+                .map(this::mapReadDto)
+                .orElseThrow(() -> new AppNotFoundException(format("Entity id: %s was not found", id)));
         FieldCopyUtil.copy(source, target, IGNORE_PARTIAL_UPDATE_PROPERTIES);
         return target;
     }
@@ -162,9 +377,88 @@ public abstract class AbsFlexServiceRUD<
         }
         beforeDeleteHook(id);
         repository.deleteById(id);
+        evictReadDtos(List.of(id));
         afterDeleteHook(id);
     }
 
+    /**
+     * Deletes the entities with the given IDs.
+     * <p>
+     * Like {@link #delete(Object)}, missing ids are silently skipped and the hooks run only for ids that exist.
+     * Ids are processed in chunks of {@link #deleteAllChunkSize()}; each chunk costs one query to resolve the
+     * existing ids plus the deletes themselves:
+     * </p>
+     * <ul>
+     *   <li>by default the existing entities are loaded with one {@code findAllById} and removed through the
+     *   persistence context, so cascades and entity listeners apply and the DELETEs are flushed together;</li>
+     *   <li>with {@link #bulkDeleteEnabled()} the existing ids are selected without loading the entities and
+     *   removed with a single JPQL {@code DELETE ... WHERE id IN (...)}, which bypasses cascades, orphan removal
+     *   and entity listeners.</li>
+     * </ul>
+     *
+     * @param ids the IDs of the entities to delete
+     */
+    public void deleteAll(Collection<ENTITY_ID> ids) {
+        List<ENTITY_ID> distinct = new ArrayList<>(new LinkedHashSet<>(ids));
+        int chunkSize = Math.max(1, deleteAllChunkSize());
+        for (int from = 0; from < distinct.size(); from += chunkSize) {
+            List<ENTITY_ID> chunk = distinct.subList(from, Math.min(from + chunkSize, distinct.size()));
+            if (bulkDeleteEnabled()) {
+                bulkDelete(chunk);
+            } else {
+                removeAll(chunk);
+            }
+        }
+    }
+
+    /**
+     * Whether {@link #deleteAll(Collection)} removes rows with a bulk JPQL delete instead of loading and
+     * removing each entity.
+     * <p>
+     * Disabled by default. Enable it only for entities without cascades, orphan removal or entity listeners that
+     * the delete must honour; entities of the deleted rows already loaded in the current persistence context are
+     * not detached.
+     * </p>
+     *
+     * @return {@code true} to delete with a bulk JPQL statement
+     */
+    protected boolean bulkDeleteEnabled() {
+        return false;
+    }
+
+    /**
+     * Number of ids {@link #deleteAll(Collection)} resolves and deletes per step; keep it below the database's
+     * bind-parameter limit for an {@code IN} list.
+     *
+     * @return the chunk size, 500 by default
+     */
+    protected int deleteAllChunkSize() {
+        return 500;
+    }
+
+    private void removeAll(List<ENTITY_ID> ids) {
+        List<ENTITY> entities = repository.findAllById(ids);
+        if (entities.isEmpty()) {
+            return;
+        }
+        entities.forEach(entity -> beforeDeleteHook(entity.getId()));
+        repository.deleteAll(entities);
+        evictReadDtos(entities.stream().map(entity -> entity.getId()).toList());
+        entities.forEach(entity -> afterDeleteHook(entity.getId()));
+    }
+
+    private void bulkDelete(List<ENTITY_ID> ids) {
+        Set<ENTITY_ID> existing = findExistingIds(new LinkedHashSet<>(ids));
+        if (existing.isEmpty()) {
+            return;
+        }
+        List<ENTITY_ID> ordered = ids.stream().filter(existing::contains).toList();
+        ordered.forEach(this::beforeDeleteHook);
+        repository.deleteAllByIdInBatch(ordered);
+        evictReadDtos(ordered);
+        ordered.forEach(this::afterDeleteHook);
+    }
+
     /**
      * Hook method called before an existing entity is deleted.
      * <p>
@@ -187,6 +481,37 @@ public abstract class AbsFlexServiceRUD<
     protected void afterDeleteHook(ENTITY_ID id) {
     }
 
+    /**
+     * Returns the subset of {@code ids} that exist in the database, as a mutable set.
+     * <p>
+     * Existence is resolved with a single {@code id IN (...)} query selecting only the ids; callers keep
+     * {@code ids} below the database's bind-parameter limit. Entities with a composite id fall back to
+     * {@code existsById} per id.
+     * </p>
+     */
+    protected Set<ENTITY_ID> findExistingIds(Set<ENTITY_ID> ids) {
+        Set<ENTITY_ID> existing = new HashSet<>();
+        if (ids.isEmpty()) {
+            return existing;
+        }
+        JpaEntityInformation<ENTITY, ?> information = entityInformation();
+        if (information.hasCompositeId()) {
+            ids.stream().filter(repository::existsById).forEach(existing::add);
+            return existing;
+        }
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Object> query = cb.createQuery();
+        Root<ENTITY> root = query.from(entityClass);
+        Path<Object> idPath = root.get(information.getIdAttribute().getName());
+        query.select(idPath).where(idPath.in(ids));
+        for (Object id : entityManager.createQuery(query).getResultList()) {
+            @SuppressWarnings("unchecked")
+            ENTITY_ID typed = (ENTITY_ID) id;
+            existing.add(typed);
+        }
+        return existing;
+    }
+
     /**
      * Maps an object to an entity of the specified class.
      * <p>
@@ -1,42 +1,169 @@
 package by.nhorushko.crudgeneric.flex.util;
 
+import org.apache.commons.lang3.ClassUtils;
 import org.apache.commons.lang3.reflect.FieldUtils;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
 import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Copies same-named fields from a source object onto a target object.
+ * <p>
+ * The field pairs for a (source class, target class, ignore set) combination are resolved once into a
+ * {@link CopyPlan} of pre-resolved handles and cached per source class, so repeated copies — one per
+ * {@code updatePartial} call — do no reflective lookups. Instance fields declared anywhere in the source
+ * class hierarchy are copied; static and synthetic fields are not. A source field without a counterpart on
+ * the target, or with an incompatible type, fails when the plan is built.
+ * </p>
+ */
 public class FieldCopyUtil {
 
-    public static Object copy(Object source, Object target, Set<String> ignore) {
-        Field[] sourceFields = source.getClass().getDeclaredFields();
-        for (Field sourceField : sourceFields) {
-            if (ignore.contains(sourceField.getName())) {
-                continue;
-            }
-            Object sourceValue = getValue(sourceField, source);
-            Field targetField = getFieldByName(target.getClass(), sourceField.getName());
-            copyField(targetField, sourceValue, target);
+    private static final ClassValue<Map<Class<?>, Map<Set<String>, CopyPlan>>> PLANS = new ClassValue<>() {
+        @Override
+        protected Map<Class<?>, Map<Set<String>, CopyPlan>> computeValue(Class<?> sourceClass) {
+            return new ConcurrentHashMap<>();
         }
+    };
+
+    /**
+     * Copies every non-ignored source field onto the target field of the same name.
+     *
+     * @return the target
+     * @throws IllegalArgumentException if a source field has no assignable counterpart on the target
+     */
+    public static Object copy(Object source, Object target, Set<String> ignore) {
+        plan(source.getClass(), target.getClass(), ignore).copy(source, target);
         return target;
     }
 
-    private static Object getValue(Field field, Object object) {
-        try {
-            return FieldUtils.readField(field, object, true);
-        } catch (IllegalAccessException e) {
-            throw new IllegalArgumentException(e);
+    static CopyPlan plan(Class<?> sourceClass, Class<?> targetClass, Set<String> ignore) {
+        Map<Set<String>, CopyPlan> byIgnore = PLANS.get(sourceClass)
+                .computeIfAbsent(targetClass, k -> new ConcurrentHashMap<>());
+        CopyPlan plan = byIgnore.get(ignore);
+        if (plan == null) {
+            Set<String> key = Set.copyOf(ignore);
+            plan = byIgnore.computeIfAbsent(key, k -> CopyPlan.build(sourceClass, targetClass, k));
+        }
+        return plan;
+    }
+
+    static final class CopyPlan {
+        private final FieldPair[] pairs;
+
+        private CopyPlan(FieldPair[] pairs) {
+            this.pairs = pairs;
+        }
+
+        void copy(Object source, Object target) {
+            for (FieldPair pair : pairs) {
+                pair.copy(source, target);
+            }
+        }
+
+        int size() {
+            return pairs.length;
+        }
+
+        static CopyPlan build(Class<?> sourceClass, Class<?> targetClass, Set<String> ignore) {
+            List<FieldPair> pairs = new ArrayList<>();
+            Set<String> seen = new HashSet<>();
+            for (Class<?> type = sourceClass; type != null && type != Object.class; type = type.getSuperclass()) {
+                for (Field sourceField : type.getDeclaredFields()) {
+                    if (Modifier.isStatic(sourceField.getModifiers()) || sourceField.isSynthetic()) {
+                        continue;
+                    }
+                    String name = sourceField.getName();
+                    // a subclass field shadows a superclass field of the same name
+                    if (ignore.contains(name) || !seen.add(name)) {
+                        continue;
+                    }
+                    Field targetField = FieldUtils.getField(targetClass, name, true);
+                    if (targetField == null || Modifier.isStatic(targetField.getModifiers())) {
+                        throw new IllegalArgumentException(String.format(
+                                "Field: %s of %s has no counterpart in %s",
+                                name, sourceClass.getSimpleName(), targetClass.getSimpleName()));
+                    }
+                    if (!ClassUtils.isAssignable(sourceField.getType(), targetField.getType(), true)) {
+                        throw new IllegalArgumentException(String.format(
+                                "Field: %s of type %s in %s can't be copied to type %s in %s",
+                                name, sourceField.getType().getSimpleName(), sourceClass.getSimpleName(),
+                                targetField.getType().getSimpleName(), targetClass.getSimpleName()));
+                    }
+                    pairs.add(new FieldPair(name, reader(sourceField), writer(targetField)));
+                }
+            }
+            return new CopyPlan(pairs.toArray(new FieldPair[0]));
+        }
+
+        private static VarHandle reader(Field field) {
+            try {
+                return lookup(field).unreflectVarHandle(field);
+            } catch (IllegalAccessException e) {
+                throw new IllegalArgumentException(e);
+            }
+        }
+
+        private static Writer writer(Field field) {
+            try {
+                MethodHandles.Lookup lookup = lookup(field);
+                if (!Modifier.isFinal(field.getModifiers())) {
+                    VarHandle handle = lookup.unreflectVarHandle(field);
+                    return (target, value) -> handle.set(target, value);
+                }
+                // VarHandles are read-only for final fields (e.g. @Value DTOs); an accessible
+                // setter handle may still write a non-static final field.
+                field.setAccessible(true);
+                MethodHandle setter = lookup.unreflectSetter(field);
+                return (target, value) -> {
+                    try {
+                        setter.invoke(target, value);
+                    } catch (RuntimeException | Error e) {
+                        throw e;
+                    } catch (Throwable e) {
+                        throw new IllegalArgumentException(e);
+                    }
+                };
+            } catch (IllegalAccessException e) {
+                throw new IllegalArgumentException(e);
+            }
+        }
+
+        private static MethodHandles.Lookup lookup(Field field) throws IllegalAccessException {
+            return MethodHandles.privateLookupIn(field.getDeclaringClass(), MethodHandles.lookup());
         }
     }
 
-    private static Field getFieldByName(Class clazz, String fieldName) {
-        return FieldUtils.getField(clazz, fieldName, true);
+    private interface Writer {
+        void write(Object target, Object value);
     }
 
-    private static void copyField(Field targetField, Object value, Object target) {
-        try {
-            FieldUtils.writeField(targetField, target, value, true);
-        } catch (IllegalAccessException e) {
-            throw new IllegalArgumentException(e);
+    private static final class FieldPair {
+        private final String name;
+        private final VarHandle reader;
+        private final Writer writer;
+
+        private FieldPair(String name, VarHandle reader, Writer writer) {
+            this.name = name;
+            this.reader = reader;
+            this.writer = writer;
+        }
+
+        void copy(Object source, Object target) {
+            Object value = reader.get(source);
+            try {
+                writer.write(target, value);
+            } catch (ClassCastException | NullPointerException e) {
+                throw new IllegalArgumentException(String.format("Can't copy field: %s value: %s", name, value), e);
+            }
         }
     }
 }
@@ -0,0 +1,280 @@
+package by.nhorushko.crudgeneric.flex.util;
+
+import by.nhorushko.crudgeneric.flex.model.FieldSelection;
+import org.apache.commons.lang3.ClassUtils;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Modifier;
+import java.time.temporal.Temporal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Creates DTOs holding only the fields of a {@link FieldSelection}; the other fields keep {@code null}, or the
+ * default value of a primitive.
+ * <p>
+ * DTOs are created through a constructor whose parameter types match the instance fields in declaration order,
+ * superclass fields first (e.g. Lombok's {@code @AllArgsConstructor}), or else through the no-args constructor.
+ * Either way the values are then written to the fields by name, so a hand-written constructor taking values of
+ * the same type in another order can't swap them; only a record relies on its canonical constructor alone. The
+ * fields are resolved once per DTO class, and the fields read from a source class once per source class and
+ * selection.
+ * </p>
+ */
+public final class PartialDtoFactory<DTO> {
+
+    private static final ClassValue<PartialDtoFactory<?>> FACTORIES = new ClassValue<>() {
+        @Override
+        protected PartialDtoFactory<?> computeValue(Class<?> dtoClass) {
+            return new PartialDtoFactory<>(dtoClass);
+        }
+    };
+
+    private static final int MAX_CACHED_SELECTIONS = 256;
+    private static final Field[] NOT_COPYABLE = new Field[0];
+
+    private final Class<DTO> dtoClass;
+    private final Field[] fields;
+    private final Map<String, Integer> indexes;
+    private final Object[] defaults;
+    private final Constructor<DTO> allArgsConstructor;
+    private final Constructor<DTO> noArgsConstructor;
+    private final boolean immutable;
+    private final Map<Class<?>, Map<FieldSelection, Field[]>> sourceFields = new ConcurrentHashMap<>();
+
+    private PartialDtoFactory(Class<DTO> dtoClass) {
+        List<Field> declaredFields = new ArrayList<>();
+        for (Class<?> type = dtoClass; type != null && type != Object.class; type = type.getSuperclass()) {
+            List<Field> declared = new ArrayList<>();
+            for (Field field : type.getDeclaredFields()) {
+                int modifiers = field.getModifiers();
+                if (!Modifier.isStatic(modifiers) && !Modifier.isTransient(modifiers) && !field.isSynthetic()) {
+                    field.setAccessible(true);
+                    declared.add(field);
+                }
+            }
+            // superclass fields come first, as in a Lombok all-args constructor of the hierarchy
+            declaredFields.addAll(0, declared);
+        }
+        this.dtoClass = dtoClass;
+        this.fields = declaredFields.toArray(new Field[0]);
+        this.indexes = new HashMap<>();
+        this.defaults = new Object[fields.length];
+        for (int i = 0; i < fields.length; i++) {
+            indexes.put(fields[i].getName(), i);
+            defaults[i] = defaultValue(fields[i].getType());
+        }
+        Class<?>[] parameterTypes = Arrays.stream(fields).map(Field::getType).toArray(Class<?>[]::new);
+        this.allArgsConstructor = constructor(dtoClass, parameterTypes);
+        this.noArgsConstructor = allArgsConstructor == null ? constructor(dtoClass) : null;
+        this.immutable = Arrays.stream(fields).allMatch(field -> Modifier.isFinal(field.getModifiers()));
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <DTO> PartialDtoFactory<DTO> of(Class<DTO> dtoClass) {
+        return (PartialDtoFactory<DTO>) FACTORIES.get(dtoClass);
+    }
+
+    /**
+     * Tells whether {@link #copy} can fill every selected field: the source class has a same-named field of an
+     * assignable value type (primitive, wrapper, string, enum, number, date or time, UUID) for each of them.
+     * Association and collection fields never qualify, so copying never initializes a lazy relation; DTOs with
+     * such selected fields are mapped in full and {@linkplain #retain trimmed} instead.
+     */
+    public boolean canCopy(Class<?> sourceClass, FieldSelection selection) {
+        return canCreate() && sourceFields(sourceClass, selection) != null;
+    }
+
+    /**
+     * @return {@code true} if the DTO has a constructor {@link #copy}, {@link #retain} and {@link #copyOf} can
+     * create it with
+     */
+    public boolean canCreate() {
+        return allArgsConstructor != null || noArgsConstructor != null;
+    }
+
+    /**
+     * @return {@code true} if every instance field of the DTO is final, so an instance can be shared instead of
+     * {@linkplain #copyOf copied}
+     */
+    public boolean isImmutable() {
+        return immutable;
+    }
+
+    /**
+     * Creates a DTO from the selected fields of the source, read directly from its same-named fields.
+     * Unselected source fields are not read.
+     *
+     * @throws IllegalArgumentException if {@link #canCopy} is {@code false} for the source class
+     */
+    public DTO copy(Object source, FieldSelection selection) {
+        Field[] read = sourceFields(source.getClass(), selection);
+        if (read == null) {
+            throw new IllegalArgumentException(String.format("Can't copy %s fields %s from %s",
+                    dtoClass.getSimpleName(), selection, source.getClass().getSimpleName()));
+        }
+        Object[] values = defaults.clone();
+        try {
+            for (int i = 0; i < read.length; i++) {
+                Object value = read[i] == null ? null : read[i].get(source);
+                if (value != null) {
+                    values[i] = value;
+                }
+            }
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Can't read " + source.getClass().getSimpleName(), e);
+        }
+        return create(values, read);
+    }
+
+    /**
+     * @return a new DTO with only the selected fields of {@code dto}, or {@code dto} itself for
+     * {@link FieldSelection#ALL}
+     * @throws IllegalStateException if the DTO can't be {@linkplain #canCreate() created}
+     */
+    public DTO retain(DTO dto, FieldSelection selection) {
+        if (selection.isAll()) {
+            return dto;
+        }
+        Object[] values = defaults.clone();
+        Field[] selected = new Field[fields.length];
+        try {
+            for (String name : selection.names()) {
+                Integer index = indexes.get(name);
+                if (index != null) {
+                    values[index] = fields[index].get(dto);
+                    selected[index] = fields[index];
+                }
+            }
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Can't read " + dtoClass.getSimpleName(), e);
+        }
+        return create(values, selected);
+    }
+
+    /**
+     * @return a shallow copy of {@code dto}: a new instance holding the same field values
+     * @throws IllegalStateException if the DTO can't be {@linkplain #canCreate() created}
+     */
+    public DTO copyOf(DTO dto) {
+        Object[] values = new Object[fields.length];
+        try {
+            for (int i = 0; i < fields.length; i++) {
+                values[i] = fields[i].get(dto);
+            }
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Can't read " + dtoClass.getSimpleName(), e);
+        }
+        return create(values, fields);
+    }
+
+    /**
+     * @param selected per DTO field, non-null where the value was set
+     */
+    private DTO create(Object[] values, Field[] selected) {
+        if (!canCreate()) {
+            throw new IllegalStateException(String.format(
+                    "Partial %s needs a no-args constructor or one taking %s in field order", dtoClass.getSimpleName(),
+                    Arrays.toString(Arrays.stream(fields).map(Field::getType).toArray(Class<?>[]::new))));
+        }
+        try {
+            if (allArgsConstructor != null) {
+                DTO dto = allArgsConstructor.newInstance(values);
+                if (dtoClass.isRecord()) {
+                    return dto;
+                }
+                // the constructor was only matched by types: write every value to its field by name
+                for (int i = 0; i < fields.length; i++) {
+                    fields[i].set(dto, values[i]);
+                }
+                return dto;
+            }
+            DTO dto = noArgsConstructor.newInstance();
+            for (int i = 0; i < fields.length; i++) {
+                if (selected[i] != null) {
+                    fields[i].set(dto, values[i]);
+                }
+            }
+            return dto;
+        } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalStateException("Can't create partial " + dtoClass.getSimpleName(), e);
+        }
+    }
+
+    /**
+     * @return per DTO field, the source field to read or {@code null} if the field is not selected; {@code null}
+     * if a selected field has no copyable counterpart
+     */
+    private Field[] sourceFields(Class<?> sourceClass, FieldSelection selection) {
+        Map<FieldSelection, Field[]> bySelection = sourceFields.computeIfAbsent(sourceClass, k -> new ConcurrentHashMap<>());
+        Field[] read = bySelection.get(selection);
+        if (read == null) {
+            read = resolve(sourceClass, selection);
+            // selections come from clients: past the bound they are resolved on every call instead
+            if (bySelection.size() < MAX_CACHED_SELECTIONS) {
+                bySelection.put(selection, read);
+            }
+        }
+        return read == NOT_COPYABLE ? null : read;
+    }
+
+    private Field[] resolve(Class<?> sourceClass, FieldSelection selection) {
+        Field[] read = new Field[fields.length];
+        for (int i = 0; i < fields.length; i++) {
+            if (!selection.includes(fields[i].getName())) {
+                continue;
+            }
+            Field source = field(sourceClass, fields[i].getName());
+            if (source == null || !isValueType(source.getType())
+                    || !ClassUtils.isAssignable(source.getType(), fields[i].getType(), true)) {
+                return NOT_COPYABLE;
+            }
+            source.setAccessible(true);
+            read[i] = source;
+        }
+        return read;
+    }
+
+    private static Field field(Class<?> type, String name) {
+        for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+            try {
+                Field field = current.getDeclaredField(name);
+                if (!Modifier.isStatic(field.getModifiers())) {
+                    return field;
+                }
+            } catch (NoSuchFieldException e) {
+                // look in the superclass
+            }
+        }
+        return null;
+    }
+
+    private static boolean isValueType(Class<?> type) {
+        return ClassUtils.isPrimitiveOrWrapper(type) || CharSequence.class.isAssignableFrom(type) || type.isEnum()
+                || Number.class.isAssignableFrom(type) || Temporal.class.isAssignableFrom(type)
+                || Date.class.isAssignableFrom(type) || type == UUID.class;
+    }
+
+    private static Object defaultValue(Class<?> type) {
+        return type.isPrimitive() ? Array.get(Array.newInstance(type, 1), 0) : null;
+    }
+
+    private static <T> Constructor<T> constructor(Class<T> type, Class<?>... parameterTypes) {
+        try {
+            Constructor<T> constructor = type.getDeclaredConstructor(parameterTypes);
+            constructor.setAccessible(true);
+            return constructor;
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package by.nhorushko.crudgeneric.flex;
+
+import by.nhorushko.crudgeneric.flex.config.AbsGenericCrudConfiguration;
+import by.nhorushko.crudgeneric.flex.mapper.AbsMapEntityToDto;
+import by.nhorushko.crudgeneric.flex.model.AbstractDto;
+import by.nhorushko.crudgeneric.flex.model.AbstractEntity;
+import org.junit.Before;
+import org.junit.Test;
+import org.modelmapper.ModelMapper;
+import org.modelmapper.TypeMap;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Entity-to-DTO mappers compile to a direct {@code create} call; the result must be
+ * identical to the ModelMapper path and the plan must be skipped whenever the type map
+ * was customized beyond the converter AbsMapEntityToDto installs.
+ */
+public class AbsModelMapperCompiledPlanTest {
+
+    private ModelMapper modelMapper;
+    private AbsModelMapper mapper;
+    private final AtomicInteger creates = new AtomicInteger();
+
+    @Before
+    public void setUp() {
+        modelMapper = new AbsGenericCrudConfiguration().absGenericCrudModelMapper();
+        mapper = new AbsModelMapper(modelMapper, null);
+    }
+
+    @Test
+    public void entityToDtoMapperRegistersCompiledPlan() {
+        registerEntityToDto();
+
+        assertTrue(mapper.hasCompiledPlan(ItemEntity.class, ItemDto.class));
+    }
+
+    @Test
+    public void compiledPlanMatchesModelMapperResult() {
+        registerEntityToDto();
+        ItemEntity entity = new ItemEntity(3L, "name");
+
+        ItemDto compiled = mapper.map(entity, ItemDto.class);
+        ItemDto reference = modelMapper.map(entity, ItemDto.class);
+
+        assertEquals(reference.getId(), compiled.getId());
+        assertEquals(reference.getName(), compiled.getName());
+        assertEquals(2, creates.get());
+    }
+
+    @Test
+    public void disabledSwitchFallsBackToModelMapper() {
+        registerEntityToDto();
+        mapper.setCompiledMappingEnabled(false);
+
+        ItemDto dto = mapper.map(new ItemEntity(3L, "name"), ItemDto.class);
+
+        assertEquals("name", dto.getName());
+        assertEquals(1, creates.get());
+    }
+
+    @Test
+    public void nullSourceStillMapsToNull() {
+        registerEntityToDto();
+
+        assertNull(mapper.map(null, ItemDto.class));
+    }
+
+    @Test
+    public void postConverterDisablesCompiledPlan() {
+        new AbsMapEntityToDto<>(mapper, ItemEntity.class, ItemDto.class) {
+            @Override
+            protected ItemDto create(ItemEntity from) {
+                return new ItemDto(from.getId(), from.getName());
+            }
+
+            @Override
+            protected void customizeTypeMap(TypeMap<ItemEntity, ItemDto> typeMap) {
+                super.customizeTypeMap(typeMap);
+                typeMap.setPostConverter(context -> context.getDestination());
+            }
+        };
+
+        assertFalse(mapper.hasCompiledPlan(ItemEntity.class, ItemDto.class));
+    }
+
+    private void registerEntityToDto() {
+        new AbsMapEntityToDto<>(mapper, ItemEntity.class, ItemDto.class) {
+            @Override
+            protected ItemDto create(ItemEntity from) {
+                creates.incrementAndGet();
+                return new ItemDto(from.getId(), from.getName());
+            }
+        };
+    }
+
+    public static class ItemEntity implements AbstractEntity<Long> {
+        private Long id;
+        private String name;
+
+        public ItemEntity() {
+        }
+
+        public ItemEntity(Long id, String name) {
+            this.id = id;
+            this.name = name;
+        }
+
+        @Override
+        public Long getId() {
+            return id;
+        }
+
+        @Override
+        public void setId(Long id) {
+            this.id = id;
+        }
+
+        public String getName() {
+            return name;
+        }
+    }
+
+    public static class ItemDto implements AbstractDto<Long> {
+        private final Long id;
+        private final String name;
+
+        public ItemDto(Long id, String name) {
+            this.id = id;
+            this.name = name;
+        }
+
+        @Override
+        public Long getId() {
+            return id;
+        }
+
+        public String getName() {
+            return name;
+        }
+    }
+}
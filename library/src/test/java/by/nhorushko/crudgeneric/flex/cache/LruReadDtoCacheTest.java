@@ -0,0 +1,73 @@
+package by.nhorushko.crudgeneric.flex.cache;
+
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class LruReadDtoCacheTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    private final LruReadDtoCache cache = new LruReadDtoCache(2, Duration.ofNanos(100), now::get);
+
+    @Test
+    public void returnsCachedValueAndCountsHitsAndMisses() {
+        cache.put(String.class, 1L, "one");
+
+        assertEquals("one", cache.get(String.class, 1L));
+        assertNull(cache.get(String.class, 2L));
+
+        ReadDtoCacheStats stats = cache.stats();
+        assertEquals(1, stats.getHits());
+        assertEquals(1, stats.getMisses());
+        assertEquals(1, stats.getSize());
+    }
+
+    @Test
+    public void keysIncludeDtoClass() {
+        cache.put(String.class, 1L, "one");
+
+        assertNull(cache.get(Integer.class, 1L));
+    }
+
+    @Test
+    public void evictsLeastRecentlyUsedBeyondMaxSize() {
+        cache.put(String.class, 1L, "one");
+        cache.put(String.class, 2L, "two");
+        cache.get(String.class, 1L);
+        cache.put(String.class, 3L, "three");
+
+        assertEquals("one", cache.get(String.class, 1L));
+        assertNull(cache.get(String.class, 2L));
+        assertEquals(1, cache.stats().getEvictions());
+    }
+
+    @Test
+    public void expiresEntriesAfterTtl() {
+        cache.put(String.class, 1L, "one");
+        now.addAndGet(100);
+
+        assertNull(cache.get(String.class, 1L));
+        assertEquals(1, cache.stats().getEvictions());
+        assertEquals(0, cache.stats().getSize());
+    }
+
+    @Test
+    public void explicitEvictIsNotCountedAsEviction() {
+        cache.put(String.class, 1L, "one");
+
+        cache.evict(String.class, 1L);
+
+        assertNull(cache.get(String.class, 1L));
+        assertEquals(0, cache.stats().getEvictions());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsNonPositiveSize() {
+        new LruReadDtoCache(0, Duration.ofMinutes(1));
+    }
+}
@@ -20,4 +20,18 @@ public class AbsCrudCustomizerTest {
                 .build();
         assertFalse(customizer.isTypeMapCheckerEnabled());
     }
+
+    @Test
+    public void builder_defaultCompiledMappingEnabled_isTrue() {
+        AbsCrudCustomizer customizer = AbsCrudCustomizer.builder().build();
+        assertTrue(customizer.isCompiledMappingEnabled());
+    }
+
+    @Test
+    public void builder_compiledMappingEnabledFalse_returnsFalse() {
+        AbsCrudCustomizer customizer = AbsCrudCustomizer.builder()
+                .compiledMappingEnabled(false)
+                .build();
+        assertFalse(customizer.isCompiledMappingEnabled());
+    }
 }
@@ -0,0 +1,136 @@
+package by.nhorushko.crudgeneric.flex.controller;
+
+import by.nhorushko.crudgeneric.flex.exception.FilterValidationException;
+import by.nhorushko.crudgeneric.flex.model.AbstractDto;
+import by.nhorushko.crudgeneric.flex.model.FieldSelection;
+import by.nhorushko.crudgeneric.flex.model.SettingsVoid;
+import by.nhorushko.crudgeneric.flex.service.AbsFlexServiceR;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class AbsFlexControllerRSparseTest {
+
+    private TestController controller;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        AbsFlexServiceR<Long, ?, ItemDto, ?> service = mock(AbsFlexServiceR.class);
+        when(service.getReadDtoClass()).thenReturn(ItemDto.class);
+        controller = new TestController(service);
+        controller.setObjectMapper(new ObjectMapper());
+    }
+
+    @Test
+    public void validatesFieldsAgainstViewProperties() {
+        FieldSelection selection = controller.fieldSelection(request("label"));
+
+        assertEquals(Set.of("id", "label"), selection.names());
+    }
+
+    @Test
+    public void rejectsDtoFieldTheViewDoesNotWrite() {
+        try {
+            controller.fieldSelection(request("name"));
+            fail();
+        } catch (FilterValidationException e) {
+            assertEquals("Unknown fields [name] of the view, known: [id, label]", e.getMessage());
+        }
+    }
+
+    @Test
+    public void writesSelectedPropertiesOfEveryView() {
+        ResponseEntity<JsonNode> response = controller.sparse(
+                ResponseEntity.ok(List.of(new ItemView(1L, "first"), new ItemView(2L, "second"))),
+                FieldSelection.parse("label"));
+
+        assertEquals("[{\"id\":1,\"label\":\"first\"},{\"id\":2,\"label\":\"second\"}]",
+                response.getBody().toString());
+    }
+
+    @Test
+    public void keepsNotModifiedWithoutBody() {
+        ResponseEntity<JsonNode> response = controller.sparse(
+                ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag("W/\"1\"").build(), FieldSelection.parse("label"));
+
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertEquals("W/\"1\"", response.getHeaders().getETag());
+        assertNull(response.getBody());
+    }
+
+    @Test
+    public void requiresApplicationObjectMapper() {
+        controller.setObjectMapper(null);
+
+        try {
+            controller.sparse(ResponseEntity.ok(new ItemView(1L, "first")), FieldSelection.parse("label"));
+            fail();
+        } catch (IllegalStateException e) {
+            assertEquals("TestController needs the application's ObjectMapper; inject it into the objectMapper field",
+                    e.getMessage());
+        }
+    }
+
+    private static HttpServletRequest request(String fields) {
+        HttpServletRequest request = mock(HttpServletRequest.class);
+        when(request.getParameter(AbsFlexControllerR.FIELDS_PARAMETER)).thenReturn(fields);
+        return request;
+    }
+
+    private static final class ItemDto implements AbstractDto<Long> {
+        private Long id;
+        private String name;
+
+        @Override
+        public Long getId() {
+            return id;
+        }
+    }
+
+    public static final class ItemView {
+        private final Long id;
+        private final String name;
+
+        private ItemView(Long id, String name) {
+            this.id = id;
+            this.name = name;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        @JsonProperty("label")
+        public String getName() {
+            return name;
+        }
+    }
+
+    private static final class TestController
+            extends AbsFlexControllerR<Long, ItemDto, ItemView, SettingsVoid, AbsFlexServiceR<Long, ?, ItemDto, ?>> {
+
+        private TestController(AbsFlexServiceR<Long, ?, ItemDto, ?> service) {
+            super(service);
+        }
+
+        @Override
+        protected ItemView postHandle(ItemDto dto, SettingsVoid settings) {
+            return new ItemView(dto.getId(), dto.name);
+        }
+    }
+}
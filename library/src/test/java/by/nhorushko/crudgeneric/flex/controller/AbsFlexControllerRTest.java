@@ -0,0 +1,173 @@
+package by.nhorushko.crudgeneric.flex.controller;
+
+import by.nhorushko.crudgeneric.flex.model.AbstractDto;
+import by.nhorushko.crudgeneric.flex.model.SettingsVoid;
+import by.nhorushko.crudgeneric.flex.service.AbsFlexServiceR;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+
+public class AbsFlexControllerRTest {
+
+    private ExecutorService executor;
+    private TestController controller;
+
+    @Before
+    public void setUp() {
+        executor = Executors.newFixedThreadPool(3);
+        controller = new TestController();
+        controller.setPostHandleExecutor(executor);
+        controller.setParallelPostHandleThreshold(10);
+        controller.setPostHandleParallelism(4);
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+        RequestContextHolder.resetRequestAttributes();
+        LocaleContextHolder.resetLocaleContext();
+    }
+
+    @Test
+    public void convertsLargeListInParallelKeepingOrder() {
+        List<String> views = controller.postHandle(dtos(1000), null);
+
+        assertEquals(1000, views.size());
+        for (int i = 0; i < views.size(); i++) {
+            assertEquals("view-" + i, views.get(i));
+        }
+        assertTrue(controller.threads.size() > 1);
+    }
+
+    @Test
+    public void convertsSmallListOnRequestThread() {
+        List<String> views = controller.postHandle(dtos(9), null);
+
+        assertEquals(9, views.size());
+        assertEquals(Set.of(Thread.currentThread().getName()), controller.threads);
+    }
+
+    @Test
+    public void propagatesRequestAttributesAndLocaleToWorkers() {
+        RequestAttributes attributes = mock(RequestAttributes.class);
+        RequestContextHolder.setRequestAttributes(attributes);
+        LocaleContextHolder.setLocale(Locale.GERMAN);
+
+        controller.postHandle(dtos(100), null);
+
+        assertEquals(Set.of(attributes), controller.attributes);
+        assertEquals(Set.of(Locale.GERMAN), controller.locales);
+    }
+
+    @Test
+    public void rethrowsWorkerFailure() {
+        controller.failOn = 999;
+
+        try {
+            controller.postHandle(dtos(1000), null);
+            fail();
+        } catch (IllegalStateException e) {
+            assertEquals("broken translation", e.getMessage());
+        }
+    }
+
+    @Test
+    public void awaitsWorkersWhenRequestThreadFails() {
+        controller.failOn = 0;
+        controller.sleepMillis = 1;
+
+        try {
+            controller.postHandle(dtos(1000), null);
+            fail();
+        } catch (IllegalStateException e) {
+            assertEquals("broken translation", e.getMessage());
+        }
+        assertEquals(0, controller.running.get());
+        assertTrue(controller.converted.get() < 750);
+    }
+
+    private static List<ItemDto> dtos(int count) {
+        List<ItemDto> dtos = new ArrayList<>(count);
+        for (long i = 0; i < count; i++) {
+            dtos.add(new ItemDto(i));
+        }
+        return dtos;
+    }
+
+    private static final class ItemDto implements AbstractDto<Long> {
+        private final Long id;
+
+        private ItemDto(Long id) {
+            this.id = id;
+        }
+
+        @Override
+        public Long getId() {
+            return id;
+        }
+    }
+
+    private static final class TestController
+            extends AbsFlexControllerR<Long, ItemDto, String, SettingsVoid, AbsFlexServiceR<Long, ?, ItemDto, ?>> {
+
+        private final Set<String> threads = ConcurrentHashMap.newKeySet();
+        private final Set<Object> attributes = ConcurrentHashMap.newKeySet();
+        private final Set<Locale> locales = ConcurrentHashMap.newKeySet();
+        private final AtomicInteger running = new AtomicInteger();
+        private final AtomicInteger converted = new AtomicInteger();
+        private volatile long failOn = -1;
+        private volatile long sleepMillis;
+
+        private TestController() {
+            super(null);
+        }
+
+        @Override
+        protected String postHandle(ItemDto dto, SettingsVoid settings) {
+            running.incrementAndGet();
+            try {
+                return convert(dto);
+            } finally {
+                running.decrementAndGet();
+            }
+        }
+
+        private String convert(ItemDto dto) {
+            if (dto.getId() == failOn) {
+                throw new IllegalStateException("broken translation");
+            }
+            if (sleepMillis > 0) {
+                try {
+                    Thread.sleep(sleepMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            converted.incrementAndGet();
+            threads.add(Thread.currentThread().getName());
+            RequestAttributes current = RequestContextHolder.getRequestAttributes();
+            if (current != null) {
+                attributes.add(current);
+            }
+            locales.add(LocaleContextHolder.getLocale());
+            return "view-" + dto.getId();
+        }
+    }
+}
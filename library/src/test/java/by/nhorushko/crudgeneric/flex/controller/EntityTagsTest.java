@@ -0,0 +1,51 @@
+package by.nhorushko.crudgeneric.flex.controller;
+
+import org.junit.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+public class EntityTagsTest {
+
+    @Test
+    public void buildsWeakTagFromVersionAndVariant() {
+        assertEquals("W/\"3\"", EntityTags.weak(3L, null));
+        assertEquals("W/\"3-de\"", EntityTags.weak(3L, "de"));
+    }
+
+    @Test
+    public void combinedTagDependsOnOrderVersionsAndMissingIds() {
+        Map<Long, Object> versions = Map.of(1L, 0L, 2L, 5L);
+
+        String tag = EntityTags.weak(List.of(1L, 2L), versions, null);
+
+        assertEquals(tag, EntityTags.weak(List.of(1L, 2L), Map.of(1L, 0L, 2L, 5L), null));
+        assertNotEquals(tag, EntityTags.weak(List.of(2L, 1L), versions, null));
+        assertNotEquals(tag, EntityTags.weak(List.of(1L, 2L), Map.of(1L, 0L, 2L, 6L), null));
+        assertNotEquals(tag, EntityTags.weak(List.of(1L, 2L), Map.of(1L, 0L), null));
+    }
+
+    @Test
+    public void comparesTagsWeakly() {
+        assertTrue(EntityTags.matches(List.of("\"7\""), "W/\"7\""));
+        assertTrue(EntityTags.matches(List.of("W/\"1\", W/\"7\""), "W/\"7\""));
+        assertTrue(EntityTags.matches(List.of("*"), "W/\"7\""));
+        assertFalse(EntityTags.matches(List.of("W/\"6\""), "W/\"7\""));
+    }
+
+    @Test
+    public void lastModifiedOnlyForTimestampVersions() {
+        Instant older = Instant.parse("2026-07-05T10:00:00Z");
+        Instant newer = Instant.parse("2026-07-06T10:00:00Z");
+
+        assertEquals(-1, EntityTags.lastModified(4L));
+        assertEquals(newer.toEpochMilli(), EntityTags.lastModified(List.of(1L, 2L), Map.of(1L, older, 2L, newer)));
+        assertEquals(-1, EntityTags.lastModified(List.of(1L, 2L), Map.of(1L, older)));
+    }
+}
@@ -0,0 +1,59 @@
+package by.nhorushko.crudgeneric.flex.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Test;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+
+public class StreamingExportTest {
+
+    @Test
+    public void quotesCsvFieldsOnlyWhenNeeded() {
+        assertEquals("plain", StreamingExport.csvField("plain"));
+        assertEquals("\"a,b\"", StreamingExport.csvField("a,b"));
+        assertEquals("\"say \"\"hi\"\"\"", StreamingExport.csvField("say \"hi\""));
+        assertEquals("\"two\nlines\"", StreamingExport.csvField("two\nlines"));
+    }
+
+    @Test
+    public void writesNullAsEmptyField() throws IOException {
+        StringWriter writer = new StringWriter();
+
+        StreamingExport.writeCsvLine(writer, Arrays.asList(1, null, "x"));
+
+        assertEquals("1,,x\r\n", writer.toString());
+    }
+
+    @Test
+    public void writesCsvHeaderAndRows() throws IOException {
+        ResponseEntity<StreamingResponseBody> response = StreamingExport.<Integer>csv("n.csv", List.of("n", "square"),
+                n -> List.of(n, n * n), rows -> List.of(2, 3).forEach(rows));
+
+        assertEquals("n,square\r\n2,4\r\n3,9\r\n", write(response));
+    }
+
+    @Test
+    public void writesOneJsonDocumentPerLine() throws IOException {
+        ResponseEntity<StreamingResponseBody> response = StreamingExport.ndjson(new ObjectMapper(),
+                rows -> List.of(Map.of("id", 1), Map.of("id", 2)).forEach(rows));
+
+        assertEquals("{\"id\":1}\n{\"id\":2}\n", write(response));
+        assertEquals(StreamingExport.NDJSON, response.getHeaders().getContentType());
+    }
+
+    private static String write(ResponseEntity<StreamingResponseBody> response) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
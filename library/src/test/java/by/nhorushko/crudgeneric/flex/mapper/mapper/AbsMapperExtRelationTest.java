@@ -0,0 +1,138 @@
+package by.nhorushko.crudgeneric.flex.mapper.mapper;
+
+import by.nhorushko.crudgeneric.flex.AbsModelMapper;
+import by.nhorushko.crudgeneric.flex.model.AbsCreateDto;
+import by.nhorushko.crudgeneric.flex.model.AbstractEntity;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class AbsMapperExtRelationTest {
+
+    @Mock
+    private AbsModelMapper mapper;
+
+    @Test
+    public void mapSetsRelationField() {
+        OwnerEntity owner = new OwnerEntity();
+        when(mapper.referenceById(7L, OwnerEntity.class)).thenReturn(owner);
+        when(mapper.map(any(ItemCreate.class), eq(ItemEntity.class))).thenAnswer(invocation -> new ItemEntity());
+
+        ItemEntity actual = new ItemMapper(mapper).map(7L, new ItemCreate());
+
+        assertSame(owner, actual.owner);
+    }
+
+    /**
+     * The relation is the same for every row of a batch, so one reference
+     * must be obtained and shared rather than one lookup per DTO.
+     */
+    @Test
+    public void mapAllSharesOneReference() {
+        OwnerEntity owner = new OwnerEntity();
+        when(mapper.referenceById(7L, OwnerEntity.class)).thenReturn(owner);
+        when(mapper.map(any(ItemCreate.class), eq(ItemEntity.class))).thenAnswer(invocation -> new ItemEntity());
+
+        List<ItemEntity> actual = new ItemMapper(mapper)
+                .mapAll(7L, List.of(new ItemCreate(), new ItemCreate(), new ItemCreate()));
+
+        assertEquals(3, actual.size());
+        actual.forEach(entity -> assertSame(owner, entity.owner));
+        verify(mapper, times(1)).referenceById(7L, OwnerEntity.class);
+    }
+
+    @Test
+    public void mapSetsRelationFieldDeclaredInSuperclass() {
+        OwnerEntity owner = new OwnerEntity();
+        when(mapper.referenceById(7L, OwnerEntity.class)).thenReturn(owner);
+        when(mapper.map(any(ItemCreate.class), eq(ChildItemEntity.class))).thenAnswer(invocation -> new ChildItemEntity());
+
+        ChildItemEntity actual = new AbsMapperExtRelation<ItemCreate, ChildItemEntity, Long, OwnerEntity>(
+                mapper, ChildItemEntity.class, OwnerEntity.class) {
+        }.map(7L, new ItemCreate());
+
+        assertSame(owner, ((ItemEntity) actual).owner);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructorRejectsEntityWithoutRelationField() {
+        new AbsMapperExtRelation<ItemCreate, OwnerEntity, Long, OwnerEntity>(mapper, OwnerEntity.class, OwnerEntity.class) {
+        };
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructorRejectsEntityWithMultipleRelationFields() {
+        new AbsMapperExtRelation<ItemCreate, TwoOwnersEntity, Long, OwnerEntity>(mapper, TwoOwnersEntity.class, OwnerEntity.class) {
+        };
+    }
+
+    @Test
+    public void namedFieldResolvesAmbiguousRelation() {
+        OwnerEntity owner = new OwnerEntity();
+        when(mapper.referenceById(7L, OwnerEntity.class)).thenReturn(owner);
+        when(mapper.map(any(ItemCreate.class), eq(TwoOwnersEntity.class))).thenAnswer(invocation -> new TwoOwnersEntity());
+
+        TwoOwnersEntity actual = new AbsMapperExtRelation<ItemCreate, TwoOwnersEntity, Long, OwnerEntity>(
+                mapper, TwoOwnersEntity.class, OwnerEntity.class, "reviewer") {
+        }.map(7L, new ItemCreate());
+
+        assertSame(owner, actual.reviewer);
+        assertNull(actual.author);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void namedFieldMustExist() {
+        new AbsMapperExtRelation<ItemCreate, TwoOwnersEntity, Long, OwnerEntity>(
+                mapper, TwoOwnersEntity.class, OwnerEntity.class, "missing") {
+        };
+    }
+
+    private static class ItemMapper extends AbsMapperExtRelation<ItemCreate, ItemEntity, Long, OwnerEntity> {
+        ItemMapper(AbsModelMapper mapper) {
+            super(mapper, ItemEntity.class, OwnerEntity.class);
+        }
+    }
+
+    public static class ItemCreate implements AbsCreateDto {
+    }
+
+    public static class ItemEntity {
+        private OwnerEntity owner;
+    }
+
+    public static class ChildItemEntity extends ItemEntity {
+        private String name;
+    }
+
+    public static class TwoOwnersEntity {
+        private OwnerEntity author;
+        private OwnerEntity reviewer;
+    }
+
+    public static class OwnerEntity implements AbstractEntity<Long> {
+        private Long id;
+
+        @Override
+        public Long getId() {
+            return id;
+        }
+
+        @Override
+        public void setId(Long id) {
+            this.id = id;
+        }
+    }
+}
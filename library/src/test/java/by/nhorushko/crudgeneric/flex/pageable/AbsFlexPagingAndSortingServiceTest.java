@@ -17,6 +17,7 @@ import org.springframework.data.util.TypeInformation;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 
 import static by.nhorushko.filterspecification.FilterOperation.CONTAINS;
 import static by.nhorushko.filterspecification.FilterOperation.EQUAL;
@@ -76,6 +77,11 @@ public class AbsFlexPagingAndSortingServiceTest {
         protected PersonDto toDto(PersonEntity entity) {
             return new PersonDto(entity.getId());
         }
+
+        @Override
+        protected Set<String> fetchPaths() {
+            return Set.of();
+        }
     }
 
     @SuppressWarnings("unchecked")
@@ -100,7 +106,7 @@ public class AbsFlexPagingAndSortingServiceTest {
 
         org.mockito.Mockito.verify(repository)
                 .findAll(org.mockito.ArgumentMatchers.<Specification<PersonEntity>>any(), pageable.capture());
-        assertEquals(PageRequest.of(2, 15, Sort.by(Sort.Direction.DESC, "user.id")), pageable.getValue());
+        assertEquals(PageRequest.of(2, 15, Sort.by(Sort.Direction.DESC, "user.id", "id")), pageable.getValue());
     }
 
     @Test
@@ -0,0 +1,131 @@
+package by.nhorushko.crudgeneric.flex.pageable;
+
+import jakarta.persistence.Tuple;
+import jakarta.persistence.metamodel.Attribute;
+import jakarta.persistence.metamodel.ManagedType;
+import org.junit.Test;
+
+import static by.nhorushko.filterspecification.FilterOperation.EQUAL;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class DtoProjectionTest {
+
+    private static class Person {
+    }
+
+    static class ImmutableDto {
+        private final Long id;
+        private final String name;
+
+        ImmutableDto(Long id, String name) {
+            this.id = id;
+            this.name = name;
+        }
+    }
+
+    static class MutableDto {
+        private static final String IGNORED = "static";
+        private Long id;
+        private String name;
+    }
+
+    static class PrimitiveIdDto {
+        private final long id;
+        private final String name;
+
+        PrimitiveIdDto(long id, String name) {
+            this.id = id;
+            this.name = name;
+        }
+    }
+
+    static class MutablePrimitiveIdDto {
+        private long id = -1;
+        private String name;
+    }
+
+    static class NumberNameDto {
+        private Long id;
+        private Integer name;
+    }
+
+    private final FilterFields<Person> fields = FilterFields.<Person>builder()
+            .ofLong("userId", "user.id", EQUAL)
+            .build();
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static ManagedType<Person> personType() {
+        ManagedType<Person> type = mock(ManagedType.class);
+        Attribute id = attribute(Long.class);
+        Attribute name = attribute(String.class);
+        doThrow(new IllegalArgumentException("no such attribute")).when(type).getAttribute(anyString());
+        doReturn(id).when(type).getAttribute("id");
+        doReturn(name).when(type).getAttribute("name");
+        return type;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Attribute attribute(Class<?> javaType) {
+        Attribute attribute = mock(Attribute.class);
+        when(attribute.getJavaType()).thenReturn((Class) javaType);
+        return attribute;
+    }
+
+    private static Tuple tuple(Object... values) {
+        Tuple tuple = mock(Tuple.class);
+        for (int i = 0; i < values.length; i++) {
+            when(tuple.get(i)).thenReturn(values[i]);
+        }
+        return tuple;
+    }
+
+    @Test
+    public void readsThroughAllArgsConstructor() {
+        ImmutableDto dto = DtoProjection.of(ImmutableDto.class, personType(), fields).read(tuple(5L, "ann"));
+
+        assertEquals(Long.valueOf(5L), dto.id);
+        assertEquals("ann", dto.name);
+    }
+
+    @Test
+    public void readsThroughNoArgsConstructorAndSkipsStaticFields() {
+        MutableDto dto = DtoProjection.of(MutableDto.class, personType(), fields).read(tuple(7L, "bob"));
+
+        assertEquals(Long.valueOf(7L), dto.id);
+        assertEquals("bob", dto.name);
+    }
+
+    @Test
+    public void readsNullIntoPrimitiveAsDefaultValue() {
+        PrimitiveIdDto dto = DtoProjection.of(PrimitiveIdDto.class, personType(), fields).read(tuple(null, "ann"));
+        MutablePrimitiveIdDto mutable = DtoProjection.of(MutablePrimitiveIdDto.class, personType(), fields)
+                .read(tuple(null, "bob"));
+
+        assertEquals(0L, dto.id);
+        assertEquals("ann", dto.name);
+        assertEquals(0L, mutable.id);
+        assertEquals("bob", mutable.name);
+    }
+
+    @Test
+    public void rejectsIncompatibleFieldType() {
+        assertThrows(IllegalStateException.class,
+                () -> DtoProjection.of(NumberNameDto.class, personType(), fields));
+    }
+
+    @Test
+    public void rejectsFieldWithoutEntityAttribute() {
+        class NicknameDto {
+            private String nickname;
+        }
+
+        assertThrows(IllegalStateException.class,
+                () -> DtoProjection.of(NicknameDto.class, personType(), fields));
+    }
+}
@@ -0,0 +1,106 @@
+package by.nhorushko.crudgeneric.flex.pageable;
+
+import jakarta.persistence.metamodel.Attribute;
+import jakarta.persistence.metamodel.ManagedType;
+import jakarta.persistence.metamodel.PluralAttribute;
+import jakarta.persistence.metamodel.SingularAttribute;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static by.nhorushko.filterspecification.FilterOperation.EQUAL;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class FetchPlanTest {
+
+    private static class Meeting {
+    }
+
+    static class MeetingRow {
+        private Long id;
+        private String title;
+        private Long regionId;
+        private String ownerName;
+        private List<String> lines;
+    }
+
+    private final FilterFields<Meeting> fields = FilterFields.<Meeting>builder()
+            .ofLong("regionId", "region.id", EQUAL)
+            .build();
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static ManagedType<Meeting> meetingType() {
+        ManagedType related = mock(ManagedType.class);
+        doReturn(basic("id")).when(related).getAttribute("id");
+        ManagedType<Meeting> type = mock(ManagedType.class);
+        doThrow(new IllegalArgumentException("no such attribute")).when(type).getAttribute(anyString());
+        doReturn(basic("id")).when(type).getAttribute("id");
+        doReturn(basic("title")).when(type).getAttribute("title");
+        doReturn(toOne("region", related)).when(type).getAttribute("region");
+        doReturn(toOne("owner", related)).when(type).getAttribute("owner");
+        doReturn(toMany("lines", related)).when(type).getAttribute("lines");
+        return type;
+    }
+
+    private static Attribute<?, ?> basic(String name) {
+        Attribute<?, ?> attribute = mock(Attribute.class);
+        when(attribute.getName()).thenReturn(name);
+        return attribute;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Attribute<?, ?> toOne(String name, ManagedType<?> target) {
+        SingularAttribute attribute = mock(SingularAttribute.class);
+        when(attribute.getName()).thenReturn(name);
+        when(attribute.isAssociation()).thenReturn(true);
+        when(attribute.getType()).thenReturn(target);
+        return attribute;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Attribute<?, ?> toMany(String name, ManagedType<?> target) {
+        PluralAttribute attribute = mock(PluralAttribute.class);
+        when(attribute.getName()).thenReturn(name);
+        when(attribute.isAssociation()).thenReturn(true);
+        when(attribute.isCollection()).thenReturn(true);
+        when(attribute.getElementType()).thenReturn(target);
+        return attribute;
+    }
+
+    @Test
+    public void derivesPathsFromFilterPathsAssociationsAndCamelCasePrefixes() {
+        Set<String> paths = FetchPlan.derive(MeetingRow.class, meetingType(), fields);
+
+        assertEquals(Set.of("region", "owner", "lines"), paths);
+    }
+
+    @Test
+    public void splitsToOneAndToManyPaths() {
+        FetchPlan plan = FetchPlan.of(meetingType(), List.of("region", "lines"));
+
+        assertFalse(plan.isEmpty());
+        assertTrue(plan.hasCollections());
+        assertEquals(1, plan.collections().size());
+        assertEquals("lines", plan.collections().get(0)[0]);
+    }
+
+    @Test
+    public void rejectsUnknownOrBasicPaths() {
+        assertThrows(IllegalStateException.class, () -> FetchPlan.of(meetingType(), List.of("nope")));
+        assertThrows(IllegalStateException.class, () -> FetchPlan.of(meetingType(), List.of("title")));
+    }
+
+    @Test
+    public void noPathsIsNone() {
+        assertTrue(FetchPlan.of(meetingType(), List.of()).isEmpty());
+    }
+}
@@ -0,0 +1,172 @@
+package by.nhorushko.crudgeneric.flex.pageable;
+
+import by.nhorushko.crudgeneric.flex.exception.FilterValidationException;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Predicate;
+import org.junit.Test;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.Optional;
+
+import static by.nhorushko.filterspecification.FilterOperation.CONTAINS;
+import static by.nhorushko.filterspecification.FilterOperation.EQUAL;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class FilterFieldsGroupTemplateTest {
+
+    private static class Person {
+    }
+
+    private final Predicate first = mock(Predicate.class);
+    private final Predicate second = mock(Predicate.class);
+
+    private final FilterFields<Person> fields = builder().build();
+
+    private FilterFields.Builder<Person> builder() {
+        return FilterFields.<Person>builder()
+                .string("name", CONTAINS)
+                .ofLong("userId", "user.id", EQUAL)
+                .custom("first", filter -> (root, query, cb) -> first)
+                .custom("second", filter -> (root, query, cb) -> second);
+    }
+
+    private static PageFilterRequest.FilterGroup and(PageFilterRequest.Filter... filters) {
+        return PageFilterRequest.pageRequestAnd(0, 10, "id", filters).getFilterGroup();
+    }
+
+    private static PageFilterRequest.Filter filter(String name, String value) {
+        return new PageFilterRequest.Filter(name, value);
+    }
+
+    @Test
+    public void sameShapeWithOtherValuesReusesTemplate() {
+        fields.toSpecification(and(filter("name", "like#jo"), filter("userId", "eq#1")));
+        fields.toSpecification(and(filter("name", "like#ann"), filter("userId", "eq#2")));
+
+        FilterTemplateCacheStats stats = fields.templateCacheStats();
+        assertEquals(1, stats.getMisses());
+        assertEquals(1, stats.getHits());
+        assertEquals(1, stats.getSize());
+    }
+
+    @Test
+    public void otherOperationOrConditionIsAnotherShape() {
+        fields.toSpecification(and(filter("name", "like#jo")));
+        fields.toSpecification(PageFilterRequest.pageRequestOr(0, 10, "id", filter("name", "like#jo"), filter("userId", "eq#1"))
+                .getFilterGroup());
+        fields.toSpecification(and(filter("name", "like#jo"), filter("userId", "eq#1")));
+
+        assertEquals(3, fields.templateCacheStats().getMisses());
+        assertEquals(3, fields.templateCacheStats().getSize());
+    }
+
+    @Test
+    public void validationErrorsAreNotCached() {
+        PageFilterRequest.FilterGroup group = and(filter("name", "eq#jo"));
+
+        assertThrows(FilterValidationException.class, () -> fields.toSpecification(group));
+        assertThrows(FilterValidationException.class, () -> fields.toSpecification(group));
+        assertEquals(0, fields.templateCacheStats().getSize());
+    }
+
+    @Test
+    public void unconvertibleValueIsRejectedOnCachedShape() {
+        fields.toSpecification(and(filter("userId", "eq#1")));
+
+        assertThrows(FilterValidationException.class, () -> fields.toSpecification(and(filter("userId", "eq#abc"))));
+        assertEquals(1, fields.templateCacheStats().getHits());
+    }
+
+    @Test
+    public void unknownFieldWithBlankValueIsRejected() {
+        PageFilterRequest.FilterGroup group = new PageFilterRequest.FilterGroup(
+                List.of(filter("nope", "")), PageFilterRequest.ConcatCondition.AND);
+
+        assertThrows(FilterValidationException.class, () -> fields.toSpecification(group));
+    }
+
+    @Test
+    public void blankOrEmptyGroupHasNoSpecification() {
+        PageFilterRequest.FilterGroup blank = new PageFilterRequest.FilterGroup(
+                List.of(filter("name", " ")), PageFilterRequest.ConcatCondition.AND);
+
+        assertEquals(Optional.empty(), fields.toSpecification(blank));
+        assertEquals(Optional.empty(), fields.toSpecification(and()));
+        assertEquals(Optional.empty(), fields.toSpecification((PageFilterRequest.FilterGroup) null));
+    }
+
+    @Test
+    public void singleFilterIsReturnedUnwrapped() {
+        CriteriaBuilder cb = mock(CriteriaBuilder.class);
+
+        Specification<Person> spec = fields.toSpecification(and(filter("first", "x"))).orElseThrow();
+
+        assertSame(first, spec.toPredicate(null, null, cb));
+    }
+
+    @Test
+    public void combinesFiltersAndSubGroupsFlat() {
+        CriteriaBuilder cb = mock(CriteriaBuilder.class);
+        Predicate disjunction = mock(Predicate.class);
+        Predicate conjunction = mock(Predicate.class);
+        when(cb.or(new Predicate[]{first, second})).thenReturn(disjunction);
+        when(cb.and(new Predicate[]{first, disjunction})).thenReturn(conjunction);
+        PageFilterRequest.FilterGroup subGroup = new PageFilterRequest.FilterGroup(
+                List.of(filter("first", "x"), filter("second", "y")), PageFilterRequest.ConcatCondition.OR);
+        PageFilterRequest.FilterGroup group = new PageFilterRequest.FilterGroup(
+                List.of(filter("first", "x"), filter("name", "")), PageFilterRequest.ConcatCondition.AND, List.of(subGroup));
+
+        Specification<Person> spec = fields.toSpecification(group).orElseThrow();
+
+        assertSame(conjunction, spec.toPredicate(null, null, cb));
+        verify(cb).or(new Predicate[]{first, second});
+    }
+
+    @Test
+    public void evictsLeastRecentlyUsedShape() {
+        FilterFields<Person> small = builder().templateCacheSize(1).build();
+
+        small.toSpecification(and(filter("name", "like#jo")));
+        small.toSpecification(and(filter("userId", "eq#1")));
+        small.toSpecification(and(filter("name", "like#jo")));
+
+        FilterTemplateCacheStats stats = small.templateCacheStats();
+        assertEquals(3, stats.getMisses());
+        assertEquals(2, stats.getEvictions());
+        assertEquals(1, stats.getSize());
+    }
+
+    @Test
+    public void zeroCacheSizeCompilesEveryTime() {
+        FilterFields<Person> uncached = builder().templateCacheSize(0).build();
+
+        assertTrue(uncached.toSpecification(and(filter("name", "like#jo"))).isPresent());
+        assertTrue(uncached.toSpecification(and(filter("name", "like#jo"))).isPresent());
+
+        assertEquals(0, uncached.templateCacheStats().getSize());
+        assertEquals(0, uncached.templateCacheStats().getHits());
+    }
+
+    @Test
+    public void describesShapeWithoutValuesInStableOrder() {
+        PageFilterRequest.FilterGroup group = new FilterGroupBuilder()
+                .and(and(filter("userId", "eq#1"), filter("name", "like#jo"), filter("first", " ")),
+                        FilterGroupBuilder.or(filter("name", "like#ann")))
+                .build();
+
+        assertEquals("and(and(name like, userId eq), or(name like))", FilterGroupTemplate.describe(group));
+    }
+
+    @Test
+    public void describesMissingOrBlankGroupAsNone() {
+        assertEquals("none", FilterGroupTemplate.describe(null));
+        assertEquals("none", FilterGroupTemplate.describe(and(filter("name", ""))));
+    }
+}
@@ -7,6 +7,7 @@ import org.springframework.data.domain.Sort;
 import static by.nhorushko.filterspecification.FilterOperation.CONTAINS;
 import static by.nhorushko.filterspecification.FilterOperation.EQUAL;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertThrows;
 
 public class FilterFieldsSortTest {
@@ -21,23 +22,114 @@ public class FilterFieldsSortTest {
 
     @Test
     public void parsesAscAndDesc() {
-        assertEquals(Sort.by(Sort.Direction.ASC, "name"), fields.sort("asc#name"));
-        assertEquals(Sort.by(Sort.Direction.DESC, "name"), fields.sort("desc#name"));
+        assertEquals(Sort.by(Sort.Direction.ASC, "name", "id"), fields.sort("asc#name"));
+        assertEquals(Sort.by(Sort.Direction.DESC, "name", "id"), fields.sort("desc#name"));
     }
 
     @Test
     public void barePropertyIsAscending() {
-        assertEquals(Sort.by(Sort.Direction.ASC, "name"), fields.sort("name"));
+        assertEquals(Sort.by(Sort.Direction.ASC, "name", "id"), fields.sort("name"));
     }
 
     @Test
     public void mapsPropertyThroughRegistry() {
-        assertEquals(Sort.by(Sort.Direction.DESC, "user.id"), fields.sort("desc#userId"));
+        assertEquals(Sort.by(Sort.Direction.DESC, "user.id", "id"), fields.sort("desc#userId"));
     }
 
     @Test
     public void unknownPropertyPassesThrough() {
+        assertEquals(Sort.by(Sort.Direction.ASC, "title", "id"), fields.sort("asc#title"));
+    }
+
+    @Test
+    public void tiebreakerIsNotRepeated() {
         assertEquals(Sort.by(Sort.Direction.ASC, "id"), fields.sort("asc#id"));
+        assertEquals(Sort.by(Sort.Order.asc("id"), Sort.Order.desc("name")), fields.sort("asc#id,desc#name"));
+    }
+
+    @Test
+    public void parsesMultipleColumns() {
+        assertEquals(Sort.by(Sort.Order.desc("user.id"), Sort.Order.asc("name"), Sort.Order.asc("id")),
+                fields.sort("desc#userId, asc#name"));
+    }
+
+    @Test
+    public void cachesParsedSort() {
+        assertSame(fields.sort("desc#userId,name"), fields.sort("desc#userId,name"));
+    }
+
+    @Test
+    public void repeatedPropertyIsRejected() {
+        assertThrows(FilterValidationException.class, () -> fields.sort("asc#name,desc#name"));
+        assertThrows(FilterValidationException.class, () -> fields.sort("asc#name,"));
+    }
+
+    @Test
+    public void onlyDeclaredSortablePropertiesAreAccepted() {
+        FilterFields<Person> sortable = FilterFields.<Person>builder()
+                .string("name", CONTAINS)
+                .ofLong("userId", "user.id", EQUAL)
+                .sortable("userId", "createdAt")
+                .build();
+
+        assertEquals(Sort.by(Sort.Order.asc("createdAt"), Sort.Order.desc("user.id"), Sort.Order.desc("id")),
+                sortable.sort("createdAt,desc#userId"));
+        assertEquals(Sort.by(Sort.Direction.DESC, "id"), sortable.sort("desc#id"));
+        assertThrows(FilterValidationException.class, () -> sortable.sort("asc#name"));
+        assertThrows(FilterValidationException.class, () -> sortable.sort("asc#title"));
+    }
+
+    @Test
+    public void unindexedCombinationIsRejectedUnderRejectPolicy() {
+        FilterFields<Person> indexed = FilterFields.<Person>builder()
+                .ofLong("userId", "user.id", EQUAL)
+                .sortable("name")
+                .indexed("userId", "createdAt")
+                .unindexedSort(FilterFields.UnindexedSortPolicy.REJECT)
+                .build();
+
+        assertEquals(Sort.by(Sort.Direction.DESC, "user.id", "createdAt", "id"),
+                indexed.sort("desc#userId,desc#createdAt"));
+        assertEquals(Sort.by(Sort.Direction.ASC, "user.id", "id"), indexed.sort("userId"));
+        assertEquals(Sort.by(Sort.Direction.ASC, "id"), indexed.sort("asc#id"));
+        assertThrows(FilterValidationException.class, () -> indexed.sort("asc#name"));
+        assertThrows(FilterValidationException.class, () -> indexed.sort("asc#createdAt"));
+        assertThrows(FilterValidationException.class, () -> indexed.sort("asc#createdAt,asc#userId"));
+        assertThrows(FilterValidationException.class, () -> indexed.sort("asc#userId,desc#createdAt"));
+    }
+
+    @Test
+    public void unindexedCombinationIsAcceptedUnderWarnPolicy() {
+        FilterFields<Person> indexed = FilterFields.<Person>builder()
+                .sortable("name")
+                .indexed("createdAt")
+                .build();
+
+        assertEquals(Sort.by(Sort.Direction.ASC, "name", "id"), indexed.sort("asc#name"));
+    }
+
+    @Test
+    public void customTiebreakerIsAppended() {
+        FilterFields<Person> uuid = FilterFields.<Person>builder()
+                .sortable("name")
+                .tiebreaker("uuid")
+                .build();
+
+        assertEquals(Sort.by(Sort.Direction.DESC, "name", "uuid"), uuid.sort("desc#name"));
+    }
+
+    @Test
+    public void defaultTiebreakerFollowsTheIdAttribute() {
+        FilterFields<Person> code = FilterFields.<Person>builder()
+                .defaultTiebreaker("code")
+                .build();
+        FilterFields<Person> composite = FilterFields.<Person>builder()
+                .defaultTiebreaker(null)
+                .build();
+
+        assertEquals(Sort.by(Sort.Direction.DESC, "name", "code"), code.sort("desc#name"));
+        assertEquals(Sort.by(Sort.Direction.DESC, "name"), composite.sort("desc#name"));
+        assertEquals(Sort.by(Sort.Direction.ASC, "id"), composite.sort("asc#id"));
     }
 
     @Test
@@ -0,0 +1,48 @@
+package by.nhorushko.crudgeneric.flex.pageable;
+
+import by.nhorushko.crudgeneric.flex.exception.FilterValidationException;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class KeysetCursorTest {
+
+    @Test
+    public void roundTripsAllParts() {
+        String encoded = new KeysetCursor(true, "asc#title", "a.b#c", "42").encode();
+
+        KeysetCursor decoded = KeysetCursor.decode(encoded, "asc#title");
+
+        assertTrue(decoded.backward);
+        assertEquals("asc#title", decoded.sort);
+        assertEquals("a.b#c", decoded.value);
+        assertEquals("42", decoded.id);
+    }
+
+    @Test
+    public void encodesAsUrlSafeText() {
+        String encoded = new KeysetCursor(false, "desc#id", null, "7").encode();
+
+        assertTrue(encoded.matches("[A-Za-z0-9_.-]+"));
+        assertFalse(KeysetCursor.decode(encoded, "desc#id").backward);
+    }
+
+    @Test(expected = FilterValidationException.class)
+    public void rejectsCursorOfAnotherSort() {
+        String encoded = new KeysetCursor(false, "asc#title", "x", "1").encode();
+
+        KeysetCursor.decode(encoded, "desc#title");
+    }
+
+    @Test(expected = FilterValidationException.class)
+    public void rejectsMalformedCursor() {
+        KeysetCursor.decode("not-a-cursor", "asc#id");
+    }
+
+    @Test(expected = FilterValidationException.class)
+    public void rejectsInvalidBase64() {
+        KeysetCursor.decode("k1.Zg.*.*.*", "asc#id");
+    }
+}
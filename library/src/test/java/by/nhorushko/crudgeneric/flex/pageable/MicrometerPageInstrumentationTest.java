@@ -0,0 +1,31 @@
+package by.nhorushko.crudgeneric.flex.pageable;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class MicrometerPageInstrumentationTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final MicrometerPageInstrumentation instrumentation = new MicrometerPageInstrumentation(registry);
+
+    @Test
+    public void recordsOneTimerPerServicePhaseAndShape() {
+        instrumentation.record("MeetingService", PagePhase.QUERY, "and(title like)", TimeUnit.MILLISECONDS.toNanos(3));
+        instrumentation.record("MeetingService", PagePhase.QUERY, "and(title like)", TimeUnit.MILLISECONDS.toNanos(5));
+        instrumentation.record("MeetingService", PagePhase.COUNT, "and(title like)", TimeUnit.MILLISECONDS.toNanos(1));
+
+        Timer query = registry.find("crud.page")
+                .tags("service", "MeetingService", "phase", "query", "shape", "and(title like)")
+                .timer();
+        assertEquals(2, query.count());
+        assertEquals(8, query.totalTime(TimeUnit.MILLISECONDS), 0.001);
+        assertEquals(1, registry.find("crud.page").tag("phase", "count").timer().count());
+        assertNull(registry.find("crud.page").tag("phase", "mapping").timer());
+    }
+}
@@ -0,0 +1,85 @@
+package by.nhorushko.crudgeneric.flex.pageable;
+
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+
+public class TotalCountCacheTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    private final TotalCountCache cache = new TotalCountCache(2, Duration.ofNanos(100), now::get);
+
+    @Test
+    public void keyIgnoresFilterOrderBlankFiltersAndPaging() {
+        PageFilterRequest first = PageFilterRequest.pageRequestAnd(0, 10, "asc#id",
+                new PageFilterRequest.Filter("title", "like#a"),
+                new PageFilterRequest.Filter("status", "eq#DONE"));
+        PageFilterRequest second = PageFilterRequest.pageRequestAnd(3, 50, "desc#title",
+                new PageFilterRequest.Filter("status", "eq#DONE"),
+                new PageFilterRequest.Filter("day", ""),
+                new PageFilterRequest.Filter("title", "like#a"));
+
+        assertEquals(TotalCountCache.key(first.getFilterGroup()), TotalCountCache.key(second.getFilterGroup()));
+    }
+
+    @Test
+    public void keyDistinguishesConditionsAndValues() {
+        PageFilterRequest.Filter title = new PageFilterRequest.Filter("title", "like#a");
+        PageFilterRequest.Filter status = new PageFilterRequest.Filter("status", "eq#DONE");
+
+        String and = TotalCountCache.key(PageFilterRequest.pageRequestAnd(0, 10, "id", title, status).getFilterGroup());
+        String or = TotalCountCache.key(PageFilterRequest.pageRequestOr(0, 10, "id", title, status).getFilterGroup());
+        String other = TotalCountCache.key(PageFilterRequest.pageRequestAnd(0, 10, "id", title,
+                new PageFilterRequest.Filter("status", "eq#PLANNED")).getFilterGroup());
+
+        assertNotEquals(and, or);
+        assertNotEquals(and, other);
+    }
+
+    @Test
+    public void keyDistinguishesEntities() {
+        PageFilterRequest.FilterGroup none = PageFilterRequest.pageRequestAnd(0, 10, "id").getFilterGroup();
+
+        assertNotEquals(TotalCountCache.key(String.class, none), TotalCountCache.key(Integer.class, none));
+        assertEquals(TotalCountCache.key(String.class, none), TotalCountCache.key(String.class, null));
+    }
+
+    @Test
+    public void keyOfEmptyGroupIsEmpty() {
+        PageFilterRequest.FilterGroup group = new PageFilterRequest.FilterGroup(
+                List.of(new PageFilterRequest.Filter("title", " ")), PageFilterRequest.ConcatCondition.AND);
+
+        assertEquals("", TotalCountCache.key(group));
+        assertEquals("", TotalCountCache.key(null));
+    }
+
+    @Test
+    public void expiresAfterTtl() {
+        cache.put("k", 5);
+        now.set(99);
+        assertEquals(Long.valueOf(5), cache.get("k"));
+
+        now.set(100);
+        assertNull(cache.get("k"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void evictsLeastRecentlyUsedBeyondMaxSize() {
+        cache.put("a", 1);
+        cache.put("b", 2);
+        cache.get("a");
+        cache.put("c", 3);
+
+        assertEquals(Long.valueOf(1), cache.get("a"));
+        assertNull(cache.get("b"));
+        assertEquals(Long.valueOf(3), cache.get("c"));
+    }
+}
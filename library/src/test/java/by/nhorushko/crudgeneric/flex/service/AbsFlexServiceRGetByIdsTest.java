@@ -0,0 +1,146 @@
+package by.nhorushko.crudgeneric.flex.service;
+
+import by.nhorushko.crudgeneric.flex.AbsModelMapper;
+import by.nhorushko.crudgeneric.flex.exception.AppNotFoundException;
+import by.nhorushko.crudgeneric.flex.model.AbstractDto;
+import by.nhorushko.crudgeneric.flex.model.AbstractEntity;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class AbsFlexServiceRGetByIdsTest {
+
+    @Mock
+    private AbsModelMapper mapper;
+
+    @Mock
+    private JpaRepository<ItemEntity, Long> repository;
+
+    private final List<List<Long>> queried = new ArrayList<>();
+
+    private AbsFlexServiceR<Long, ItemEntity, ItemDto, JpaRepository<ItemEntity, Long>> service;
+
+    @Before
+    public void setUp() {
+        service = new AbsFlexServiceR<>(mapper, repository, ItemEntity.class, ItemDto.class) {
+            @Override
+            protected int getByIdChunkSize() {
+                return 4;
+            }
+        };
+    }
+
+    @Test
+    public void returnsDtosInInputOrderWithoutDuplicates() {
+        stubRepository(1L, 2L, 3L);
+        stubMapper();
+
+        List<ItemDto> actual = service.getById(Arrays.asList(3L, 1L, 3L, 2L));
+
+        assertEquals(Arrays.asList(3L, 1L, 2L), ids(actual));
+    }
+
+    @Test
+    public void queriesChunksPaddedToPowerOfTwo() {
+        stubRepository();
+
+        service.getById(LongStream.rangeClosed(1, 7).boxed().collect(Collectors.toList()));
+
+        assertEquals(Arrays.asList(
+                Arrays.asList(1L, 2L, 3L, 4L),
+                Arrays.asList(5L, 6L, 7L, 7L)), queried);
+    }
+
+    @Test
+    public void skipsMissingIdsByDefault() {
+        stubRepository(1L);
+        stubMapper();
+
+        List<ItemDto> actual = service.getById(Arrays.asList(1L, 9L));
+
+        assertEquals(List.of(1L), ids(actual));
+    }
+
+    @Test
+    public void reportsAllMissingIdsWhenRequired() {
+        stubRepository(1L);
+
+        try {
+            service.getById(Arrays.asList(8L, 1L, 9L), true);
+            fail("expected AppNotFoundException");
+        } catch (AppNotFoundException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("[8, 9]"));
+        }
+    }
+
+    private void stubRepository(Long... existing) {
+        List<Long> existingIds = Arrays.asList(existing);
+        when(repository.findAllById(anyIterable())).thenAnswer(invocation -> {
+            List<Long> ids = new ArrayList<>();
+            invocation.<Iterable<Long>>getArgument(0).forEach(ids::add);
+            queried.add(ids);
+            return ids.stream().distinct().filter(existingIds::contains).map(ItemEntity::new).collect(Collectors.toList());
+        });
+    }
+
+    private void stubMapper() {
+        when(mapper.mapAll(anyCollection(), eq(ItemDto.class))).thenAnswer(invocation -> invocation
+                .<Collection<ItemEntity>>getArgument(0).stream()
+                .map(entity -> new ItemDto(entity.getId()))
+                .collect(Collectors.toList()));
+    }
+
+    private static List<Long> ids(List<ItemDto> dtos) {
+        return dtos.stream().map(ItemDto::getId).collect(Collectors.toList());
+    }
+
+    public static class ItemEntity implements AbstractEntity<Long> {
+        private Long id;
+
+        public ItemEntity(Long id) {
+            this.id = id;
+        }
+
+        @Override
+        public Long getId() {
+            return id;
+        }
+
+        @Override
+        public void setId(Long id) {
+            this.id = id;
+        }
+    }
+
+    public static class ItemDto implements AbstractDto<Long> {
+        private final Long id;
+
+        public ItemDto(Long id) {
+            this.id = id;
+        }
+
+        @Override
+        public Long getId() {
+            return id;
+        }
+    }
+}
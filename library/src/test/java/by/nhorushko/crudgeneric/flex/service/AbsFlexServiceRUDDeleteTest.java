@@ -18,7 +18,9 @@ import java.util.List;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -70,6 +72,35 @@ public class AbsFlexServiceRUDDeleteTest {
         assertTrue(events.isEmpty());
     }
 
+    @Test
+    public void deleteAllRemovesExistingEntitiesAndRunsHooksOnlyForThem() {
+        List<ItemEntity> existing = Arrays.asList(entity(5L), entity(6L));
+        when(repository.findAllById(Arrays.asList(5L, 9L, 6L))).thenReturn(existing);
+
+        service.deleteAll(Arrays.asList(5L, 9L, 6L, 5L));
+
+        verify(repository, times(1)).findAllById(anyIterable());
+        verify(repository).deleteAll(existing);
+        verify(repository, never()).existsById(any());
+        assertEquals(Arrays.asList("before:5", "before:6", "after:5", "after:6"), events);
+    }
+
+    @Test
+    public void deleteAllWithOnlyMissingIdsIsSilentNoOp() {
+        when(repository.findAllById(Arrays.asList(8L, 9L))).thenReturn(List.of());
+
+        service.deleteAll(Arrays.asList(8L, 9L));
+
+        verify(repository, never()).deleteAll(anyIterable());
+        assertTrue(events.isEmpty());
+    }
+
+    private ItemEntity entity(Long id) {
+        ItemEntity entity = new ItemEntity();
+        entity.setId(id);
+        return entity;
+    }
+
     public static class ItemEntity implements AbstractEntity<Long> {
         private Long id;
 
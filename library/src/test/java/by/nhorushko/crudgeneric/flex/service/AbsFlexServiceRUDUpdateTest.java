@@ -0,0 +1,200 @@
+package by.nhorushko.crudgeneric.flex.service;
+
+import by.nhorushko.crudgeneric.flex.AbsModelMapper;
+import by.nhorushko.crudgeneric.flex.exception.AppNotFoundException;
+import by.nhorushko.crudgeneric.flex.model.AbsUpdateDto;
+import by.nhorushko.crudgeneric.flex.model.AbstractDto;
+import by.nhorushko.crudgeneric.flex.model.AbstractEntity;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class AbsFlexServiceRUDUpdateTest {
+
+    @Mock
+    private AbsModelMapper mapper;
+
+    @Mock
+    private JpaRepository<ItemEntity, Long> repository;
+
+    private final List<String> events = new ArrayList<>();
+
+    private AbsFlexServiceRUD<Long, ItemEntity, ItemDto, ItemUpdate, JpaRepository<ItemEntity, Long>> service;
+
+    @Before
+    public void setUp() {
+        service = new HookableService();
+    }
+
+    /**
+     * For AbsUpdateChangesHookable services the previous state must be taken
+     * from the entity the update loads, not from a separate getById read.
+     */
+    @Test
+    public void updateSnapshotsPreviousFromLoadedEntity() {
+        when(repository.findById(1L)).thenReturn(Optional.of(new ItemEntity(1L, "a")));
+        when(repository.save(any(ItemEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        stubMapping();
+
+        ItemDto actual = service.update(new ItemUpdate(1L, "a2"));
+
+        assertEquals("a2", actual.name);
+        verify(repository, times(1)).findById(1L);
+        assertEquals(Arrays.asList("before:1", "changes-before:a->a2", "after:a2", "changes-after:a->a2"), events);
+    }
+
+    @Test
+    public void updateAllLoadsTargetsOnceAndRunsHooksPerElement() {
+        when(repository.findAllById(anyIterable()))
+                .thenReturn(Arrays.asList(new ItemEntity(1L, "a"), new ItemEntity(2L, "b")));
+        stubMapping();
+
+        List<ItemDto> actual = service.updateAll(Arrays.asList(new ItemUpdate(2L, "b2"), new ItemUpdate(1L, "a2")));
+
+        assertEquals(Arrays.asList("b2", "a2"), Arrays.asList(actual.get(0).name, actual.get(1).name));
+        verify(repository, times(1)).findAllById(anyIterable());
+        verify(repository, never()).findById(any());
+        verify(repository).saveAll(anyCollection());
+        assertEquals(Arrays.asList(
+                "before:2", "changes-before:b->b2",
+                "before:1", "changes-before:a->a2",
+                "after:b2", "changes-after:b->b2",
+                "after:a2", "changes-after:a->a2"), events);
+    }
+
+    @Test
+    public void updateAllReportsAllMissingIdsAndUpdatesNothing() {
+        when(repository.findAllById(anyIterable())).thenReturn(List.of(new ItemEntity(1L, "a")));
+
+        try {
+            service.updateAll(Arrays.asList(new ItemUpdate(1L, "x"), new ItemUpdate(7L, "y"), new ItemUpdate(8L, "z")));
+            fail("expected AppNotFoundException");
+        } catch (AppNotFoundException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("[7, 8]"));
+        }
+
+        verify(repository, never()).saveAll(anyCollection());
+        assertTrue(events.isEmpty());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void updateAllRejectsDtoWithoutId() {
+        service.updateAll(List.of(new ItemUpdate(null, "x")));
+    }
+
+    private void stubMapping() {
+        when(mapper.map(any(ItemEntity.class), eq(ItemDto.class)))
+                .thenAnswer(invocation -> ItemDto.of(invocation.getArgument(0)));
+        doAnswer(invocation -> {
+            ItemUpdate dto = invocation.getArgument(0);
+            ItemEntity entity = invocation.getArgument(1);
+            entity.name = dto.name;
+            return entity;
+        }).when(mapper).map(any(ItemUpdate.class), any(ItemEntity.class));
+    }
+
+    private class HookableService
+            extends AbsFlexServiceRUD<Long, ItemEntity, ItemDto, ItemUpdate, JpaRepository<ItemEntity, Long>>
+            implements AbsUpdateChangesHookable<Long, ItemDto> {
+
+        HookableService() {
+            super(mapper, repository, ItemEntity.class, ItemDto.class, ItemUpdate.class);
+        }
+
+        @Override
+        protected void beforeUpdateHook(AbstractDto<Long> dto) {
+            events.add("before:" + dto.getId());
+        }
+
+        @Override
+        protected void afterUpdateHook(ItemDto dto) {
+            events.add("after:" + dto.name);
+        }
+
+        @Override
+        public void beforeUpdateHook(ItemDto previous, AbstractDto<Long> current) {
+            events.add("changes-before:" + previous.name + "->" + ((ItemUpdate) current).name);
+        }
+
+        @Override
+        public void afterUpdateHook(ItemDto previous, ItemDto current) {
+            events.add("changes-after:" + previous.name + "->" + current.name);
+        }
+    }
+
+    public static class ItemEntity implements AbstractEntity<Long> {
+        private Long id;
+        private String name;
+
+        public ItemEntity(Long id, String name) {
+            this.id = id;
+            this.name = name;
+        }
+
+        @Override
+        public Long getId() {
+            return id;
+        }
+
+        @Override
+        public void setId(Long id) {
+            this.id = id;
+        }
+    }
+
+    public static class ItemDto implements AbstractDto<Long> {
+        private final Long id;
+        private final String name;
+
+        private ItemDto(Long id, String name) {
+            this.id = id;
+            this.name = name;
+        }
+
+        static ItemDto of(ItemEntity entity) {
+            return new ItemDto(entity.id, entity.name);
+        }
+
+        @Override
+        public Long getId() {
+            return id;
+        }
+    }
+
+    public static class ItemUpdate implements AbsUpdateDto<Long> {
+        private final Long id;
+        private final String name;
+
+        public ItemUpdate(Long id, String name) {
+            this.id = id;
+            this.name = name;
+        }
+
+        @Override
+        public Long getId() {
+            return id;
+        }
+    }
+}
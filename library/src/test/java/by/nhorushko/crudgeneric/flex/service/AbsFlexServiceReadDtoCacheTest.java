@@ -0,0 +1,193 @@
+package by.nhorushko.crudgeneric.flex.service;
+
+import by.nhorushko.crudgeneric.flex.AbsModelMapper;
+import by.nhorushko.crudgeneric.flex.cache.LruReadDtoCache;
+import by.nhorushko.crudgeneric.flex.model.AbsUpdateDto;
+import by.nhorushko.crudgeneric.flex.model.AbstractDto;
+import by.nhorushko.crudgeneric.flex.model.AbstractEntity;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class AbsFlexServiceReadDtoCacheTest {
+
+    @Mock
+    private AbsModelMapper mapper;
+
+    @Mock
+    private JpaRepository<ItemEntity, Long> repository;
+
+    private final LruReadDtoCache cache = new LruReadDtoCache(100, Duration.ofMinutes(1));
+
+    private AbsFlexServiceRUD<Long, ItemEntity, ItemDto, ItemUpdate, JpaRepository<ItemEntity, Long>> service;
+
+    @Before
+    public void setUp() {
+        service = new AbsFlexServiceRUD<>(mapper, repository, ItemEntity.class, ItemDto.class, ItemUpdate.class) {
+        };
+        service.setReadDtoCache(cache);
+    }
+
+    @Test
+    public void getByIdReadsThroughCache() {
+        when(repository.findById(1L)).thenReturn(Optional.of(new ItemEntity(1L)));
+        when(mapper.map(any(ItemEntity.class), eq(ItemDto.class))).thenAnswer(invocation -> new ItemDto(1L));
+
+        ItemDto first = service.getById(1L);
+        ItemDto second = service.getById(1L);
+
+        assertEquals(first.getId(), second.getId());
+        verify(repository, times(1)).findById(1L);
+        assertEquals(1, cache.stats().getHits());
+        assertEquals(1, cache.stats().getMisses());
+    }
+
+    @Test
+    public void mutatingReturnedDtoDoesNotChangeCache() {
+        when(repository.findById(1L)).thenReturn(Optional.of(new ItemEntity(1L)));
+        when(mapper.map(any(ItemEntity.class), eq(ItemDto.class))).thenAnswer(invocation -> new ItemDto(1L, "cached"));
+
+        service.getById(1L).name = "changed by first reader";
+        ItemDto hit = service.getById(1L);
+        hit.name = "changed by second reader";
+
+        assertNotSame(hit, service.getById(1L));
+        assertEquals("cached", service.getById(1L).name);
+    }
+
+    @Test
+    public void readOverlappingEvictionIsNotCached() {
+        when(repository.findById(1L)).thenAnswer(invocation -> {
+            service.evictReadDtos(List.of(1L));
+            return Optional.of(new ItemEntity(1L));
+        });
+        when(mapper.map(any(ItemEntity.class), eq(ItemDto.class))).thenAnswer(invocation -> new ItemDto(1L));
+
+        service.getById(1L);
+
+        assertEquals(0, cache.stats().getSize());
+    }
+
+    @Test
+    public void getByIdsLoadsOnlyUncachedIds() {
+        cache.put(ItemDto.class, 2L, new ItemDto(2L));
+        when(repository.findAllById(anyIterable())).thenReturn(Arrays.asList(new ItemEntity(1L), new ItemEntity(3L)));
+        when(mapper.mapAll(anyCollection(), eq(ItemDto.class))).thenAnswer(invocation -> invocation
+                .<Collection<ItemEntity>>getArgument(0).stream()
+                .map(entity -> new ItemDto(entity.getId()))
+                .collect(Collectors.toList()));
+
+        List<ItemDto> actual = service.getById(Arrays.asList(3L, 2L, 1L));
+
+        assertEquals(Arrays.asList(3L, 2L, 1L), actual.stream().map(ItemDto::getId).collect(Collectors.toList()));
+        verify(repository).findAllById(Arrays.asList(3L, 1L));
+        assertEquals(3, cache.stats().getSize());
+    }
+
+    @Test
+    public void deleteEvictsCachedDto() {
+        cache.put(ItemDto.class, 1L, new ItemDto(1L));
+        when(repository.existsById(1L)).thenReturn(true);
+
+        service.delete(1L);
+
+        assertEquals(0, cache.stats().getSize());
+    }
+
+    @Test
+    public void dtoThatCannotBeCopiedIsReadUncached() {
+        AbsFlexServiceR<Long, ItemEntity, LabelDto, JpaRepository<ItemEntity, Long>> labels =
+                new AbsFlexServiceR<>(mapper, repository, ItemEntity.class, LabelDto.class) {
+                };
+        labels.setReadDtoCache(cache);
+        when(repository.findById(1L)).thenReturn(Optional.of(new ItemEntity(1L)));
+        when(mapper.map(any(ItemEntity.class), eq(LabelDto.class))).thenAnswer(invocation -> new LabelDto(1L));
+
+        labels.getById(1L);
+        labels.getById(1L);
+
+        verify(repository, times(2)).findById(1L);
+        assertEquals(0, cache.stats().getSize());
+    }
+
+    public static class ItemEntity implements AbstractEntity<Long> {
+        private Long id;
+
+        public ItemEntity(Long id) {
+            this.id = id;
+        }
+
+        @Override
+        public Long getId() {
+            return id;
+        }
+
+        @Override
+        public void setId(Long id) {
+            this.id = id;
+        }
+    }
+
+    public static class ItemDto implements AbstractDto<Long> {
+        private final Long id;
+        private String name;
+
+        public ItemDto(Long id) {
+            this(id, null);
+        }
+
+        public ItemDto(Long id, String name) {
+            this.id = id;
+            this.name = name;
+        }
+
+        @Override
+        public Long getId() {
+            return id;
+        }
+    }
+
+    public static class LabelDto implements AbstractDto<Long> {
+        private final Long id;
+        private String label;
+
+        public LabelDto(Long id) {
+            this.id = id;
+        }
+
+        @Override
+        public Long getId() {
+            return id;
+        }
+    }
+
+    public static class ItemUpdate implements AbsUpdateDto<Long> {
+        private Long id;
+
+        @Override
+        public Long getId() {
+            return id;
+        }
+    }
+}
@@ -1,13 +1,25 @@
 package by.nhorushko.crudgenerictest.controller;
 
+import by.nhorushko.crudgeneric.flex.controller.StreamingExport;
+import by.nhorushko.crudgeneric.flex.model.FieldSelection;
+import by.nhorushko.crudgeneric.flex.pageable.FacetedPage;
+import by.nhorushko.crudgeneric.flex.pageable.KeysetPage;
 import by.nhorushko.crudgeneric.flex.pageable.PageFilterRequest;
+import by.nhorushko.crudgeneric.flex.pageable.PreparedStream;
 import by.nhorushko.crudgenerictest.domain.dto.MeetingDto;
+import by.nhorushko.crudgenerictest.domain.entity.MeetingEntity;
 import by.nhorushko.crudgenerictest.service.MeetingPageableService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.data.domain.Page;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.Arrays;
+import java.util.List;
 
 import static by.nhorushko.crudgeneric.flex.pageable.PageFilterRequest.pageRequestAnd;
 
@@ -16,9 +28,11 @@ import static by.nhorushko.crudgeneric.flex.pageable.PageFilterRequest.pageReque
 public class MeetingController {
 
     private final MeetingPageableService service;
+    private final ObjectMapper objectMapper;
 
-    public MeetingController(MeetingPageableService service) {
+    public MeetingController(MeetingPageableService service, ObjectMapper objectMapper) {
         this.service = service;
+        this.objectMapper = objectMapper;
     }
 
     @GetMapping("/page")
@@ -30,7 +44,8 @@ public class MeetingController {
             @RequestParam(value = "statusFilter", required = false) String statusFilter,
             @RequestParam(value = "startTimeFilter", required = false) String startTimeFilter,
             @RequestParam(value = "regionIdFilter", required = false) String regionIdFilter,
-            @RequestParam(value = "dayFilter", required = false) String dayFilter) {
+            @RequestParam(value = "dayFilter", required = false) String dayFilter,
+            @RequestParam(value = "fields", required = false) String fields) {
 
         PageFilterRequest request = pageRequestAnd(page, size, sort,
                 new PageFilterRequest.Filter("title", titleFilter),
@@ -38,6 +53,66 @@ public class MeetingController {
                 new PageFilterRequest.Filter("startTime", startTimeFilter),
                 new PageFilterRequest.Filter("regionId", regionIdFilter),
                 new PageFilterRequest.Filter("day", dayFilter));
-        return service.page(request);
+        return service.page(request.withFields(FieldSelection.parse(fields)));
+    }
+
+    @GetMapping("/faceted")
+    public FacetedPage<MeetingDto> faceted(
+            @RequestParam(value = "page", required = false, defaultValue = "0") int page,
+            @RequestParam(value = "size", required = false, defaultValue = "20") int size,
+            @RequestParam(value = "sort", required = false, defaultValue = "desc#id") String sort,
+            @RequestParam(value = "facets", required = false, defaultValue = "status,regionId") List<String> facets,
+            @RequestParam(value = "titleFilter", required = false) String titleFilter,
+            @RequestParam(value = "statusFilter", required = false) String statusFilter,
+            @RequestParam(value = "regionIdFilter", required = false) String regionIdFilter) {
+
+        PageFilterRequest request = pageRequestAnd(page, size, sort,
+                new PageFilterRequest.Filter("title", titleFilter),
+                new PageFilterRequest.Filter("status", statusFilter),
+                new PageFilterRequest.Filter("regionId", regionIdFilter));
+        return service.facetedPage(request, facets.toArray(new String[0]));
+    }
+
+    @GetMapping("/keyset")
+    public KeysetPage<MeetingDto> keyset(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", required = false, defaultValue = "20") int size,
+            @RequestParam(value = "sort", required = false, defaultValue = "desc#id") String sort,
+            @RequestParam(value = "titleFilter", required = false) String titleFilter,
+            @RequestParam(value = "statusFilter", required = false) String statusFilter) {
+
+        PageFilterRequest request = pageRequestAnd(0, size, sort,
+                new PageFilterRequest.Filter("title", titleFilter),
+                new PageFilterRequest.Filter("status", statusFilter));
+        return service.keysetPage(request, cursor);
+    }
+
+    @GetMapping(value = "/export/ndjson", produces = StreamingExport.NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportNdjson(
+            @RequestParam(value = "sort", required = false, defaultValue = "asc#id") String sort,
+            @RequestParam(value = "titleFilter", required = false) String titleFilter,
+            @RequestParam(value = "statusFilter", required = false) String statusFilter) {
+
+        PreparedStream<MeetingEntity> export = service.prepareStream(exportRequest(sort, titleFilter, statusFilter));
+        return StreamingExport.ndjson(objectMapper, rows -> service.stream(export, rows));
+    }
+
+    @GetMapping(value = "/export/csv", produces = "text/csv")
+    public ResponseEntity<StreamingResponseBody> exportCsv(
+            @RequestParam(value = "sort", required = false, defaultValue = "asc#id") String sort,
+            @RequestParam(value = "titleFilter", required = false) String titleFilter,
+            @RequestParam(value = "statusFilter", required = false) String statusFilter) {
+
+        PreparedStream<MeetingEntity> export = service.prepareStream(exportRequest(sort, titleFilter, statusFilter));
+        return StreamingExport.<MeetingDto>csv("meetings.csv",
+                List.of("id", "title", "status", "startTime"),
+                dto -> Arrays.asList(dto.getId(), dto.getTitle(), dto.getStatus(), dto.getStartTime()),
+                rows -> service.stream(export, rows));
+    }
+
+    private static PageFilterRequest exportRequest(String sort, String titleFilter, String statusFilter) {
+        return pageRequestAnd(0, Integer.MAX_VALUE, sort,
+                new PageFilterRequest.Filter("title", titleFilter),
+                new PageFilterRequest.Filter("status", statusFilter));
     }
 }
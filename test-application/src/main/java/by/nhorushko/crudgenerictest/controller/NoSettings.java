@@ -0,0 +1,9 @@
+package by.nhorushko.crudgenerictest.controller;
+
+import by.nhorushko.crudgeneric.flex.model.SettingsVoid;
+
+/**
+ * Empty request settings for controllers that do not customise their views.
+ */
+public class NoSettings implements SettingsVoid {
+}
@@ -0,0 +1,23 @@
+package by.nhorushko.crudgenerictest.controller;
+
+import by.nhorushko.crudgeneric.flex.controller.AbsFlexControllerCRUD;
+import by.nhorushko.crudgenerictest.domain.dto.NoteCreateDto;
+import by.nhorushko.crudgenerictest.domain.dto.NoteDto;
+import by.nhorushko.crudgenerictest.domain.dto.NoteUpdateDto;
+import by.nhorushko.crudgenerictest.service.NoteServiceCRUD;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/note")
+public class NoteController extends AbsFlexControllerCRUD<Long, NoteDto, NoteDto, NoteUpdateDto, NoteCreateDto, NoSettings, NoteServiceCRUD> {
+
+    public NoteController(NoteServiceCRUD service) {
+        super(service);
+    }
+
+    @Override
+    protected NoteDto postHandle(NoteDto dto, NoSettings settings) {
+        return dto;
+    }
+}
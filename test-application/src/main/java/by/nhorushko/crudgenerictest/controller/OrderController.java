@@ -0,0 +1,58 @@
+package by.nhorushko.crudgenerictest.controller;
+
+import by.nhorushko.crudgeneric.flex.controller.AbsFlexControllerCRUD;
+import by.nhorushko.crudgeneric.flex.exception.AuthenticationException;
+import by.nhorushko.crudgenerictest.domain.dto.OrderCreateDto;
+import by.nhorushko.crudgenerictest.domain.dto.OrderDto;
+import by.nhorushko.crudgenerictest.domain.dto.OrderUpdateDto;
+import by.nhorushko.crudgenerictest.service.OrderServiceCRUD;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/order")
+public class OrderController extends AbsFlexControllerCRUD<Long, OrderDto, OrderDto, OrderUpdateDto, OrderCreateDto, NoSettings, OrderServiceCRUD> {
+
+    /**
+     * Name of an order no client may delete or read.
+     */
+    static final String LOCKED = "locked";
+
+    public OrderController(OrderServiceCRUD service) {
+        super(service);
+    }
+
+    @Override
+    protected OrderDto postHandle(OrderDto dto, NoSettings settings) {
+        return dto;
+    }
+
+    @Override
+    protected void afterSaveHook(OrderCreateDto obj, HttpServletRequest request) {
+        if ("unannounced".equals(obj.getName())) {
+            throw new IllegalStateException("Order announcement failed");
+        }
+    }
+
+    @Override
+    protected void afterGetByIdHook(OrderDto dto, HttpServletRequest request) {
+        if (LOCKED.equals(dto.getName())) {
+            throw new AuthenticationException("Order " + dto.getId() + " is locked");
+        }
+    }
+
+    @Override
+    protected void beforeDeleteHook(Long id, HttpServletRequest request) {
+        service.getByIdOptional(id)
+                .filter(order -> LOCKED.equals(order.getName()))
+                .ifPresent(order -> {
+                    throw new AuthenticationException("Order " + id + " is locked");
+                });
+    }
+
+    @Override
+    protected int batchChunkSize() {
+        return 2;
+    }
+}
@@ -0,0 +1,13 @@
+package by.nhorushko.crudgenerictest.domain.dto;
+
+import by.nhorushko.crudgeneric.flex.model.AbsCreateDto;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NoteCreateDto implements AbsCreateDto {
+    private String text;
+}
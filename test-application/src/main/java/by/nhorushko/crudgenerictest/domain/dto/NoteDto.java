@@ -0,0 +1,10 @@
+package by.nhorushko.crudgenerictest.domain.dto;
+
+import by.nhorushko.crudgeneric.flex.model.AbstractDto;
+import lombok.Value;
+
+@Value
+public class NoteDto implements AbstractDto<Long> {
+    Long id;
+    String text;
+}
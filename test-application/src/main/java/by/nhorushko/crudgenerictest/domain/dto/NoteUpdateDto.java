@@ -0,0 +1,16 @@
+package by.nhorushko.crudgenerictest.domain.dto;
+
+import by.nhorushko.crudgeneric.flex.model.AbsUpdateDto;
+import by.nhorushko.crudgeneric.flex.model.AbsVersionedDto;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NoteUpdateDto implements AbsUpdateDto<Long>, AbsVersionedDto<Long> {
+    private Long id;
+    private String text;
+    private Long version;
+}
@@ -0,0 +1,20 @@
+package by.nhorushko.crudgenerictest.domain.dto;
+
+import by.nhorushko.crudgeneric.flex.model.AbstractDto;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Paged order row that reads its lazy {@code lines} collection.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderPageDto implements AbstractDto<Long> {
+    private Long id;
+    private String name;
+    private List<OrderLineDto> lines;
+}
@@ -0,0 +1,19 @@
+package by.nhorushko.crudgenerictest.domain.dto;
+
+import by.nhorushko.crudgeneric.flex.model.AbstractDto;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Paged task row that reads its lazy {@code project} association — one extra query
+ * per row unless the page fetches it.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskPageDto implements AbstractDto<Long> {
+    private Long id;
+    private String title;
+    private String projectName;
+}
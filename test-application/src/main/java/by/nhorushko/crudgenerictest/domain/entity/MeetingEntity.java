@@ -12,7 +12,10 @@ import java.time.LocalDate;
  * string, enum, instant, local date and a nested path via {@link RegionEntity}.
  */
 @Entity
-@Table(name = "meeting")
+@Table(name = "meeting", indexes = {
+        @Index(name = "idx_meeting_start_time", columnList = "start_time"),
+        @Index(name = "idx_meeting_status_start_time", columnList = "status, start_time")
+})
 @Getter
 @Setter
 @NoArgsConstructor
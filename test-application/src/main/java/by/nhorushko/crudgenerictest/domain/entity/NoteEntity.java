@@ -0,0 +1,28 @@
+package by.nhorushko.crudgenerictest.domain.entity;
+
+import by.nhorushko.crudgeneric.flex.model.AbstractEntity;
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Optimistically locked entity: its {@code @Version} drives the conditional requests of the note endpoints.
+ */
+@Entity
+@Table(name = "note")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class NoteEntity implements AbstractEntity<Long> {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "text")
+    private String text;
+
+    @Version
+    @Column(name = "version")
+    private Long version;
+}
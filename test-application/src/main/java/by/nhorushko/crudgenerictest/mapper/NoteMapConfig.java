@@ -0,0 +1,22 @@
+package by.nhorushko.crudgenerictest.mapper;
+
+import by.nhorushko.crudgeneric.flex.AbsModelMapper;
+import by.nhorushko.crudgeneric.flex.mapper.composite.AbsFlexMapConfigDefault;
+import by.nhorushko.crudgenerictest.domain.dto.NoteCreateDto;
+import by.nhorushko.crudgenerictest.domain.dto.NoteDto;
+import by.nhorushko.crudgenerictest.domain.dto.NoteUpdateDto;
+import by.nhorushko.crudgenerictest.domain.entity.NoteEntity;
+import org.springframework.stereotype.Component;
+
+@Component
+public class NoteMapConfig extends AbsFlexMapConfigDefault<NoteCreateDto, NoteUpdateDto, NoteDto, NoteEntity> {
+
+    public NoteMapConfig(AbsModelMapper mapper) {
+        super(mapper, NoteCreateDto.class, NoteUpdateDto.class, NoteDto.class, NoteEntity.class);
+    }
+
+    @Override
+    protected NoteDto createReadDtoFromEntity(AbsModelMapper mapper, NoteEntity entity) {
+        return new NoteDto(entity.getId(), entity.getText());
+    }
+}
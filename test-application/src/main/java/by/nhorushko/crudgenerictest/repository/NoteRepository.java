@@ -0,0 +1,7 @@
+package by.nhorushko.crudgenerictest.repository;
+
+import by.nhorushko.crudgenerictest.domain.entity.NoteEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface NoteRepository extends JpaRepository<NoteEntity, Long> {
+}
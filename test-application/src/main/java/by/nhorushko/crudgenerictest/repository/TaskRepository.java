@@ -2,10 +2,11 @@ package by.nhorushko.crudgenerictest.repository;
 
 import by.nhorushko.crudgenerictest.domain.entity.TaskEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 
 import java.util.List;
 
-public interface TaskRepository extends JpaRepository<TaskEntity, Long> {
+public interface TaskRepository extends JpaRepository<TaskEntity, Long>, JpaSpecificationExecutor<TaskEntity> {
 
     List<TaskEntity> findAllByProjectId(Long projectId);
 }
@@ -25,6 +25,18 @@ public class MeetingPageableService extends AbsFlexPagingAndSortingService<Long,
                 .instant("startTime", GREATER_THAN, GREATER_THAN_OR_EQUAL_TO, LESS_THAN, LESSTHAN_OR_EQUAL_TO, BETWEEN)
                 .ofLocalDate("day", EQUAL, BETWEEN)
                 .ofLong("regionId", "region.id", EQUAL)
+                .sortable("title", "day", "regionId")
+                .indexed("startTime")
+                .indexed("status", "startTime")
                 .build();
     }
+
+    /**
+     * MeetingDto is a plain copy of meeting columns, so pages select just those four
+     * columns instead of loading entities (no meeting_day, no region_id).
+     */
+    @Override
+    protected boolean projectionEnabled() {
+        return true;
+    }
 }
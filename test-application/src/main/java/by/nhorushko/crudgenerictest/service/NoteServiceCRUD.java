@@ -0,0 +1,25 @@
+package by.nhorushko.crudgenerictest.service;
+
+import by.nhorushko.crudgeneric.flex.AbsModelMapper;
+import by.nhorushko.crudgeneric.flex.service.AbsFlexServiceCRUD;
+import by.nhorushko.crudgenerictest.domain.dto.NoteCreateDto;
+import by.nhorushko.crudgenerictest.domain.dto.NoteDto;
+import by.nhorushko.crudgenerictest.domain.dto.NoteUpdateDto;
+import by.nhorushko.crudgenerictest.domain.entity.NoteEntity;
+import by.nhorushko.crudgenerictest.repository.NoteRepository;
+import org.springframework.stereotype.Service;
+
+@Service
+public class NoteServiceCRUD extends AbsFlexServiceCRUD<Long, NoteEntity, NoteDto, NoteUpdateDto, NoteCreateDto, NoteRepository> {
+    public NoteServiceCRUD(AbsModelMapper mapper, NoteRepository repository) {
+        super(mapper, repository, NoteEntity.class, NoteDto.class, NoteUpdateDto.class, NoteCreateDto.class);
+    }
+
+    /**
+     * NoteDto is a plain copy of note columns, so {@code fields=} reads skip the mapper.
+     */
+    @Override
+    protected boolean partialCopyEnabled() {
+        return true;
+    }
+}
@@ -0,0 +1,36 @@
+package by.nhorushko.crudgenerictest.service;
+
+import by.nhorushko.crudgeneric.flex.AbsModelMapper;
+import by.nhorushko.crudgeneric.flex.pageable.AbsFlexPagingAndSortingService;
+import by.nhorushko.crudgeneric.flex.pageable.FilterFields;
+import by.nhorushko.crudgenerictest.domain.dto.OrderLineDto;
+import by.nhorushko.crudgenerictest.domain.dto.OrderPageDto;
+import by.nhorushko.crudgenerictest.domain.entity.OrderEntity;
+import by.nhorushko.crudgenerictest.repository.OrderRepository;
+import org.springframework.stereotype.Service;
+
+import static by.nhorushko.filterspecification.FilterOperation.CONTAINS;
+
+/**
+ * Fixture for fetch planning of a collection: {@code lines} is fetched for the ids of
+ * each page by a second query, so the page itself keeps its SQL LIMIT/OFFSET.
+ */
+@Service
+public class OrderPageableService extends AbsFlexPagingAndSortingService<Long, OrderPageDto, OrderEntity> {
+
+    public OrderPageableService(OrderRepository repository, AbsModelMapper mapper) {
+        super(repository, mapper, OrderPageDto.class);
+    }
+
+    @Override
+    protected FilterFields<OrderEntity> filterFields(FilterFields.Builder<OrderEntity> f) {
+        return f.string("name", CONTAINS).build();
+    }
+
+    @Override
+    protected OrderPageDto toDto(OrderEntity entity) {
+        return new OrderPageDto(entity.getId(), entity.getName(), entity.getLines().stream()
+                .map(line -> new OrderLineDto(line.getId(), line.getTitle()))
+                .toList());
+    }
+}
@@ -0,0 +1,37 @@
+package by.nhorushko.crudgenerictest.service;
+
+import by.nhorushko.crudgeneric.flex.AbsModelMapper;
+import by.nhorushko.crudgeneric.flex.pageable.AbsFlexPagingAndSortingService;
+import by.nhorushko.crudgeneric.flex.pageable.FilterFields;
+import by.nhorushko.crudgenerictest.domain.dto.TaskPageDto;
+import by.nhorushko.crudgenerictest.domain.entity.TaskEntity;
+import by.nhorushko.crudgenerictest.repository.TaskRepository;
+import org.springframework.stereotype.Service;
+
+import static by.nhorushko.filterspecification.FilterOperation.CONTAINS;
+import static by.nhorushko.filterspecification.FilterOperation.EQUAL;
+
+/**
+ * Fixture for fetch planning: {@code projectName} makes every page fetch {@code project}
+ * in the page query instead of lazy-loading it per row.
+ */
+@Service
+public class TaskPageableService extends AbsFlexPagingAndSortingService<Long, TaskPageDto, TaskEntity> {
+
+    public TaskPageableService(TaskRepository repository, AbsModelMapper mapper) {
+        super(repository, mapper, TaskPageDto.class);
+    }
+
+    @Override
+    protected FilterFields<TaskEntity> filterFields(FilterFields.Builder<TaskEntity> f) {
+        return f.string("title", CONTAINS)
+                .ofLong("projectId", "project.id", EQUAL)
+                .build();
+    }
+
+    @Override
+    protected TaskPageDto toDto(TaskEntity entity) {
+        return new TaskPageDto(entity.getId(), entity.getTitle(),
+                entity.getProject() == null ? null : entity.getProject().getName());
+    }
+}
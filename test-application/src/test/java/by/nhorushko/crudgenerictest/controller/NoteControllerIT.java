@@ -0,0 +1,248 @@
+package by.nhorushko.crudgenerictest.controller;
+
+import by.nhorushko.crudgeneric.flex.exception.AppPreconditionFailedException;
+import by.nhorushko.crudgeneric.flex.model.FieldSelection;
+import by.nhorushko.crudgenerictest.domain.dto.NoteDto;
+import by.nhorushko.crudgenerictest.domain.dto.NoteUpdateDto;
+import by.nhorushko.crudgenerictest.domain.entity.NoteEntity;
+import by.nhorushko.crudgenerictest.repository.NoteRepository;
+import by.nhorushko.crudgenerictest.service.NoteServiceCRUD;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+class NoteControllerIT {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private NoteRepository noteRepository;
+    @Autowired
+    private NoteServiceCRUD noteService;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        noteRepository.deleteAll();
+    }
+
+    @Test
+    void getByIdSendsWeakEtagFromVersion() throws Exception {
+        NoteEntity note = noteRepository.save(new NoteEntity(null, "first", null));
+
+        mockMvc.perform(get("/note/{id}", note.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"0\""))
+                .andExpect(jsonPath("$.text").value("first"));
+    }
+
+    @Test
+    void getByIdReadsBodyAndEtagWithOneQuery() throws Exception {
+        NoteEntity note = noteRepository.save(new NoteEntity(null, "first", null));
+        statistics.clear();
+
+        mockMvc.perform(get("/note/{id}", note.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"0\""));
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void getByIdAnswersNotModifiedWithoutLoadingEntity() throws Exception {
+        NoteEntity note = noteRepository.save(new NoteEntity(null, "first", null));
+        statistics.clear();
+
+        mockMvc.perform(get("/note/{id}", note.getId()).header(HttpHeaders.IF_NONE_MATCH, "W/\"0\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"0\""))
+                .andExpect(content().string(""));
+
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void getByIdReturnsChangedNote() throws Exception {
+        NoteEntity note = noteRepository.save(new NoteEntity(null, "first", null));
+        note.setText("second");
+        noteRepository.save(note);
+
+        mockMvc.perform(get("/note/{id}", note.getId()).header(HttpHeaders.IF_NONE_MATCH, "W/\"0\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"1\""))
+                .andExpect(jsonPath("$.text").value("second"));
+    }
+
+    @Test
+    void getByIdOfMissingNoteIsNotFound() throws Exception {
+        mockMvc.perform(get("/note/{id}", 999999).header(HttpHeaders.IF_NONE_MATCH, "*"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void getByIdsAnswersNotModifiedUntilSetChanges() throws Exception {
+        NoteEntity first = noteRepository.save(new NoteEntity(null, "first", null));
+        NoteEntity second = noteRepository.save(new NoteEntity(null, "second", null));
+        String ids = first.getId() + "," + second.getId();
+        String etag = mockMvc.perform(get("/note").param("ids", ids))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        statistics.clear();
+
+        mockMvc.perform(get("/note").param("ids", ids).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+        assertThat(statistics.getEntityLoadCount()).isZero();
+
+        noteRepository.deleteById(second.getId());
+
+        mockMvc.perform(get("/note").param("ids", ids).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].text").value("first"));
+    }
+
+    @Test
+    void getByIdWithFieldsWritesOnlySelectedFields() throws Exception {
+        NoteEntity note = noteRepository.save(new NoteEntity(null, "first", null));
+
+        mockMvc.perform(get("/note/{id}", note.getId()).param("fields", "id"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(note.getId()))
+                .andExpect(jsonPath("$.text").doesNotExist());
+        assertThat(noteService.getById(note.getId(), FieldSelection.parse("id")))
+                .isEqualTo(new NoteDto(note.getId(), null));
+    }
+
+    @Test
+    void getByIdWithFieldsReadsProxiedNoteThroughGetters() {
+        NoteEntity note = noteRepository.save(new NoteEntity(null, "first", null));
+
+        NoteDto dto = new TransactionTemplate(transactionManager).execute(status -> {
+            entityManager.getReference(NoteEntity.class, note.getId());
+            return noteService.getById(note.getId(), FieldSelection.parse("text"));
+        });
+
+        assertThat(dto).isEqualTo(new NoteDto(note.getId(), "first"));
+    }
+
+    @Test
+    void getByIdsWithFieldsTrimsEveryNote() throws Exception {
+        NoteEntity first = noteRepository.save(new NoteEntity(null, "first", null));
+        NoteEntity second = noteRepository.save(new NoteEntity(null, "second", null));
+
+        mockMvc.perform(get("/note").param("ids", second.getId() + "," + first.getId()).param("fields", "text"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].id").value(second.getId()))
+                .andExpect(jsonPath("$[0].text").value("second"))
+                .andExpect(jsonPath("$[1].text").value("first"));
+    }
+
+    @Test
+    void getByIdWithUnknownFieldIsBadRequest() throws Exception {
+        NoteEntity note = noteRepository.save(new NoteEntity(null, "first", null));
+
+        mockMvc.perform(get("/note/{id}", note.getId()).param("fields", "text,author"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void updateWithCurrentIfMatchReturnsNewEtag() throws Exception {
+        NoteEntity note = noteRepository.save(new NoteEntity(null, "first", null));
+        statistics.clear();
+
+        mockMvc.perform(put("/note/{id}", note.getId()).header(HttpHeaders.IF_MATCH, "W/\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"id\":" + note.getId() + ",\"text\":\"second\"}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"1\""))
+                .andExpect(jsonPath("$.text").value("second"));
+
+        // the SELECT of the loaded entity and the versioned UPDATE, no version-only queries
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void updateWithStaleIfMatchFailsWithoutWriting() throws Exception {
+        NoteEntity note = noteRepository.save(new NoteEntity(null, "first", null));
+        note.setText("second");
+        noteRepository.save(note);
+        statistics.clear();
+
+        mockMvc.perform(put("/note/{id}", note.getId()).header(HttpHeaders.IF_MATCH, "W/\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"id\":" + note.getId() + ",\"text\":\"lost\"}"))
+                .andExpect(status().isPreconditionFailed());
+
+        assertThat(statistics.getEntityUpdateCount()).isZero();
+        assertThat(noteRepository.findById(note.getId())).get().extracting(NoteEntity::getText).isEqualTo("second");
+    }
+
+    @Test
+    void updateWithStaleBodyVersionFails() throws Exception {
+        NoteEntity note = noteRepository.save(new NoteEntity(null, "first", null));
+        note.setText("second");
+        noteRepository.save(note);
+
+        mockMvc.perform(put("/note/{id}", note.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"id\":" + note.getId() + ",\"text\":\"lost\",\"version\":0}"))
+                .andExpect(status().isPreconditionFailed());
+
+        assertThat(noteRepository.findById(note.getId())).get().extracting(NoteEntity::getText).isEqualTo("second");
+    }
+
+    @Test
+    void updateAllWithStaleVersionUpdatesNothing() {
+        NoteEntity first = noteRepository.save(new NoteEntity(null, "first", null));
+        NoteEntity second = noteRepository.save(new NoteEntity(null, "second", null));
+        second.setText("second-changed");
+        noteRepository.save(second);
+
+        assertThatThrownBy(() -> noteService.updateAll(List.of(
+                new NoteUpdateDto(first.getId(), "first-new", 0L),
+                new NoteUpdateDto(second.getId(), "second-new", 0L))))
+                .isInstanceOf(AppPreconditionFailedException.class);
+
+        assertThat(noteRepository.findAll()).extracting(NoteEntity::getText)
+                .containsExactlyInAnyOrder("first", "second-changed");
+    }
+}
@@ -0,0 +1,183 @@
+package by.nhorushko.crudgenerictest.controller;
+
+import by.nhorushko.crudgenerictest.domain.entity.OrderEntity;
+import by.nhorushko.crudgenerictest.repository.OrderRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class OrderControllerIT {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @AfterEach
+    void cleanUp() {
+        orderRepository.deleteAll();
+    }
+
+    @Test
+    void deleteByIdsRemovesExistingOrders() throws Exception {
+        OrderEntity first = persistedOrder("first");
+        OrderEntity second = persistedOrder("second");
+        OrderEntity kept = persistedOrder("kept");
+
+        mockMvc.perform(delete("/order").param("ids", first.getId() + "," + second.getId() + ",999999"))
+                .andExpect(status().isNoContent());
+
+        assertThat(orderRepository.findAll()).extracting(OrderEntity::getId).containsExactly(kept.getId());
+    }
+
+    @Test
+    void deleteByIdsIsRejectedByBeforeDeleteHookOfAnyId() throws Exception {
+        OrderEntity first = persistedOrder("first");
+        OrderEntity locked = persistedOrder(OrderController.LOCKED);
+
+        mockMvc.perform(delete("/order").param("ids", first.getId() + "," + locked.getId()))
+                .andExpect(status().isForbidden());
+
+        assertThat(orderRepository.findAll()).extracting(OrderEntity::getId)
+                .containsExactlyInAnyOrder(first.getId(), locked.getId());
+    }
+
+    @Test
+    void getByIdsReturnsOrdersInRequestedOrder() throws Exception {
+        OrderEntity first = persistedOrder("first");
+        OrderEntity second = persistedOrder("second");
+
+        mockMvc.perform(get("/order").param("ids", second.getId() + "," + first.getId() + ",999999," + second.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].name", contains("second", "first")));
+    }
+
+    @Test
+    void getByIdsIsRejectedByAfterGetByIdHookOfAnyOrder() throws Exception {
+        OrderEntity first = persistedOrder("first");
+        OrderEntity locked = persistedOrder(OrderController.LOCKED);
+
+        mockMvc.perform(get("/order/{id}", locked.getId()))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/order").param("ids", first.getId() + "," + locked.getId()))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/order").param("ids", first.getId() + "," + locked.getId()).param("fields", "name"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void getByIdWithFieldsPassesFullOrderToHooksAndWritesSelectedFields() throws Exception {
+        OrderEntity first = persistedOrder("first");
+        OrderEntity locked = persistedOrder(OrderController.LOCKED);
+
+        mockMvc.perform(get("/order/{id}", locked.getId()).param("fields", "id"))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/order/{id}", first.getId()).param("fields", "id"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(first.getId()))
+                .andExpect(jsonPath("$.name").doesNotExist());
+    }
+
+    @Test
+    void getByIdsWithRequireAllRejectsMissingIds() throws Exception {
+        OrderEntity first = persistedOrder("first");
+
+        mockMvc.perform(get("/order").param("ids", first.getId() + ",999999").param("requireAll", "true"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void updateWithIfMatchOfUnversionedOrderIsPreconditionFailed() throws Exception {
+        OrderEntity order = persistedOrder("first");
+
+        mockMvc.perform(put("/order/{id}", order.getId()).header(HttpHeaders.IF_MATCH, "W/\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"id\":" + order.getId() + ",\"name\":\"second\"}"))
+                .andExpect(status().isPreconditionFailed());
+
+        mockMvc.perform(put("/order/{id}", order.getId()).header(HttpHeaders.IF_MATCH, "*")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"id\":" + order.getId() + ",\"name\":\"second\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("second"));
+    }
+
+    @Test
+    void batchCreatesOrdersAcrossChunks() throws Exception {
+        mockMvc.perform(post("/order/batch").contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"name\":\"a\"},{\"name\":\"b\"},{\"name\":\"c\"}]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].index", contains(0, 1, 2)))
+                .andExpect(jsonPath("$[*].status", contains(201, 201, 201)))
+                .andExpect(jsonPath("$[*].value.name", contains("a", "b", "c")));
+
+        assertThat(orderRepository.findAll()).extracting(OrderEntity::getName).containsExactlyInAnyOrder("a", "b", "c");
+    }
+
+    @Test
+    void batchReportsUnreadableElementAndCreatesTheRest() throws Exception {
+        mockMvc.perform(post("/order/batch").contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"name\":\"a\"},{\"name\":{\"x\":1}},{\"name\":\"c\"}]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].status", contains(201, 400, 201)))
+                .andExpect(jsonPath("$[1].errors").isNotEmpty());
+
+        assertThat(orderRepository.findAll()).extracting(OrderEntity::getName).containsExactlyInAnyOrder("a", "c");
+    }
+
+    @Test
+    void batchReportsFailedAfterSaveHookOnTheCreatedElementOnly() throws Exception {
+        mockMvc.perform(post("/order/batch").contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"name\":\"a\"},{\"name\":\"unannounced\"}]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].status", contains(201, 201)))
+                .andExpect(jsonPath("$[0].errors").doesNotExist())
+                .andExpect(jsonPath("$[1].value.name").value("unannounced"))
+                .andExpect(jsonPath("$[1].errors").isNotEmpty());
+
+        assertThat(orderRepository.findAll()).extracting(OrderEntity::getName)
+                .containsExactlyInAnyOrder("a", "unannounced");
+    }
+
+    @Test
+    void batchEndsWithErrorOnMalformedJson() throws Exception {
+        mockMvc.perform(post("/order/batch").contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"name\":\"a\"},{\"name\":"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].status", contains(201, 400)));
+
+        assertThat(orderRepository.findAll()).extracting(OrderEntity::getName).containsExactly("a");
+    }
+
+    @Test
+    void batchRejectsNonArrayBody() throws Exception {
+        mockMvc.perform(post("/order/batch").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"a\"}"))
+                .andExpect(status().isBadRequest());
+
+        assertThat(orderRepository.findAll()).isEmpty();
+    }
+
+    private OrderEntity persistedOrder(String name) {
+        OrderEntity order = new OrderEntity();
+        order.setName(name);
+        order.setSecretCode("s3cret");
+        return orderRepository.save(order);
+    }
+}
@@ -0,0 +1,97 @@
+package by.nhorushko.crudgenerictest.mapper;
+
+import by.nhorushko.crudgeneric.flex.AbsModelMapper;
+import by.nhorushko.crudgenerictest.domain.dto.MeetingDto;
+import by.nhorushko.crudgenerictest.domain.dto.OrderDto;
+import by.nhorushko.crudgenerictest.domain.dto.RegionDto;
+import by.nhorushko.crudgenerictest.domain.dto.TaskDto;
+import by.nhorushko.crudgenerictest.domain.entity.MeetingEntity;
+import by.nhorushko.crudgenerictest.domain.entity.MeetingStatus;
+import by.nhorushko.crudgenerictest.domain.entity.NoteEntity;
+import by.nhorushko.crudgenerictest.domain.entity.OrderEntity;
+import by.nhorushko.crudgenerictest.domain.entity.OrderLineEntity;
+import by.nhorushko.crudgenerictest.domain.entity.ProjectEntity;
+import by.nhorushko.crudgenerictest.domain.entity.RegionEntity;
+import by.nhorushko.crudgenerictest.domain.entity.TaskEntity;
+import org.junit.jupiter.api.Test;
+import org.modelmapper.ModelMapper;
+import org.modelmapper.TypeMap;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Conformance suite for compiled mapping plans: for every TypeMap registered in this
+ * application that compiled to a plan, {@code AbsModelMapper.map} must return exactly
+ * what the ModelMapper engine returns for the same source. A new compiled TypeMap
+ * without a fixture below fails the suite, so coverage cannot silently drift.
+ */
+@SpringBootTest
+class CompiledMappingConformanceIT {
+
+    @Autowired
+    private AbsModelMapper mapper;
+    @Autowired
+    private ModelMapper modelMapper;
+
+    private final Map<Class<?>, Object> fixtures = Map.of(
+            OrderEntity.class, order(),
+            OrderLineEntity.class, new OrderLineEntity(11L, "line"),
+            RegionEntity.class, new RegionEntity(101L, "minsk"),
+            NoteEntity.class, new NoteEntity(51L, "note", 3L),
+            TaskEntity.class, new TaskEntity(21L, "task", new ProjectEntity(31L, "project")),
+            MeetingEntity.class, MeetingEntity.builder()
+                    .id(41L).title("retro").status(MeetingStatus.DONE)
+                    .startTime(Instant.parse("2026-07-05T10:00:00Z"))
+                    .day(LocalDate.parse("2026-07-05"))
+                    .region(new RegionEntity(101L, "minsk"))
+                    .build());
+
+    @Test
+    void readDtoMappingsAreCompiled() {
+        assertThat(mapper.hasCompiledPlan(OrderEntity.class, OrderDto.class)).isTrue();
+        assertThat(mapper.hasCompiledPlan(RegionEntity.class, RegionDto.class)).isTrue();
+        assertThat(mapper.hasCompiledPlan(TaskEntity.class, TaskDto.class)).isTrue();
+        assertThat(mapper.hasCompiledPlan(MeetingEntity.class, MeetingDto.class)).isTrue();
+    }
+
+    @Test
+    void everyCompiledTypeMapMatchesModelMapper() {
+        int compared = 0;
+        for (TypeMap<?, ?> typeMap : modelMapper.getTypeMaps()) {
+            Class<?> sourceType = typeMap.getSourceType();
+            Class<?> destinationType = typeMap.getDestinationType();
+            if (!mapper.hasCompiledPlan(sourceType, destinationType)) {
+                continue;
+            }
+            assertThat(fixtures)
+                    .as("fixture for compiled TypeMap %s -> %s", sourceType.getSimpleName(), destinationType.getSimpleName())
+                    .containsKey(sourceType);
+            Object source = fixtures.get(sourceType);
+
+            Object compiled = mapper.map(source, destinationType);
+            Object reference = modelMapper.map(source, destinationType);
+
+            assertThat(compiled)
+                    .as("%s -> %s", sourceType.getSimpleName(), destinationType.getSimpleName())
+                    .usingRecursiveComparison()
+                    .isEqualTo(reference);
+            compared++;
+        }
+        assertThat(compared).isGreaterThanOrEqualTo(4);
+    }
+
+    private static OrderEntity order() {
+        OrderEntity order = new OrderEntity();
+        order.setId(1L);
+        order.setName("order");
+        order.setSecretCode("s3cret");
+        order.getLines().add(new OrderLineEntity(11L, "line"));
+        return order;
+    }
+}
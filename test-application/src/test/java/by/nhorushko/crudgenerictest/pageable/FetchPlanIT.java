@@ -0,0 +1,98 @@
+package by.nhorushko.crudgenerictest.pageable;
+
+import by.nhorushko.crudgeneric.flex.pageable.PageFilterRequest;
+import by.nhorushko.crudgenerictest.domain.dto.OrderLineDto;
+import by.nhorushko.crudgenerictest.domain.dto.OrderPageDto;
+import by.nhorushko.crudgenerictest.domain.dto.TaskPageDto;
+import by.nhorushko.crudgenerictest.domain.entity.OrderEntity;
+import by.nhorushko.crudgenerictest.domain.entity.OrderLineEntity;
+import by.nhorushko.crudgenerictest.domain.entity.ProjectEntity;
+import by.nhorushko.crudgenerictest.domain.entity.TaskEntity;
+import by.nhorushko.crudgenerictest.repository.OrderRepository;
+import by.nhorushko.crudgenerictest.repository.ProjectRepository;
+import by.nhorushko.crudgenerictest.repository.TaskRepository;
+import by.nhorushko.crudgenerictest.service.OrderPageableService;
+import by.nhorushko.crudgenerictest.service.TaskPageableService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class FetchPlanIT {
+
+    @Autowired
+    private TaskPageableService taskService;
+    @Autowired
+    private OrderPageableService orderService;
+    @Autowired
+    private TaskRepository taskRepository;
+    @Autowired
+    private ProjectRepository projectRepository;
+    @Autowired
+    private OrderRepository orderRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        taskRepository.deleteAll();
+        projectRepository.deleteAll();
+        orderRepository.deleteAll();
+    }
+
+    @Test
+    void fetchesToOneAssociationInThePageQuery() {
+        for (int p = 1; p <= 3; p++) {
+            ProjectEntity project = projectRepository.save(new ProjectEntity(null, "project-" + p));
+            taskRepository.save(new TaskEntity(null, "task-" + p + "a", project));
+            taskRepository.save(new TaskEntity(null, "task-" + p + "b", project));
+        }
+        statistics.clear();
+
+        Page<TaskPageDto> page = taskService.page(PageFilterRequest.pageRequestAnd(0, 5, "asc#id"));
+
+        assertThat(page.getContent()).extracting(TaskPageDto::getProjectName)
+                .containsExactly("project-1", "project-1", "project-2", "project-2", "project-3");
+        assertThat(page.getTotalElements()).isEqualTo(6);
+        // the page and the count, no lazy load per project
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void fetchesCollectionsBySecondQueryKeepingSqlPagination() {
+        for (int o = 1; o <= 3; o++) {
+            List<OrderLineEntity> lines = new ArrayList<>();
+            lines.add(new OrderLineEntity(null, "line-" + o + "a"));
+            lines.add(new OrderLineEntity(null, "line-" + o + "b"));
+            orderRepository.save(new OrderEntity(null, "order-" + o, null, lines));
+        }
+        statistics.clear();
+
+        Page<OrderPageDto> page = orderService.page(PageFilterRequest.pageRequestAnd(0, 2, "asc#id"));
+
+        assertThat(page.getContent()).extracting(OrderPageDto::getName).containsExactly("order-1", "order-2");
+        assertThat(page.getContent().get(1).getLines()).extracting(OrderLineDto::getTitle)
+                .containsExactlyInAnyOrder("line-2a", "line-2b");
+        assertThat(page.getTotalElements()).isEqualTo(3);
+        // the page, one query for the lines of its two orders, and the count
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+    }
+}
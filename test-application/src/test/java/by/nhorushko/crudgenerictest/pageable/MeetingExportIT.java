@@ -0,0 +1,120 @@
+package by.nhorushko.crudgenerictest.pageable;
+
+import by.nhorushko.crudgeneric.flex.pageable.PageFilterRequest;
+import by.nhorushko.crudgenerictest.domain.dto.MeetingDto;
+import by.nhorushko.crudgenerictest.domain.entity.MeetingEntity;
+import by.nhorushko.crudgenerictest.domain.entity.MeetingStatus;
+import by.nhorushko.crudgenerictest.repository.MeetingRepository;
+import by.nhorushko.crudgenerictest.service.MeetingPageableService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class MeetingExportIT {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private MeetingRepository meetingRepository;
+    @Autowired
+    private MeetingPageableService service;
+
+    @BeforeEach
+    void seed() {
+        save("sprint planning", MeetingStatus.PLANNED, "2026-07-01T10:00:00Z");
+        save("retro, \"final\"", MeetingStatus.DONE, "2026-07-05T10:00:00Z");
+        save("planning poker", MeetingStatus.CANCELED, "2026-07-10T10:00:00Z");
+    }
+
+    private void save(String title, MeetingStatus status, String startTime) {
+        meetingRepository.save(MeetingEntity.builder()
+                .title(title).status(status)
+                .startTime(Instant.parse(startTime))
+                .day(LocalDate.parse(startTime.substring(0, 10))).build());
+    }
+
+    @AfterEach
+    void cleanUp() {
+        meetingRepository.deleteAll();
+    }
+
+    @Test
+    void streamsAllMatchingRowsInSortOrder() {
+        List<MeetingDto> rows = new ArrayList<>();
+
+        long count = service.stream(PageFilterRequest.pageRequestAnd(0, 1, "desc#startTime",
+                new PageFilterRequest.Filter("title", "like#planning")), rows::add);
+
+        assertThat(count).isEqualTo(2);
+        assertThat(rows).extracting(MeetingDto::getTitle).containsExactly("planning poker", "sprint planning");
+    }
+
+    @Test
+    void exportsNdjson() throws Exception {
+        MvcResult started = mockMvc.perform(get("/meeting/export/ndjson").param("sort", "asc#startTime"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertThat(lines).hasSize(3);
+        assertThat(lines[0]).contains("\"title\":\"sprint planning\"");
+        assertThat(lines[2]).contains("\"status\":\"CANCELED\"");
+    }
+
+    @Test
+    void rejectsInvalidFilterBeforeStreaming() throws Exception {
+        mockMvc.perform(get("/meeting/export/ndjson").param("statusFilter", "eq#UNKNOWN"))
+                .andExpect(request().asyncNotStarted())
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void rejectsInvalidSortBeforeStreaming() throws Exception {
+        mockMvc.perform(get("/meeting/export/csv").param("sort", "asc#nonexistent"))
+                .andExpect(request().asyncNotStarted())
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void exportsCsvWithQuotedFields() throws Exception {
+        MvcResult started = mockMvc.perform(get("/meeting/export/csv")
+                        .param("sort", "asc#startTime")
+                        .param("statusFilter", "eq#DONE"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"meetings.csv\""))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\r\n");
+        assertThat(lines).hasSize(2);
+        assertThat(lines[0]).isEqualTo("id,title,status,startTime");
+        assertThat(lines[1]).endsWith(",\"retro, \"\"final\"\"\",DONE,2026-07-05T10:00:00Z");
+    }
+}
@@ -0,0 +1,93 @@
+package by.nhorushko.crudgenerictest.pageable;
+
+import by.nhorushko.crudgeneric.flex.pageable.PageFilterRequest;
+import by.nhorushko.crudgeneric.flex.pageable.PageInstrumentation;
+import by.nhorushko.crudgeneric.flex.pageable.PagePhase;
+import by.nhorushko.crudgenerictest.domain.entity.MeetingEntity;
+import by.nhorushko.crudgenerictest.domain.entity.MeetingStatus;
+import by.nhorushko.crudgenerictest.repository.MeetingRepository;
+import by.nhorushko.crudgenerictest.service.MeetingPageableService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ExtendWith(OutputCaptureExtension.class)
+class MeetingInstrumentationIT {
+
+    @Autowired
+    private MeetingRepository meetingRepository;
+    @Autowired
+    private MeetingPageableService service;
+
+    @BeforeEach
+    void seed() {
+        for (String title : List.of("planning", "retro", "review")) {
+            meetingRepository.save(MeetingEntity.builder()
+                    .title(title).status(MeetingStatus.PLANNED)
+                    .startTime(Instant.parse("2026-07-01T10:00:00Z")).build());
+        }
+    }
+
+    @AfterEach
+    void cleanUp() {
+        service.setInstrumentation(PageInstrumentation.NOOP);
+        service.setSlowQueryThreshold(null);
+        meetingRepository.deleteAll();
+    }
+
+    @Test
+    void recordsEveryPhaseTaggedByFilterShape() {
+        List<String> recorded = new CopyOnWriteArrayList<>();
+        service.setInstrumentation(new PageInstrumentation() {
+            @Override
+            public void record(String serviceName, PagePhase phase, String shape, long nanos) {
+                recorded.add(serviceName + " " + phase.tag() + " " + shape);
+            }
+        });
+
+        service.page(PageFilterRequest.pageRequestAnd(0, 1, "asc#title",
+                new PageFilterRequest.Filter("title", "like#r"),
+                new PageFilterRequest.Filter("status", "eq#PLANNED")));
+
+        assertThat(recorded).containsExactlyInAnyOrder(
+                "MeetingPageableService specification and(status eq, title like)",
+                "MeetingPageableService query and(status eq, title like)",
+                "MeetingPageableService mapping and(status eq, title like)",
+                "MeetingPageableService count and(status eq, title like)");
+    }
+
+    @Test
+    void logsShapeAndSqlOfSlowPageReads(CapturedOutput output) {
+        service.setSlowQueryThreshold(Duration.ZERO);
+
+        service.page(PageFilterRequest.pageRequestAnd(0, 1, "desc#startTime",
+                new PageFilterRequest.Filter("title", "like#secret-value")));
+
+        String log = output.getOut().substring(output.getOut().indexOf("Slow page read in MeetingPageableService"));
+        assertThat(log).contains("shape: and(title like)", "sort: desc#startTime", "count: ");
+        assertThat(log.toLowerCase()).contains("select", "from meeting");
+        assertThat(log.substring(0, log.indexOf('\n'))).doesNotContain("secret-value");
+    }
+
+    @Test
+    void fastPageReadsAreNotLogged(CapturedOutput output) {
+        service.setSlowQueryThreshold(Duration.ofMinutes(1));
+
+        service.page(PageFilterRequest.pageRequestAnd(0, 1, "desc#startTime"));
+
+        assertThat(output.getOut()).doesNotContain("Slow page read");
+    }
+}
@@ -0,0 +1,124 @@
+package by.nhorushko.crudgenerictest.pageable;
+
+import by.nhorushko.crudgeneric.flex.exception.FilterValidationException;
+import by.nhorushko.crudgeneric.flex.pageable.KeysetPage;
+import by.nhorushko.crudgeneric.flex.pageable.PageFilterRequest;
+import by.nhorushko.crudgenerictest.domain.dto.MeetingDto;
+import by.nhorushko.crudgenerictest.domain.entity.MeetingEntity;
+import by.nhorushko.crudgenerictest.domain.entity.MeetingStatus;
+import by.nhorushko.crudgenerictest.repository.MeetingRepository;
+import by.nhorushko.crudgenerictest.service.MeetingPageableService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class MeetingKeysetIT {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private MeetingRepository meetingRepository;
+    @Autowired
+    private MeetingPageableService service;
+
+    @BeforeEach
+    void seed() {
+        // "b" twice, so the id tiebreaker decides the order inside equal sort values
+        for (String title : List.of("d", "b", "a", "e", "b")) {
+            meetingRepository.save(MeetingEntity.builder()
+                    .title(title).status(MeetingStatus.PLANNED)
+                    .startTime(Instant.parse("2026-07-01T10:00:00Z"))
+                    .day(LocalDate.parse("2026-07-01")).build());
+        }
+    }
+
+    @AfterEach
+    void cleanUp() {
+        meetingRepository.deleteAll();
+    }
+
+    @Test
+    void pagesForwardAndBackwardBySortPropertyWithIdTiebreaker() {
+        KeysetPage<MeetingDto> first = service.keysetPage(request("asc#title"), null);
+        assertThat(titles(first)).containsExactly("a", "b");
+        assertThat(first.hasPrevious()).isFalse();
+        assertThat(first.hasNext()).isTrue();
+
+        KeysetPage<MeetingDto> second = service.keysetPage(request("asc#title"), first.getNextCursor());
+        assertThat(titles(second)).containsExactly("b", "d");
+        assertThat(second.getContent().get(0).getId()).isGreaterThan(first.getContent().get(1).getId());
+        assertThat(second.hasPrevious()).isTrue();
+
+        KeysetPage<MeetingDto> third = service.keysetPage(request("asc#title"), second.getNextCursor());
+        assertThat(titles(third)).containsExactly("e");
+        assertThat(third.hasNext()).isFalse();
+
+        KeysetPage<MeetingDto> back = service.keysetPage(request("asc#title"), third.getPreviousCursor());
+        assertThat(titles(back)).containsExactly("b", "d");
+        assertThat(back.hasNext()).isTrue();
+
+        KeysetPage<MeetingDto> backToFirst = service.keysetPage(request("asc#title"), back.getPreviousCursor());
+        assertThat(titles(backToFirst)).containsExactly("a", "b");
+        assertThat(backToFirst.hasPrevious()).isFalse();
+    }
+
+    @Test
+    void pagesByIdDescending() {
+        KeysetPage<MeetingDto> first = service.keysetPage(request("desc#id"), null);
+        KeysetPage<MeetingDto> second = service.keysetPage(request("desc#id"), first.getNextCursor());
+
+        assertThat(titles(first)).containsExactly("b", "e");
+        assertThat(titles(second)).containsExactly("a", "b");
+    }
+
+    @Test
+    void appliesFiltersToEveryPage() throws Exception {
+        mockMvc.perform(get("/meeting/keyset")
+                        .param("size", "1")
+                        .param("sort", "asc#title")
+                        .param("titleFilter", "like#b"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.content[0].title").value("b"))
+                .andExpect(jsonPath("$.nextCursor").isNotEmpty())
+                .andExpect(jsonPath("$.previousCursor").doesNotExist());
+    }
+
+    @Test
+    void cursorOfAnotherSortIsBadRequest() throws Exception {
+        String cursor = service.keysetPage(request("asc#title"), null).getNextCursor();
+
+        mockMvc.perform(get("/meeting/keyset").param("sort", "desc#title").param("cursor", cursor))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void undeclaredSortPropertyIsRejected() {
+        assertThatThrownBy(() -> service.keysetPage(request("asc#doesNotExist"), null))
+                .isInstanceOf(FilterValidationException.class);
+    }
+
+    private static PageFilterRequest request(String sort) {
+        return PageFilterRequest.pageRequestAnd(0, 2, sort);
+    }
+
+    private static List<String> titles(KeysetPage<MeetingDto> page) {
+        return page.getContent().stream().map(MeetingDto::getTitle).toList();
+    }
+}
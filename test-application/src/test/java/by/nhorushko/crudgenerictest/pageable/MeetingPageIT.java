@@ -1,7 +1,10 @@
 package by.nhorushko.crudgenerictest.pageable;
 
 import by.nhorushko.crudgeneric.flex.exception.FilterValidationException;
+import by.nhorushko.crudgeneric.flex.pageable.FacetCount;
 import by.nhorushko.crudgeneric.flex.pageable.PageFilterRequest;
+import by.nhorushko.crudgeneric.flex.pageable.TotalCountCache;
+import by.nhorushko.crudgenerictest.domain.dto.MeetingDto;
 import by.nhorushko.crudgenerictest.domain.entity.MeetingEntity;
 import by.nhorushko.crudgenerictest.domain.entity.MeetingStatus;
 import by.nhorushko.crudgenerictest.domain.entity.RegionEntity;
@@ -14,11 +17,19 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
@@ -60,6 +71,8 @@ class MeetingPageIT {
 
     @AfterEach
     void cleanUp() {
+        service.setTotalCountCache(null);
+        service.setCountExecutor(null);
         meetingRepository.deleteAll();
         regionRepository.deleteAll();
     }
@@ -165,10 +178,120 @@ class MeetingPageIT {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    void sortsByMultipleColumns() throws Exception {
+        mockMvc.perform(get("/meeting/page").param("sort", "asc#regionId,desc#startTime"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].title").value("retro"))
+                .andExpect(jsonPath("$.content[1].title").value("sprint planning"))
+                .andExpect(jsonPath("$.content[2].title").value("planning poker"));
+    }
+
+    @Test
+    void undeclaredSortPropertyIsBadRequest() throws Exception {
+        // "region" is an entity attribute, but not declared sortable
+        mockMvc.perform(get("/meeting/page").param("sort", "asc#region"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/meeting/page").param("sort", "asc#title,desc#title"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void countsFacetsOfTheFilteredRows() {
+        Map<String, List<FacetCount>> facets = service.facets(PageFilterRequest.pageRequestAnd(0, 1, "desc#id",
+                new PageFilterRequest.Filter("title", "like#planning")), "status", "regionId");
+
+        assertThat(facets).containsOnlyKeys("status", "regionId");
+        assertThat(facets.get("status")).containsExactly(
+                new FacetCount(MeetingStatus.CANCELED, 1), new FacetCount(MeetingStatus.PLANNED, 1));
+        assertThat(facets.get("regionId")).containsExactly(
+                new FacetCount(minsk.getId(), 1), new FacetCount(vitebsk.getId(), 1));
+    }
+
+    @Test
+    void countsFacetsConcurrentlyOnTheCountExecutor() {
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        service.setCountExecutor(pool);
+        try {
+            Map<String, List<FacetCount>> facets = service.facets(
+                    PageFilterRequest.pageRequestAnd(0, 1, "desc#id"), "regionId", "status");
+
+            assertThat(facets.keySet()).containsExactly("regionId", "status");
+            assertThat(facets.get("regionId")).containsExactly(
+                    new FacetCount(minsk.getId(), 2), new FacetCount(vitebsk.getId(), 1));
+            assertThat(facets.get("status")).hasSize(3);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void returnsPageWithFacets() throws Exception {
+        mockMvc.perform(get("/meeting/faceted").param("regionIdFilter", "eq#101").param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.page.content.length()").value(1))
+                .andExpect(jsonPath("$.page.totalElements").value(2))
+                .andExpect(jsonPath("$.facets.status.length()").value(2))
+                .andExpect(jsonPath("$.facets.regionId[0].value").value(101))
+                .andExpect(jsonPath("$.facets.regionId[0].count").value(2));
+    }
+
+    @Test
+    void nonFacetableFieldIsBadRequest() throws Exception {
+        mockMvc.perform(get("/meeting/faceted").param("facets", "title"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void unknownFilterFieldIsRejectedAtServiceLevel() {
         assertThatThrownBy(() -> service.page(PageFilterRequest.pageRequestAnd(0, 20, "desc#id",
                 new PageFilterRequest.Filter("nope", "eq#1"))))
                 .isInstanceOf(FilterValidationException.class);
     }
+
+    @Test
+    void sliceReportsNextPageWithoutTotal() {
+        Slice<MeetingDto> first = service.slice(PageFilterRequest.pageRequestAnd(0, 2, "asc#startTime"));
+        Slice<MeetingDto> last = service.slice(PageFilterRequest.pageRequestAnd(1, 2, "asc#startTime"));
+
+        assertThat(first.getContent()).extracting(MeetingDto::getTitle).containsExactly("sprint planning", "retro");
+        assertThat(first.hasNext()).isTrue();
+        assertThat(last.getContent()).extracting(MeetingDto::getTitle).containsExactly("planning poker");
+        assertThat(last.hasNext()).isFalse();
+    }
+
+    @Test
+    void sliceAppliesFilters() {
+        Slice<MeetingDto> slice = service.slice(PageFilterRequest.pageRequestAnd(0, 1, "asc#startTime",
+                new PageFilterRequest.Filter("title", "like#planning")));
+
+        assertThat(slice.getContent()).extracting(MeetingDto::getTitle).containsExactly("sprint planning");
+        assertThat(slice.hasNext()).isTrue();
+    }
+
+    @Test
+    void totalCountCacheReusesTotalsOfEquivalentFilters() {
+        TotalCountCache cache = new TotalCountCache(16, Duration.ofMinutes(1));
+        service.setTotalCountCache(cache);
+        PageFilterRequest.Filter region = new PageFilterRequest.Filter("regionId", "eq#101");
+        PageFilterRequest.Filter title = new PageFilterRequest.Filter("title", "like#r");
+
+        Page<MeetingDto> first = service.page(PageFilterRequest.pageRequestAnd(0, 1, "asc#startTime", region, title));
+        assertThat(first.getTotalElements()).isEqualTo(2);
+
+        meetingRepository.save(MeetingEntity.builder()
+                .title("review").status(MeetingStatus.PLANNED)
+                .startTime(Instant.parse("2026-07-20T10:00:00Z"))
+                .day(LocalDate.parse("2026-07-20")).region(minsk).build());
+
+        // reordered filters and another page still hit the cached total
+        Page<MeetingDto> cached = service.page(PageFilterRequest.pageRequestAnd(1, 1, "desc#startTime", title, region));
+        assertThat(cached.getTotalElements()).isEqualTo(2);
+        assertThat(cache.size()).isEqualTo(1);
+
+        cache.clear();
+        Page<MeetingDto> recounted = service.page(PageFilterRequest.pageRequestAnd(0, 1, "asc#startTime", region, title));
+        assertThat(recounted.getTotalElements()).isEqualTo(3);
+    }
 }
@@ -0,0 +1,112 @@
+package by.nhorushko.crudgenerictest.pageable;
+
+import by.nhorushko.crudgeneric.flex.pageable.PageFilterRequest;
+import by.nhorushko.crudgeneric.flex.pageable.TotalCountCache;
+import by.nhorushko.crudgeneric.flex.pageable.UnknownTotalPage;
+import by.nhorushko.crudgenerictest.domain.dto.MeetingDto;
+import by.nhorushko.crudgenerictest.domain.entity.MeetingEntity;
+import by.nhorushko.crudgenerictest.domain.entity.MeetingStatus;
+import by.nhorushko.crudgenerictest.repository.MeetingRepository;
+import by.nhorushko.crudgenerictest.service.MeetingPageableService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class MeetingParallelCountIT {
+
+    @Autowired
+    private MeetingRepository meetingRepository;
+    @Autowired
+    private MeetingPageableService service;
+
+    private final ExecutorService pool = Executors.newSingleThreadExecutor();
+
+    @BeforeEach
+    void seed() {
+        for (int i = 0; i < 5; i++) {
+            meetingRepository.save(MeetingEntity.builder()
+                    .title("meeting " + i).status(MeetingStatus.PLANNED)
+                    .startTime(Instant.parse("2026-07-01T10:00:00Z").plusSeconds(i)).build());
+        }
+    }
+
+    @AfterEach
+    void cleanUp() {
+        service.setCountExecutor(null);
+        service.setCountTimeout(null);
+        service.setTotalCountCache(null);
+        pool.shutdownNow();
+        meetingRepository.deleteAll();
+    }
+
+    @Test
+    void countsOnTheExecutorThread() {
+        List<String> countThreads = new CopyOnWriteArrayList<>();
+        service.setCountExecutor(command -> pool.execute(() -> {
+            countThreads.add(Thread.currentThread().getName());
+            command.run();
+        }));
+
+        Page<MeetingDto> page = service.page(PageFilterRequest.pageRequestAnd(0, 2, "asc#startTime"));
+
+        assertThat(page).isNotInstanceOf(UnknownTotalPage.class);
+        assertThat(page.getTotalElements()).isEqualTo(5);
+        assertThat(page.getContent()).extracting(MeetingDto::getTitle).containsExactly("meeting 0", "meeting 1");
+        assertThat(countThreads).hasSize(1).doesNotContain(Thread.currentThread().getName());
+    }
+
+    @Test
+    void reportsUnknownTotalWhenCountTimesOut() {
+        // never runs the count
+        service.setCountExecutor(command -> { });
+        service.setCountTimeout(Duration.ofMillis(50));
+
+        Page<MeetingDto> page = service.page(PageFilterRequest.pageRequestAnd(1, 2, "asc#startTime"));
+
+        assertThat(page).isInstanceOf(UnknownTotalPage.class);
+        assertThat(page.getTotalElements()).isEqualTo(-1);
+        assertThat(page.getContent()).extracting(MeetingDto::getTitle).containsExactly("meeting 2", "meeting 3");
+        assertThat(page.hasNext()).isTrue();
+    }
+
+    @Test
+    void cancelsCountThatTimedOut() {
+        List<Runnable> queued = new CopyOnWriteArrayList<>();
+        TotalCountCache cache = new TotalCountCache(16, Duration.ofMinutes(1));
+        service.setTotalCountCache(cache);
+        service.setCountExecutor(queued::add);
+        service.setCountTimeout(Duration.ofMillis(50));
+        PageFilterRequest request = PageFilterRequest.pageRequestAnd(1, 2, "asc#startTime");
+
+        assertThat(service.page(request)).isInstanceOf(UnknownTotalPage.class);
+        queued.forEach(Runnable::run);
+
+        assertThat(queued).hasSize(1);
+        assertThat(cache.get(TotalCountCache.key(MeetingEntity.class, request.getFilterGroup()))).isNull();
+    }
+
+    @Test
+    void lastPageKnowsItsTotalWithoutWaiting() {
+        service.setCountExecutor(command -> { });
+        service.setCountTimeout(Duration.ofMillis(50));
+
+        Page<MeetingDto> page = service.page(PageFilterRequest.pageRequestAnd(2, 2, "asc#startTime"));
+
+        assertThat(page).isNotInstanceOf(UnknownTotalPage.class);
+        assertThat(page.getTotalElements()).isEqualTo(5);
+        assertThat(page.hasNext()).isFalse();
+    }
+}
@@ -0,0 +1,124 @@
+package by.nhorushko.crudgenerictest.pageable;
+
+import by.nhorushko.crudgeneric.flex.exception.FilterValidationException;
+import by.nhorushko.crudgeneric.flex.model.FieldSelection;
+import by.nhorushko.crudgeneric.flex.pageable.PageFilterRequest;
+import by.nhorushko.crudgenerictest.domain.dto.MeetingDto;
+import by.nhorushko.crudgenerictest.domain.entity.MeetingEntity;
+import by.nhorushko.crudgenerictest.domain.entity.MeetingStatus;
+import by.nhorushko.crudgenerictest.domain.entity.RegionEntity;
+import by.nhorushko.crudgenerictest.repository.MeetingRepository;
+import by.nhorushko.crudgenerictest.repository.RegionRepository;
+import by.nhorushko.crudgenerictest.service.MeetingPageableService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class MeetingProjectionIT {
+
+    @Autowired
+    private MeetingRepository meetingRepository;
+    @Autowired
+    private RegionRepository regionRepository;
+    @Autowired
+    private MeetingPageableService service;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void seed() {
+        RegionEntity minsk = regionRepository.save(new RegionEntity(201L, "minsk"));
+        meetingRepository.save(MeetingEntity.builder()
+                .title("sprint planning").status(MeetingStatus.PLANNED)
+                .startTime(Instant.parse("2026-07-01T10:00:00Z"))
+                .day(LocalDate.parse("2026-07-01")).region(minsk).build());
+        meetingRepository.save(MeetingEntity.builder()
+                .title("retro").status(MeetingStatus.DONE)
+                .startTime(Instant.parse("2026-07-05T10:00:00Z"))
+                .day(LocalDate.parse("2026-07-05")).region(minsk).build());
+        meetingRepository.save(MeetingEntity.builder()
+                .title("planning poker").status(MeetingStatus.CANCELED)
+                .startTime(Instant.parse("2026-07-10T10:00:00Z"))
+                .day(LocalDate.parse("2026-07-10")).build());
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        meetingRepository.deleteAll();
+        regionRepository.deleteAll();
+    }
+
+    @Test
+    void pageReadsDtosWithoutLoadingEntities() {
+        Page<MeetingDto> page = service.page(PageFilterRequest.pageRequestAnd(0, 2, "asc#startTime",
+                new PageFilterRequest.Filter("title", "like#r")));
+
+        assertThat(page.getContent()).containsExactly(
+                new MeetingDto(page.getContent().get(0).getId(), "sprint planning", MeetingStatus.PLANNED,
+                        Instant.parse("2026-07-01T10:00:00Z")),
+                new MeetingDto(page.getContent().get(1).getId(), "retro", MeetingStatus.DONE,
+                        Instant.parse("2026-07-05T10:00:00Z")));
+        assertThat(page.getTotalElements()).isEqualTo(3);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void projectionFiltersAndSortsByNestedPaths() {
+        Page<MeetingDto> page = service.page(PageFilterRequest.pageRequestAnd(0, 10, "desc#regionId",
+                new PageFilterRequest.Filter("regionId", "eq#201")));
+
+        assertThat(page.getContent()).extracting(MeetingDto::getTitle)
+                .containsExactlyInAnyOrder("sprint planning", "retro");
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void pageWithFieldsReadsOnlySelectedColumns() {
+        Page<MeetingDto> page = service.page(PageFilterRequest.pageRequestAnd(0, 10, "asc#startTime")
+                .withFields(FieldSelection.parse("title")));
+
+        assertThat(page.getContent()).extracting(MeetingDto::getTitle)
+                .containsExactly("sprint planning", "retro", "planning poker");
+        assertThat(page.getContent()).allSatisfy(dto -> {
+            assertThat(dto.getId()).isNotNull();
+            assertThat(dto.getStatus()).isNull();
+            assertThat(dto.getStartTime()).isNull();
+        });
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void pageWithUnknownFieldIsRejected() {
+        assertThatThrownBy(() -> service.page(PageFilterRequest.pageRequestAnd(0, 10, "asc#id")
+                .withFields(FieldSelection.parse("title,region"))))
+                .isInstanceOf(FilterValidationException.class)
+                .hasMessageContaining("region");
+    }
+
+    @Test
+    void sliceReadsDtosWithoutLoadingEntities() {
+        Slice<MeetingDto> slice = service.slice(PageFilterRequest.pageRequestAnd(1, 2, "asc#startTime"));
+
+        assertThat(slice.getContent()).extracting(MeetingDto::getTitle).containsExactly("planning poker");
+        assertThat(slice.hasNext()).isFalse();
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+}
@@ -1,12 +1,20 @@
 package by.nhorushko.crudgenerictest.service;
 
+import by.nhorushko.crudgeneric.flex.AbsModelMapper;
+import by.nhorushko.crudgeneric.flex.service.AbsFlexServiceCRUD;
 import by.nhorushko.crudgenerictest.domain.dto.RegionCreateDto;
 import by.nhorushko.crudgenerictest.domain.dto.RegionDto;
+import by.nhorushko.crudgenerictest.domain.dto.RegionUpdateDto;
+import by.nhorushko.crudgenerictest.domain.entity.RegionEntity;
 import by.nhorushko.crudgenerictest.repository.RegionRepository;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -20,6 +28,8 @@ class FlexAssignedIdSaveIT {
     @Autowired
     private RegionServiceCRUD service;
     @Autowired
+    private ChunkedRegionService chunkedService;
+    @Autowired
     private RegionRepository repository;
 
     @AfterEach
@@ -45,4 +55,73 @@ class FlexAssignedIdSaveIT {
         assertThat(repository.count()).isEqualTo(1L);
         assertThat(repository.findById(42L).orElseThrow().getName()).isEqualTo("south");
     }
+
+    @Test
+    void saveAllInsertsAbsentAndMergesPresentIds() {
+        service.save(new RegionCreateDto(1L, "one"));
+
+        List<RegionDto> saved = service.saveAll(List.of(
+                new RegionCreateDto(1L, "one-updated"),
+                new RegionCreateDto(2L, "two")));
+
+        assertThat(saved).extracting(RegionDto::getId).containsExactly(1L, 2L);
+        assertThat(repository.count()).isEqualTo(2L);
+        assertThat(repository.findById(1L).orElseThrow().getName()).isEqualTo("one-updated");
+    }
+
+    @Test
+    void saveAllMergesIdRepeatedWithinBatch() {
+        service.saveAll(List.of(
+                new RegionCreateDto(5L, "first"),
+                new RegionCreateDto(5L, "second")));
+
+        assertThat(repository.count()).isEqualTo(1L);
+        assertThat(repository.findById(5L).orElseThrow().getName()).isEqualTo("second");
+    }
+
+    /**
+     * Chunks of 2 with flush/clear: ids straddle chunk boundaries and one id
+     * repeats across chunks, so the second occurrence must be merged.
+     */
+    @Test
+    void saveAllInChunksWithFlushAndClear() {
+        chunkedService.save(new RegionCreateDto(1L, "one"));
+
+        List<RegionDto> saved = chunkedService.saveAll(List.of(
+                new RegionCreateDto(1L, "one-updated"),
+                new RegionCreateDto(2L, "two"),
+                new RegionCreateDto(3L, "three"),
+                new RegionCreateDto(2L, "two-updated"),
+                new RegionCreateDto(4L, "four")));
+
+        assertThat(saved).extracting(RegionDto::getName)
+                .containsExactly("one-updated", "two", "three", "two-updated", "four");
+        assertThat(repository.count()).isEqualTo(4L);
+        assertThat(repository.findById(1L).orElseThrow().getName()).isEqualTo("one-updated");
+        assertThat(repository.findById(2L).orElseThrow().getName()).isEqualTo("two-updated");
+    }
+
+    @TestConfiguration
+    static class ChunkedServiceConfig {
+        @Bean
+        ChunkedRegionService chunkedRegionService(AbsModelMapper mapper, RegionRepository repository) {
+            return new ChunkedRegionService(mapper, repository);
+        }
+    }
+
+    static class ChunkedRegionService extends AbsFlexServiceCRUD<Long, RegionEntity, RegionDto, RegionUpdateDto, RegionCreateDto, RegionRepository> {
+        ChunkedRegionService(AbsModelMapper mapper, RegionRepository repository) {
+            super(mapper, repository, RegionEntity.class, RegionDto.class, RegionUpdateDto.class, RegionCreateDto.class);
+        }
+
+        @Override
+        protected int saveAllChunkSize() {
+            return 2;
+        }
+
+        @Override
+        protected boolean saveAllFlushAndClear() {
+            return true;
+        }
+    }
 }
@@ -1,13 +1,25 @@
 package by.nhorushko.crudgenerictest.service;
 
+import by.nhorushko.crudgeneric.flex.AbsModelMapper;
+import by.nhorushko.crudgeneric.flex.service.AbsFlexServiceCRUD;
+import by.nhorushko.crudgenerictest.domain.dto.RegionCreateDto;
+import by.nhorushko.crudgenerictest.domain.dto.RegionDto;
+import by.nhorushko.crudgenerictest.domain.dto.RegionUpdateDto;
 import by.nhorushko.crudgenerictest.domain.entity.OrderEntity;
 import by.nhorushko.crudgenerictest.domain.entity.OrderLineEntity;
+import by.nhorushko.crudgenerictest.domain.entity.RegionEntity;
 import by.nhorushko.crudgenerictest.repository.OrderLineRepository;
 import by.nhorushko.crudgenerictest.repository.OrderRepository;
+import by.nhorushko.crudgenerictest.repository.RegionRepository;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import java.util.ArrayList;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatCode;
@@ -26,10 +38,16 @@ class FlexDeleteIT {
     private OrderRepository orderRepository;
     @Autowired
     private OrderLineRepository lineRepository;
+    @Autowired
+    private BulkRegionService bulkRegionService;
+    @Autowired
+    private RegionRepository regionRepository;
 
     @AfterEach
     void cleanUp() {
         orderRepository.deleteAll();
+        regionRepository.deleteAll();
+        bulkRegionService.getDeleted().clear();
     }
 
     @Test
@@ -48,6 +66,30 @@ class FlexDeleteIT {
                 .doesNotThrowAnyException();
     }
 
+    @Test
+    void deleteAllRemovesExistingOrdersWithChildrenAndSkipsMissingIds() {
+        OrderEntity first = persistedOrder("first", "line-1");
+        OrderEntity second = persistedOrder("second", "line-2", "line-3");
+        OrderEntity kept = persistedOrder("kept", "line-4");
+
+        service.deleteAll(List.of(first.getId(), 999_999L, second.getId()));
+
+        assertThat(orderRepository.findAll()).extracting(OrderEntity::getId).containsExactly(kept.getId());
+        assertThat(lineRepository.count()).isEqualTo(1L);
+    }
+
+    @Test
+    void bulkDeleteAllRemovesExistingRowsAndRunsHooksOnlyForThem() {
+        regionRepository.save(new RegionEntity(1L, "one"));
+        regionRepository.save(new RegionEntity(2L, "two"));
+        regionRepository.save(new RegionEntity(3L, "three"));
+
+        bulkRegionService.deleteAll(List.of(3L, 42L, 1L));
+
+        assertThat(regionRepository.findAll()).extracting(RegionEntity::getId).containsExactly(2L);
+        assertThat(bulkRegionService.getDeleted()).containsExactly(3L, 1L);
+    }
+
     private OrderEntity persistedOrder(String name, String... lineTitles) {
         OrderEntity order = new OrderEntity();
         order.setName(name);
@@ -59,4 +101,34 @@ class FlexDeleteIT {
         }
         return orderRepository.save(order);
     }
+
+    @TestConfiguration
+    static class BulkServiceConfig {
+        @Bean
+        BulkRegionService bulkRegionService(AbsModelMapper mapper, RegionRepository repository) {
+            return new BulkRegionService(mapper, repository);
+        }
+    }
+
+    static class BulkRegionService extends AbsFlexServiceCRUD<Long, RegionEntity, RegionDto, RegionUpdateDto, RegionCreateDto, RegionRepository> {
+        private final List<Long> deleted = new ArrayList<>();
+
+        BulkRegionService(AbsModelMapper mapper, RegionRepository repository) {
+            super(mapper, repository, RegionEntity.class, RegionDto.class, RegionUpdateDto.class, RegionCreateDto.class);
+        }
+
+        @Override
+        protected boolean bulkDeleteEnabled() {
+            return true;
+        }
+
+        @Override
+        protected void afterDeleteHook(Long id) {
+            deleted.add(id);
+        }
+
+        public List<Long> getDeleted() {
+            return deleted;
+        }
+    }
 }
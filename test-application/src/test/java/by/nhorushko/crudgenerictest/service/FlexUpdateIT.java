@@ -12,6 +12,8 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
@@ -84,6 +86,36 @@ class FlexUpdateIT {
         assertThat(orderRepository.count()).isZero();
     }
 
+    @Test
+    void updateAllAppliesEachDtoAndPreservesAbsentFields() {
+        OrderEntity first = persistedOrder("first", "s1", "line-1");
+        OrderEntity second = persistedOrder("second", "s2");
+
+        List<OrderDto> updated = service.updateAll(List.of(
+                new OrderUpdateDto(second.getId(), "second-new"),
+                new OrderUpdateDto(first.getId(), "first-new")));
+
+        assertThat(updated).extracting(OrderDto::getName).containsExactly("second-new", "first-new");
+        OrderEntity actual = orderRepository.findById(first.getId()).orElseThrow();
+        assertThat(actual.getName()).isEqualTo("first-new");
+        assertThat(actual.getSecretCode()).isEqualTo("s1");
+        assertThat(lineRepository.count()).isEqualTo(1L);
+    }
+
+    @Test
+    void updateAllReportsEveryMissingIdAndUpdatesNothing() {
+        OrderEntity order = persistedOrder("old", "s3cret");
+
+        assertThatThrownBy(() -> service.updateAll(List.of(
+                new OrderUpdateDto(order.getId(), "new"),
+                new OrderUpdateDto(999_998L, "x"),
+                new OrderUpdateDto(999_999L, "y"))))
+                .isInstanceOf(AppNotFoundException.class)
+                .hasMessageContaining("999998")
+                .hasMessageContaining("999999");
+        assertThat(orderRepository.findById(order.getId()).orElseThrow().getName()).isEqualTo("old");
+    }
+
     private OrderEntity persistedOrder(String name, String secretCode, String... lineTitles) {
         OrderEntity order = new OrderEntity();
         order.setName(name);
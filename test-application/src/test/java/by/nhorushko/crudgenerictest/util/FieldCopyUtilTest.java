@@ -3,9 +3,11 @@ package by.nhorushko.crudgenerictest.util;
 import by.nhorushko.crudgeneric.flex.util.FieldCopyUtil;
 import org.junit.jupiter.api.Test;
 
+import java.util.HashSet;
 import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 class FieldCopyUtilTest {
 
@@ -21,6 +23,53 @@ class FieldCopyUtilTest {
         assertEquals("target-secret", target.secret);
     }
 
+    @Test
+    void reusesPlanAcrossCallsWithEqualIgnoreSets() {
+        Target first = new Target();
+        Target second = new Target();
+
+        FieldCopyUtil.copy(new Source(1L, "a", "s"), first, Set.of("secret"));
+        FieldCopyUtil.copy(new Source(2L, "b", "s"), second, new HashSet<>(Set.of("secret")));
+
+        assertEquals(1L, first.id);
+        assertEquals("a", first.name);
+        assertEquals(2L, second.id);
+        assertEquals("b", second.name);
+        assertEquals("target-secret", second.secret);
+    }
+
+    @Test
+    void copiesFieldsDeclaredInSourceSuperclass() {
+        ChildSource source = new ChildSource(3L, "child");
+        Target target = new Target();
+
+        FieldCopyUtil.copy(source, target, Set.of());
+
+        assertEquals(3L, target.id);
+        assertEquals("child", target.name);
+    }
+
+    @Test
+    void writesFinalTargetFields() {
+        FinalTarget target = new FinalTarget(null, "old");
+
+        FieldCopyUtil.copy(new NamePatch("new"), target, Set.of());
+
+        assertEquals("new", target.name);
+    }
+
+    @Test
+    void failsFastWhenTargetHasNoMatchingField() {
+        assertThrows(IllegalArgumentException.class,
+                () -> FieldCopyUtil.copy(new UnknownFieldPatch("x"), new Target(), Set.of()));
+    }
+
+    @Test
+    void failsFastWhenFieldTypesAreIncompatible() {
+        assertThrows(IllegalArgumentException.class,
+                () -> FieldCopyUtil.copy(new WrongTypePatch(5), new Target(), Set.of()));
+    }
+
     private static final class Source {
         private final Long id;
         private final String name;
@@ -33,9 +82,60 @@ class FieldCopyUtilTest {
         }
     }
 
+    private static class BaseSource {
+        private final Long id;
+
+        private BaseSource(Long id) {
+            this.id = id;
+        }
+    }
+
+    private static final class ChildSource extends BaseSource {
+        private final String name;
+
+        private ChildSource(Long id, String name) {
+            super(id);
+            this.name = name;
+        }
+    }
+
+    private static final class NamePatch {
+        private final String name;
+
+        private NamePatch(String name) {
+            this.name = name;
+        }
+    }
+
+    private static final class UnknownFieldPatch {
+        private final String nickname;
+
+        private UnknownFieldPatch(String nickname) {
+            this.nickname = nickname;
+        }
+    }
+
+    private static final class WrongTypePatch {
+        private final Integer name;
+
+        private WrongTypePatch(Integer name) {
+            this.name = name;
+        }
+    }
+
     private static final class Target {
         private Long id;
         private String name;
         private String secret = "target-secret";
     }
+
+    private static final class FinalTarget {
+        private final Long id;
+        private final String name;
+
+        private FinalTarget(Long id, String name) {
+            this.id = id;
+            this.name = name;
+        }
+    }
 }
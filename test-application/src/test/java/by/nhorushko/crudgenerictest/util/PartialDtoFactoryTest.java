@@ -0,0 +1,141 @@
+package by.nhorushko.crudgenerictest.util;
+
+import by.nhorushko.crudgeneric.flex.exception.FilterValidationException;
+import by.nhorushko.crudgeneric.flex.model.FieldSelection;
+import by.nhorushko.crudgeneric.flex.util.PartialDtoFactory;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PartialDtoFactoryTest {
+
+    @Test
+    void parsesSelectionWithIdFirst() {
+        assertSame(FieldSelection.ALL, FieldSelection.parse(null));
+        assertSame(FieldSelection.ALL, FieldSelection.parse(" , "));
+        assertEquals(Set.of("id", "name", "count"), FieldSelection.parse("name, count,name").names());
+        assertEquals(FieldSelection.parse("count,name"), FieldSelection.parse("name,count"));
+    }
+
+    @Test
+    void rejectsUnknownFields() {
+        FilterValidationException e = assertThrows(FilterValidationException.class,
+                () -> FieldSelection.parse("name,owner").validate(AllArgsDto.class));
+
+        assertTrue(e.getMessage().contains("owner"));
+    }
+
+    @Test
+    void copiesOnlySelectedValueFields() {
+        Source source = new Source(4L, "name-4", 9, List.of("tag"));
+
+        AllArgsDto dto = PartialDtoFactory.of(AllArgsDto.class).copy(source, FieldSelection.parse("name"));
+
+        assertEquals(4L, dto.id);
+        assertEquals("name-4", dto.name);
+        assertEquals(0, dto.count);
+        assertNull(dto.tags);
+    }
+
+    @Test
+    void doesNotCopyCollectionFields() {
+        PartialDtoFactory<AllArgsDto> factory = PartialDtoFactory.of(AllArgsDto.class);
+
+        assertTrue(factory.canCopy(Source.class, FieldSelection.parse("name,count")));
+        assertFalse(factory.canCopy(Source.class, FieldSelection.parse("name,tags")));
+    }
+
+    @Test
+    void retainsSelectedFieldsThroughNoArgsConstructor() {
+        NoArgsDto dto = new NoArgsDto();
+        dto.id = 2L;
+        dto.name = "name-2";
+        dto.count = 5;
+
+        NoArgsDto partial = PartialDtoFactory.of(NoArgsDto.class).retain(dto, FieldSelection.parse("count"));
+
+        assertEquals(2L, partial.id);
+        assertNull(partial.name);
+        assertEquals(5, partial.count);
+    }
+
+    @Test
+    void copiesByFieldNameThroughConstructorTakingSameTypesInAnotherOrder() {
+        SwappedArgsDto copy = PartialDtoFactory.of(SwappedArgsDto.class).copyOf(new SwappedArgsDto("last", "first"));
+
+        assertEquals("first", copy.first);
+        assertEquals("last", copy.last);
+    }
+
+    @Test
+    void reportsDtoWithoutUsableConstructor() {
+        PartialDtoFactory<NoUsableConstructorDto> factory = PartialDtoFactory.of(NoUsableConstructorDto.class);
+        NoUsableConstructorDto dto = new NoUsableConstructorDto(3L);
+
+        assertFalse(factory.canCreate());
+        assertFalse(factory.isImmutable());
+        assertFalse(factory.canCopy(Source.class, FieldSelection.parse("name")));
+        assertThrows(IllegalStateException.class, () -> factory.copyOf(dto));
+    }
+
+    static class Source {
+        private final Long id;
+        private final String name;
+        private final int count;
+        private final List<String> tags;
+
+        Source(Long id, String name, int count, List<String> tags) {
+            this.id = id;
+            this.name = name;
+            this.count = count;
+            this.tags = tags;
+        }
+    }
+
+    static class AllArgsDto {
+        private final Long id;
+        private final String name;
+        private final int count;
+        private final List<String> tags;
+
+        AllArgsDto(Long id, String name, int count, List<String> tags) {
+            this.id = id;
+            this.name = name;
+            this.count = count;
+            this.tags = tags;
+        }
+    }
+
+    static class SwappedArgsDto {
+        private final String first;
+        private final String last;
+
+        SwappedArgsDto(String last, String first) {
+            this.first = first;
+            this.last = last;
+        }
+    }
+
+    static class NoUsableConstructorDto {
+        private final Long id;
+        private String name;
+
+        NoUsableConstructorDto(Long id) {
+            this.id = id;
+        }
+    }
+
+    static class NoArgsDto {
+        private Long id;
+        private String name;
+        private int count;
+    }
+}